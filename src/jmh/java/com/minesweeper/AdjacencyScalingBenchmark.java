@@ -0,0 +1,91 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How the adjacency pass of board construction scales with cores.
+ * {@code computeCounts} runs the bit-parallel kernel on a pool of {@code threads} workers;
+ * {@code countCellByCell} is the original per-cell neighbour probe on a single thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class AdjacencyScalingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Layer {
+        @Param({"2000", "8000"})
+        public int size;
+        MineBits mines;
+        PackedGrid cells;
+
+        @Setup
+        public void setUp() {
+            mines = new MineBits(size);
+            MinePlacer.place(mines, (int) (size * (long) size / 5), new SplittableRandom(1L));
+            cells = new PackedGrid(size);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Pool {
+        @Param({"1", "2", "4", "8"})
+        public int threads;
+        ForkJoinPool pool;
+
+        @Setup
+        public void setUp() {
+            pool = new ForkJoinPool(threads);
+        }
+
+        @TearDown
+        public void tearDown() {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public PackedGrid computeCounts(Layer layer, Pool pool) {
+        AdjacencyKernel.compute(layer.mines, layer.cells, pool.pool);
+        return layer.cells;
+    }
+
+    @Benchmark
+    public PackedGrid countCellByCell(Layer layer) {
+        int size = layer.size;
+        MineBits mines = layer.mines;
+        PackedGrid cells = layer.cells;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int count = 0;
+                for (int i = row - 1; i <= row + 1; i++) {
+                    for (int j = col - 1; j <= col + 1; j++) {
+                        if ((i != row || j != col) && i >= 0 && j >= 0 && i < size && j < size
+                                && mines.get(i, j)) {
+                            count++;
+                        }
+                    }
+                }
+                cells.setAdjacentMines(cells.index(row, col), count);
+            }
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,69 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Board operations that do not change the board, across sizes and mine densities
+ * ({@code density} is the percentage of cells holding a mine).
+ * {@code construct} covers mine placement and the adjacency pass; {@code displayBoard}
+ * renders a board with the top-left quarter revealed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class BoardBenchmark {
+
+    @Param({"16", "256", "1024"})
+    public int size;
+
+    @Param({"5", "20"})
+    public int density;
+
+    private int mines;
+    private long seed;
+    private Board board;
+
+    @Setup
+    public void setUp() {
+        mines = (int) (size * (long) size * density / 100);
+        board = new Board(size, mines, 42L);
+        RevealResult changes = new RevealResult(size);
+        for (int row = 0; row < size / 2; row++) {
+            for (int col = 0; col < size / 2; col++) {
+                if (!board.isMine(row, col) && !board.isRevealed(row, col)) {
+                    board.reveal(row, col, changes);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Board construct() {
+        return new Board(size, mines, seed++);
+    }
+
+    @Benchmark
+    public boolean isGameWon() {
+        return board.isGameWon();
+    }
+
+    @Benchmark
+    public String displayBoard() {
+        return board.displayBoard(false);
+    }
+}
@@ -0,0 +1,65 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * New-game latency: building a board on the caller's thread against taking one from a
+ * {@link BoardPool} that has had time to refill, as between two games of a real player.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class BoardPoolBenchmark {
+
+    @Param({"256", "1024"})
+    public int size;
+
+    private int mines;
+    private BoardPool pool;
+
+    @Setup(Level.Trial)
+    public void startPool() {
+        mines = size * size / 5;
+        pool = new BoardPool(2, 16L << 20, 1);
+    }
+
+    @Setup(Level.Iteration)
+    public void awaitRefill() throws InterruptedException {
+        pool.prewarm(size, mines);
+        while (pool.getPooledCount(size, mines) < 2) {
+            Thread.sleep(1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopPool() {
+        pool.close();
+    }
+
+    @Benchmark
+    public Board newBoard() {
+        return new Board(size, mines);
+    }
+
+    @Benchmark
+    public Board pooledBoard() {
+        return pool.take(size, mines);
+    }
+}
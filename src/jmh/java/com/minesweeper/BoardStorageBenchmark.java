@@ -0,0 +1,64 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the packed board storage with the original {@code Cell[][]} layout.
+ * Run with {@code -prof gc}: {@code gc.alloc.rate.norm} of the construct benchmarks
+ * is the footprint of one board.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class BoardStorageBenchmark {
+
+    @Param({"1000", "4000"})
+    public int size;
+
+    private Board packed;
+    private LegacyBoard legacy;
+
+    @Setup
+    public void setUp() {
+        // Mine-free, fully revealed boards force isGameWon to scan every cell.
+        packed = new Board(size, 0);
+        packed.revealCell(0, 0);
+        legacy = new LegacyBoard(size, 0);
+        legacy.revealCell(0, 0);
+    }
+
+    @Benchmark
+    public Board constructPacked() {
+        return new Board(size, (int) (size * (long) size / 10));
+    }
+
+    @Benchmark
+    public LegacyBoard constructLegacy() {
+        return new LegacyBoard(size, (int) (size * (long) size / 10));
+    }
+
+    @Benchmark
+    public boolean scanPacked() {
+        return packed.isGameWon();
+    }
+
+    @Benchmark
+    public boolean scanLegacy() {
+        return legacy.isGameWon();
+    }
+}
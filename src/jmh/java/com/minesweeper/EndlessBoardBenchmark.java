@@ -0,0 +1,65 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of a move on an {@link EndlessBoard} with 64 chunks in memory: in a chunk never
+ * touched before (generate it and evict a played one to the store) and in a chunk evicted
+ * earlier (read it back from the store).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Benchmark)
+public class EndlessBoardBenchmark {
+    private static final int REVISITED_CHUNKS = 1024;
+
+    private Path store;
+    private EndlessBoard board;
+    private long nextNew;
+    private long nextRevisit;
+
+    @Setup(Level.Trial)
+    public void createBoard() throws IOException {
+        store = Files.createTempFile("minesweeper", ".chunks");
+        board = new EndlessBoard(1L, 0.2, 64, store);
+        for (int chunk = 0; chunk < REVISITED_CHUNKS; chunk++) {
+            board.toggleFlag(-EndlessBoard.CHUNK, (long) chunk * EndlessBoard.CHUNK);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteStore() throws IOException {
+        board.close();
+        Files.deleteIfExists(store);
+    }
+
+    @Benchmark
+    public boolean moveInNewChunk() {
+        return board.toggleFlag(0, nextNew++ * EndlessBoard.CHUNK);
+    }
+
+    @Benchmark
+    public boolean moveInStoredChunk() {
+        long chunk = nextRevisit++ % REVISITED_CHUNKS;
+        return board.toggleFlag(-EndlessBoard.CHUNK, chunk * EndlessBoard.CHUNK);
+    }
+}
@@ -0,0 +1,62 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Worst-case reveal: one click on a mine-free board opens every cell.
+ * Compares the packed flood fill with the original queue of {@code int[]} pairs.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FloodFillBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class PackedState {
+        @Param({"500", "2000"})
+        public int size;
+        Board board;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            board = new Board(size, 0);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LegacyState {
+        @Param({"500", "2000"})
+        public int size;
+        LegacyBoard board;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            board = new LegacyBoard(size, 0);
+        }
+    }
+
+    @Benchmark
+    public boolean revealEmptyBoard(PackedState state) {
+        return state.board.revealCell(state.size / 2, state.size / 2);
+    }
+
+    @Benchmark
+    public boolean revealEmptyBoardLegacy(LegacyState state) {
+        return state.board.revealCell(state.size / 2, state.size / 2);
+    }
+}
@@ -0,0 +1,39 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of typed coordinates, from the shortest form to multi-letter rows on large boards.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InputParserBenchmark {
+
+    @Param({"A1", "j10", " Z26 ", "AMJ1024"})
+    public String input;
+
+    @Benchmark
+    public int[] parseCoordinate() {
+        return InputParser.parseCoordinate(input, 1024);
+    }
+
+    @Benchmark
+    public int parseIndex() {
+        return InputParser.parseIndex(input, 1024);
+    }
+}
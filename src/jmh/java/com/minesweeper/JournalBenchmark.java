@@ -0,0 +1,80 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and replaying a journal of about 900,000 moves: every safe cell of a 1000x1000 board
+ * clicked in a shuffled order. Divide the move count by the score for moves per second.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class JournalBenchmark {
+    private static final int SIZE = 1000;
+
+    private Path file;
+
+    @Setup
+    public void writeJournal() throws IOException {
+        file = Files.createTempFile("moves", ".journal");
+        int mines = SIZE * SIZE / 10;
+        Board layout = new Board(SIZE, mines, 21L);
+        int[] clicks = new int[SIZE * SIZE - mines];
+        int count = 0;
+        for (int index = 0; index < SIZE * SIZE; index++) {
+            if (!layout.isMine(index / SIZE, index % SIZE)) {
+                clicks[count++] = index;
+            }
+        }
+        SplittableRandom random = new SplittableRandom(21L);
+        for (int i = clicks.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = clicks[i];
+            clicks[i] = clicks[j];
+            clicks[j] = swap;
+        }
+        long time = System.nanoTime();
+        try (MoveJournal journal = MoveJournal.create(file, new Board(SIZE, mines, 21L))) {
+            for (int click : clicks) {
+                time += 250_000;
+                journal.append(MoveJournal.REVEAL, click, time);
+            }
+        }
+    }
+
+    @TearDown
+    public void deleteJournal() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long read() throws IOException {
+        long[] sum = new long[1];
+        MoveJournal.read(file, (action, index, micros) -> sum[0] += index);
+        return sum[0];
+    }
+
+    @Benchmark
+    public Board replay() throws IOException {
+        return MoveJournal.replay(file);
+    }
+}
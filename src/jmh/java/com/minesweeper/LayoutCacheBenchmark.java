@@ -0,0 +1,58 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starting a seeded game for one more player: building the board from the seed against a full
+ * board copied from a cached layout and a {@link PlayerBoard} on the shared layout. Run with
+ * {@code -prof gc} to compare the bytes allocated per player.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class LayoutCacheBenchmark {
+
+    @Param({"256", "1024"})
+    public int size;
+
+    private int mines;
+    private LayoutCache cache;
+
+    @Setup(Level.Trial)
+    public void fillCache() {
+        mines = size * size / 5;
+        cache = new LayoutCache(16L << 20);
+        cache.get(size, mines, 1L);
+    }
+
+    @Benchmark
+    public Board seededBoard() {
+        return new Board(size, mines, 1L);
+    }
+
+    @Benchmark
+    public Board cachedBoard() {
+        return cache.get(size, mines, 1L).newBoard();
+    }
+
+    @Benchmark
+    public PlayerBoard cachedPlayer() {
+        return cache.get(size, mines, 1L).newPlayer();
+    }
+}
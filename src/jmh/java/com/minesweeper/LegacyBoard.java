@@ -0,0 +1,106 @@
+package com.minesweeper;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Random;
+
+/**
+ * Copy of the original {@code Cell[][]} board, kept as a reference point for benchmarks.
+ */
+public class LegacyBoard {
+    private final int size;
+    private final int totalMines;
+    private final Cell[][] grid;
+
+    public LegacyBoard(int size, int totalMines) {
+        this.size = size;
+        this.totalMines = totalMines;
+        grid = new Cell[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                grid[i][j] = new Cell();
+            }
+        }
+        placeMines();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                grid[row][col].setAdjacentMines(grid[row][col].isMine() ? 0 : countAdjacentMines(row, col));
+            }
+        }
+    }
+
+    private void placeMines() {
+        Random random = new Random();
+        int minesPlaced = 0;
+        while (minesPlaced < totalMines) {
+            int row = random.nextInt(size);
+            int col = random.nextInt(size);
+            if (!grid[row][col].isMine()) {
+                grid[row][col].setMine(true);
+                minesPlaced++;
+            }
+        }
+    }
+
+    private int countAdjacentMines(int row, int col) {
+        int count = 0;
+        for (int i = row - 1; i <= row + 1; i++) {
+            for (int j = col - 1; j <= col + 1; j++) {
+                if (i == row && j == col) continue;
+                if (isValidCell(i, j) && grid[i][j].isMine()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    public boolean revealCell(int row, int col) {
+        if (grid[row][col].isRevealed()) {
+            return false;
+        }
+        grid[row][col].reveal();
+        if (grid[row][col].isMine()) {
+            return true;
+        }
+        if (grid[row][col].getAdjacentMines() == 0) {
+            floodFill(row, col);
+        }
+        return false;
+    }
+
+    private void floodFill(int row, int col) {
+        Queue<int[]> queue = new ArrayDeque<>();
+        queue.add(new int[]{row, col});
+        while (!queue.isEmpty()) {
+            int[] cell = queue.poll();
+            int r = cell[0];
+            int c = cell[1];
+            for (int i = r - 1; i <= r + 1; i++) {
+                for (int j = c - 1; j <= c + 1; j++) {
+                    if (isValidCell(i, j) && !grid[i][j].isRevealed() && !grid[i][j].isMine()) {
+                        grid[i][j].reveal();
+                        if (grid[i][j].getAdjacentMines() == 0) {
+                            queue.add(new int[]{i, j});
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public boolean isGameWon() {
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (!grid[row][col].isMine() && !grid[row][col].isRevealed()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isValidCell(int row, int col) {
+        return row >= 0 && row < size && col >= 0 && col < size;
+    }
+}
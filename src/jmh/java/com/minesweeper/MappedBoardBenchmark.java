@@ -0,0 +1,84 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a board and clearing a sparse one with a single click, on the heap ({@link Board})
+ * against a memory-mapped file ({@link MappedBoard}) of the same size. The mapped board keeps
+ * almost nothing on the heap, which {@code -prof gc} shows as allocated bytes per operation.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class MappedBoardBenchmark {
+
+    @Param({"2048"})
+    public int size;
+
+    private Path file;
+    private MappedBoard mapped;
+    private Board heap;
+
+    @Setup(Level.Trial)
+    public void createFile() throws IOException {
+        file = Files.createTempFile("minesweeper", ".msm");
+    }
+
+    @Setup(Level.Invocation)
+    public void newBoards() throws IOException {
+        mapped = MappedBoard.create(file, size, size, 0, 1L);
+        heap = new Board(size, 0, 1L);
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeBoard() throws IOException {
+        mapped.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Board createHeap() {
+        return new Board(size, size * size / 5, 1L);
+    }
+
+    @Benchmark
+    public MappedBoard createMapped() throws IOException {
+        try (MappedBoard board = MappedBoard.create(file, size, size, size * (long) size / 5, 1L)) {
+            return board;
+        }
+    }
+
+    @Benchmark
+    public RevealResult floodFillHeap() {
+        return heap.reveal(size / 2, size / 2);
+    }
+
+    @Benchmark
+    public long floodFillMapped() {
+        return mapped.reveal(size / 2, size / 2);
+    }
+}
@@ -0,0 +1,68 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link BoardMetrics}: builds a board and clicks every safe cell of it, once in a fork
+ * with metrics off and once with {@code -Dminesweeper.metrics=true}. JFR is not recording, so the
+ * "on" numbers are the histogram cost plus the disabled-event check.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    @Param({"64", "256"})
+    public int size;
+
+    private int[] clicks;
+
+    @Setup(Level.Trial)
+    public void findSafeCells() {
+        Board layout = new Board(size, size * size / 10, 11L);
+        int count = 0;
+        clicks = new int[size * size];
+        for (int index = 0; index < size * size; index++) {
+            if (!layout.isMine(index / size, index % size)) {
+                clicks[count++] = index;
+            }
+        }
+        clicks = Arrays.copyOf(clicks, count);
+    }
+
+    @Benchmark
+    @Fork(1)
+    public Board metricsOff() {
+        return play();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dminesweeper.metrics=true")
+    public Board metricsOn() {
+        return play();
+    }
+
+    private Board play() {
+        Board board = new Board(size, size * size / 10, 11L);
+        for (int index : clicks) {
+            board.reveal(index / size, index % size);
+        }
+        return board;
+    }
+}
@@ -0,0 +1,80 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a script of one million moves on a 1024x1024 board, eight per line: the streaming
+ * {@link MoveParser} against reading lines and splitting them for
+ * {@link InputParser#parseCoordinate(String, int)}, as the console path does. Scores are per move.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoveParserBenchmark {
+    private static final int SIZE = 1024;
+    private static final int MOVES = 1_000_000;
+
+    private byte[] script;
+    private final int[] batch = new int[ScriptRunner.DEFAULT_BATCH];
+
+    @Setup(Level.Trial)
+    public void writeScript() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < MOVES; i++) {
+            int cell = (int) ((long) i * 7919 % (SIZE * SIZE));
+            text.append(InputParser.rowLabel(cell / SIZE)).append(cell % SIZE + 1).append(i % 8 == 7 ? '\n' : ' ');
+        }
+        script = text.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVES)
+    public long moveParser() throws IOException {
+        MoveParser parser = new MoveParser(new ByteArrayInputStream(script), SIZE);
+        long sum = 0;
+        int count;
+        while ((count = parser.read(batch)) > 0) {
+            for (int i = 0; i < count; i++) {
+                sum += batch[i];
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVES)
+    public long lineSplitting() throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(script),
+                StandardCharsets.US_ASCII));
+        long sum = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            for (String move : line.trim().split("\\s+")) {
+                int[] coords = InputParser.parseCoordinate(move, SIZE);
+                sum += coords[0] * SIZE + coords[1];
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,62 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * No-guess generation throughput in boards per second, per size and mine density
+ * ({@code density} is the percentage of cells holding a mine). {@code generate} runs on one
+ * thread; {@code generateAllCores} runs one generator thread per available processor, so its
+ * score is the capacity of the whole machine. {@code random} is plain random generation for scale.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NoGuessBenchmark {
+
+    @Param({"9", "16", "30", "64"})
+    public int size;
+
+    @Param({"12", "16", "20"})
+    public int density;
+
+    private NoGuessGenerator generator;
+    private final AtomicLong seeds = new AtomicLong();
+
+    @Setup
+    public void createGenerator() {
+        generator = new NoGuessGenerator(size, size * size * density / 100);
+    }
+
+    @Benchmark
+    public Board generate() {
+        return generator.generate(seeds.incrementAndGet());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Board generateAllCores() {
+        return generator.generate(seeds.incrementAndGet());
+    }
+
+    @Benchmark
+    public Board random() {
+        return new Board(size, generator.getMines(), seeds.incrementAndGet());
+    }
+}
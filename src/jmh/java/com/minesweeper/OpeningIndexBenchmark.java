@@ -0,0 +1,96 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clears every opening of a board by clicking each zero cell in row-major order, once with the
+ * search-based {@link FloodFill} and once through an {@link OpeningIndex} labelled beforehand
+ * (the labelling is part of the measured time). {@code label} measures the labelling alone.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class OpeningIndexBenchmark {
+
+    @Param({"256", "1024"})
+    public int size;
+
+    @Param({"5", "15"})
+    public int density;
+
+    private PackedGrid layout;
+    private int[] zeroCells;
+    private PackedGrid grid;
+
+    @Setup(Level.Trial)
+    public void createLayout() {
+        layout = new Board(size, size * size * density / 100, 5L).packedGrid().copy();
+        zeroCells = new int[layout.length()];
+        int count = 0;
+        for (int index = 0; index < layout.length(); index++) {
+            if (!layout.isMine(index) && layout.adjacentMines(index) == 0) {
+                zeroCells[count++] = index;
+            }
+        }
+        zeroCells = Arrays.copyOf(zeroCells, count);
+    }
+
+    @Setup(Level.Invocation)
+    public void copyLayout() {
+        grid = layout.copy();
+    }
+
+    @Benchmark
+    public OpeningIndex label() {
+        return OpeningIndex.build(grid);
+    }
+
+    @Benchmark
+    public int floodFill() {
+        FloodFill fill = new FloodFill(grid);
+        int revealed = 0;
+        for (int index : zeroCells) {
+            if (!grid.isRevealed(index)) {
+                grid.reveal(index);
+                revealed += 1 + fill.fill(index, null);
+            }
+        }
+        return revealed;
+    }
+
+    @Benchmark
+    public int openingIndex() {
+        OpeningIndex openings = OpeningIndex.build(grid);
+        int[] members = openings.cells();
+        int revealed = 0;
+        for (int index : zeroCells) {
+            if (!grid.isRevealed(index)) {
+                int opening = openings.openingOf(index);
+                for (int i = openings.start(opening), end = openings.end(opening); i < end; i++) {
+                    if (!grid.isRevealed(members[i])) {
+                        grid.reveal(members[i]);
+                        revealed++;
+                    }
+                }
+            }
+        }
+        return revealed;
+    }
+}
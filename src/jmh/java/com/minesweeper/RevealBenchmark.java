@@ -0,0 +1,78 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First reveal on a fresh board, across sizes and mine densities ({@code density} is the
+ * percentage of cells holding a mine). {@code revealOpening} clicks the zero cell with the
+ * largest flood fill; {@code revealNumber} clicks a numbered cell, which opens only itself.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class RevealBenchmark {
+
+    @Param({"16", "256", "1024"})
+    public int size;
+
+    @Param({"5", "20"})
+    public int density;
+
+    private int mines;
+    private int opening;
+    private int number;
+    private Board board;
+
+    @Setup(Level.Trial)
+    public void findTargets() {
+        mines = (int) (size * (long) size * density / 100);
+        Board probe = new Board(size, mines, 42L);
+        RevealResult changes = new RevealResult(size);
+        int largest = -1;
+        for (int index = 0; index < size * size; index++) {
+            int row = index / size;
+            int col = index % size;
+            if (probe.isMine(row, col) || probe.isRevealed(row, col)) {
+                continue;
+            }
+            probe.reveal(row, col, changes);
+            if (probe.getAdjacentMines(row, col) > 0) {
+                number = index;
+            } else if (changes.getChangedCount() > largest) {
+                largest = changes.getChangedCount();
+                opening = index;
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void newBoard() {
+        board = new Board(size, mines, 42L);
+    }
+
+    @Benchmark
+    public boolean revealOpening() {
+        return board.revealCell(opening / size, opening % size);
+    }
+
+    @Benchmark
+    public boolean revealNumber() {
+        return board.revealCell(number / size, number % size);
+    }
+}
@@ -0,0 +1,106 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clears a whole board by clicking every safe cell in a shuffled order.
+ * {@code singleThreaded} plays the clicks on a {@link Board}; {@code shared} deals them round-robin
+ * to {@code threads} players on one {@link SharedBoard}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SharedBoardBenchmark {
+
+    @Param({"1000"})
+    public int size;
+
+    @Param({"1", "2", "4"})
+    public int threads;
+
+    private int mines;
+    private int[] clicks;
+    private Board board;
+    private SharedBoard shared;
+    private ExecutorService players;
+
+    @Setup(Level.Trial)
+    public void shuffleClicks() {
+        mines = size * size / 10;
+        Board layout = new Board(size, mines, 7L);
+        clicks = new int[size * size - mines];
+        int count = 0;
+        for (int index = 0; index < size * size; index++) {
+            if (!layout.isMine(index / size, index % size)) {
+                clicks[count++] = index;
+            }
+        }
+        SplittableRandom random = new SplittableRandom(7L);
+        for (int i = clicks.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = clicks[i];
+            clicks[i] = clicks[j];
+            clicks[j] = swap;
+        }
+        players = Executors.newFixedThreadPool(threads);
+    }
+
+    @Setup(Level.Invocation)
+    public void newBoards() {
+        board = new Board(size, mines, 7L);
+        shared = new SharedBoard(size, mines, 7L);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopPlayers() {
+        players.shutdown();
+    }
+
+    @Benchmark
+    public GameState singleThreaded() {
+        RevealResult result = new RevealResult(size);
+        for (int index : clicks) {
+            board.revealIndex(index, result);
+        }
+        return board.getState();
+    }
+
+    @Benchmark
+    public GameState shared() throws Exception {
+        Future<?>[] running = new Future<?>[threads];
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            running[t] = players.submit(() -> {
+                RevealResult result = new RevealResult(size);
+                for (int i = first; i < clicks.length; i += threads) {
+                    shared.reveal(clicks[i] / size, clicks[i] % size, result);
+                }
+            });
+        }
+        for (Future<?> player : running) {
+            player.get();
+        }
+        return shared.getState();
+    }
+}
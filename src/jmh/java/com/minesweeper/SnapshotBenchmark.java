@@ -0,0 +1,72 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving and loading snapshots of a half-played board with 1 and 16 million cells.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+
+    @Param({"1000", "4000"})
+    public int size;
+
+    private Path dir;
+    private Path saved;
+    private Path scratch;
+    private Board board;
+
+    @Setup
+    public void setUp() throws IOException {
+        board = new Board(size, size * size / 10, 3L);
+        RevealResult result = new RevealResult(size);
+        for (int index = 0; index < size * size / 2; index += 7) {
+            if (board.getState() == GameState.IN_PROGRESS && !board.isMine(index / size, index % size)) {
+                board.revealIndex(index, result);
+            }
+        }
+        dir = Files.createTempDirectory("snapshots");
+        saved = dir.resolve("saved.snap");
+        scratch = dir.resolve("scratch.snap");
+        BoardSnapshot.save(board, saved);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(saved);
+        Files.deleteIfExists(scratch);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public Path save() throws IOException {
+        BoardSnapshot.save(board, scratch);
+        return scratch;
+    }
+
+    @Benchmark
+    public Board load() throws IOException {
+        return BoardSnapshot.load(saved);
+    }
+}
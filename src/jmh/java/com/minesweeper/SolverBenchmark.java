@@ -0,0 +1,75 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-move latency of the solver on large boards. Each invocation is one solver move:
+ * pick a cell, reveal it and bring the solver up to date. {@code incrementalMove} keeps one
+ * {@link Solver} for the whole game; {@code rebuildEachMove} builds a fresh solver before
+ * every move, which is what a solver without incremental updates has to do.
+ * A new board is dealt whenever a game ends, so the sampled tail includes board construction.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SolverBenchmark {
+    @Param({"256", "1024"})
+    public int size;
+
+    private long seed;
+    private Board board;
+    private Solver solver;
+    private RevealResult result;
+
+    @Setup
+    public void setUp() {
+        result = new RevealResult(size);
+        newGame();
+    }
+
+    private void newGame() {
+        board = new Board(size, size * size / 8, seed++);
+        board.setFirstClickSafe(true);
+        solver = new Solver(board);
+    }
+
+    @Benchmark
+    public int incrementalMove() {
+        return move();
+    }
+
+    @Benchmark
+    public int rebuildEachMove() {
+        solver = new Solver(board);
+        return move();
+    }
+
+    private int move() {
+        int cell = solver.nextSafeCell();
+        if (cell < 0) {
+            Hint hint = solver.hint();
+            cell = hint == null ? size * size / 2 : hint.getIndex();
+        }
+        board.revealIndex(cell, result);
+        solver.update(result);
+        if (board.getState() != GameState.IN_PROGRESS) {
+            newGame();
+        }
+        return cell;
+    }
+}
@@ -0,0 +1,111 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time to play 100 000 moves on a fresh 1000x1000 board as the number of spectators grows.
+ * With 0 no publisher is attached; otherwise half the spectators take every event and half
+ * request one at a time and get coalesced events when they fall behind.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = SpectatorBenchmark.MOVES)
+@Measurement(iterations = 10, batchSize = SpectatorBenchmark.MOVES)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SpectatorBenchmark {
+    static final int MOVES = 100_000;
+    private static final int SIZE = 1000;
+
+    @Param({"0", "1", "10", "100", "500"})
+    public int subscribers;
+
+    private Board board;
+    private BoardEventPublisher publisher;
+    private RevealResult changes;
+    private int[] safeCells;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        board = new Board(SIZE, (int) (SIZE * (long) SIZE * 0.3), 1L);
+        PackedGrid cells = board.packedGrid();
+        safeCells = new int[cells.length() - board.getTotalMines()];
+        for (int index = 0, n = 0; index < cells.length(); index++) {
+            if (!cells.isMine(index)) {
+                safeCells[n++] = index;
+            }
+        }
+        next = 0;
+        changes = new RevealResult(SIZE);
+        if (subscribers > 0) {
+            publisher = new BoardEventPublisher(board);
+            for (int i = 0; i < subscribers; i++) {
+                publisher.subscribe(new Spectator(i % 2 == 0 ? Long.MAX_VALUE : 1));
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (publisher != null) {
+            publisher.close();
+        }
+    }
+
+    @Benchmark
+    public int move() {
+        int index;
+        do {
+            index = safeCells[next++];
+        } while (board.packedGrid().isRevealed(index));
+        return board.revealIndex(index, changes).getChangedCount();
+    }
+
+    private static final class Spectator implements Flow.Subscriber<BoardEvent> {
+        private final long initialDemand;
+        private Flow.Subscription subscription;
+        private long cells;
+
+        Spectator(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialDemand);
+        }
+
+        @Override
+        public void onNext(BoardEvent event) {
+            cells += event.getChangedCount();
+            if (initialDemand == 1) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
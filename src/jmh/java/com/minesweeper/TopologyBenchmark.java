@@ -0,0 +1,51 @@
+package com.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction and a whole-board flood fill on a 500x500 board in each {@link Topology}.
+ * SQUARE runs the specialised square code; the others walk their {@link NeighbourTable}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class TopologyBenchmark {
+    private static final int SIZE = 500;
+
+    @Param({"SQUARE", "TORUS", "HEX", "KNIGHT"})
+    public Topology topology;
+
+    private Board empty;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        empty = new Board(SIZE, 0, 1L, topology);
+    }
+
+    @Benchmark
+    public Board construct() {
+        return new Board(SIZE, SIZE * SIZE / 6, 1L, topology);
+    }
+
+    @Benchmark
+    public int floodFill() {
+        empty.revealCell(SIZE / 2, SIZE / 2);
+        return empty.getRevealedCount();
+    }
+}
@@ -0,0 +1,133 @@
+package com.minesweeper;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes the packed cells of a board from its {@link MineBits} layer, 64 columns at a time.
+ * The eight neighbour bit-vectors of a word are summed with bit-sliced adders into four
+ * count planes, which are then unpacked into the grid bytes. Large boards are split into
+ * row stripes that are filled in parallel on a fork-join pool.
+ */
+final class AdjacencyKernel {
+    /**
+     * Boards with fewer cells than this are computed on the calling thread.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 20;
+    private static final int STRIPE_CELLS = 1 << 18;
+
+    private AdjacencyKernel() {
+    }
+
+    /**
+     * Writes the mine bit and neighbour count of every cell into {@code cells},
+     * overwriting whatever the grid held before.
+     */
+    static void compute(MineBits mines, PackedGrid cells, ForkJoinPool pool) {
+        int size = mines.size();
+        if (cells.length() < PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+            computeRows(mines, cells, 0, size);
+        } else {
+            int stripeRows = Math.max(1, STRIPE_CELLS / size);
+            pool.invoke(new Stripe(mines, cells, 0, size, stripeRows));
+        }
+    }
+
+    static void computeRows(MineBits mines, PackedGrid cells, int fromRow, int toRow) {
+        int size = mines.size();
+        int words = mines.wordsPerRow();
+        long[] bits = mines.words();
+        for (int row = fromRow; row < toRow; row++) {
+            int mid = row * words;
+            int up = row > 0 ? mid - words : -1;
+            int down = row < size - 1 ? mid + words : -1;
+            for (int w = 0; w < words; w++) {
+                boolean first = w == 0;
+                boolean last = w == words - 1;
+
+                long m = bits[mid + w];
+                long mPrev = first ? 0 : bits[mid + w - 1];
+                long mNext = last ? 0 : bits[mid + w + 1];
+                long u = 0, uPrev = 0, uNext = 0;
+                if (up >= 0) {
+                    u = bits[up + w];
+                    uPrev = first ? 0 : bits[up + w - 1];
+                    uNext = last ? 0 : bits[up + w + 1];
+                }
+                long d = 0, dPrev = 0, dNext = 0;
+                if (down >= 0) {
+                    d = bits[down + w];
+                    dPrev = first ? 0 : bits[down + w - 1];
+                    dNext = last ? 0 : bits[down + w + 1];
+                }
+
+                // Neighbour at column c - 1 lands on bit c, neighbour at c + 1 likewise.
+                long a = (u << 1) | (uPrev >>> 63);
+                long b = u;
+                long c = (u >>> 1) | (uNext << 63);
+                long e = (m << 1) | (mPrev >>> 63);
+                long f = (m >>> 1) | (mNext << 63);
+                long g = (d << 1) | (dPrev >>> 63);
+                long h = d;
+                long i = (d >>> 1) | (dNext << 63);
+
+                // Full adders over the eight inputs.
+                long s1 = a ^ b ^ c;
+                long c1 = (a & b) | (c & (a ^ b));
+                long s2 = e ^ f ^ g;
+                long c2 = (e & f) | (g & (e ^ f));
+                long s3 = h ^ i;
+                long c3 = h & i;
+                long ones = s1 ^ s2 ^ s3;
+                long k = (s1 & s2) | (s3 & (s1 ^ s2));
+                // Four weight-two inputs: c1, c2, c3 and k.
+                long t = c1 ^ c2 ^ c3;
+                long tc = (c1 & c2) | (c3 & (c1 ^ c2));
+                long twos = t ^ k;
+                long tk = t & k;
+                long fours = tc ^ tk;
+                long eights = tc & tk;
+
+                int base = row * size + (w << 6);
+                int columns = Math.min(64, size - (w << 6));
+                for (int bit = 0; bit < columns; bit++) {
+                    int count = (int) ((ones >>> bit) & 1)
+                            | (int) ((twos >>> bit) & 1) << 1
+                            | (int) ((fours >>> bit) & 1) << 2
+                            | (int) ((eights >>> bit) & 1) << 3;
+                    int mine = (int) ((m >>> bit) & 1) << 4;
+                    cells.setBits(base + bit, count | mine);
+                }
+            }
+        }
+    }
+
+    private static final class Stripe extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final MineBits mines;
+        private final PackedGrid cells;
+        private final int fromRow;
+        private final int toRow;
+        private final int stripeRows;
+
+        Stripe(MineBits mines, PackedGrid cells, int fromRow, int toRow, int stripeRows) {
+            this.mines = mines;
+            this.cells = cells;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.stripeRows = stripeRows;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow <= stripeRows) {
+                computeRows(mines, cells, fromRow, toRow);
+                return;
+            }
+            int split = (fromRow + toRow) >>> 1;
+            invokeAll(new Stripe(mines, cells, fromRow, split, stripeRows),
+                    new Stripe(mines, cells, split, toRow, stripeRows));
+        }
+    }
+}
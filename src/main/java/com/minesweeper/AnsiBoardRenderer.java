@@ -0,0 +1,75 @@
+package com.minesweeper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Renderer for ANSI terminals. The board is drawn once at the top of the screen;
+ * after that only the cells of each change set are redrawn, using cursor positioning,
+ * and the cursor is left on the first line below the board with the rest of the screen cleared.
+ */
+public class AnsiBoardRenderer extends BoardRenderer {
+    private static final byte[] CLEAR_SCREEN = "\u001b[H\u001b[2J".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CLEAR_BELOW = "\u001b[J".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[] escape = new byte[32];
+
+    public AnsiBoardRenderer(Board board) {
+        super(board);
+    }
+
+    /**
+     * Clears the screen and draws the whole board.
+     */
+    public void drawFull(OutputStream out, boolean revealMines) throws IOException {
+        out.write(CLEAR_SCREEN);
+        markAllDirty();
+        render(out, revealMines);
+        moveBelowBoard(out);
+    }
+
+    /**
+     * Redraws only the cells listed in {@code changes}.
+     */
+    public void update(OutputStream out, RevealResult changes) throws IOException {
+        for (int i = 0; i < changes.getChangedCount(); i++) {
+            int row = changes.getRow(i);
+            int col = changes.getColumn(i);
+            // Screen line 1 is the header; cells are right-aligned in their column.
+            moveTo(out, row + 2, labelWidth + 1 + (col + 1) * (cellWidth + 1));
+            out.write(glyph(changes.getIndex(i), false));
+            markRowDirty(row);
+        }
+        moveBelowBoard(out);
+    }
+
+    private void moveBelowBoard(OutputStream out) throws IOException {
+        moveTo(out, size + 2, 1);
+        out.write(CLEAR_BELOW);
+        out.flush();
+    }
+
+    private void moveTo(OutputStream out, int line, int column) throws IOException {
+        int pos = 0;
+        escape[pos++] = 0x1b;
+        escape[pos++] = '[';
+        pos = writeNumber(line, pos);
+        escape[pos++] = ';';
+        pos = writeNumber(column, pos);
+        escape[pos++] = 'H';
+        out.write(escape, 0, pos);
+    }
+
+    private int writeNumber(int value, int pos) {
+        int digits = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        for (int i = pos + digits - 1; i >= pos; i--) {
+            escape[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + digits;
+    }
+}
@@ -1,78 +1,268 @@
 package com.minesweeper;
 
 
-import java.util.Random;
-import java.util.ArrayDeque;
-import java.util.Queue;
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Manages the Minesweeper grid: initializing cells, placing mines,
  * calculating adjacent mine counts, and revealing cells.
+ * Cell state is kept in a {@link PackedGrid}, one byte per cell, and game progress
+ * is tracked with running counters so status queries never scan the grid.
+ * Neighbours follow the board's {@link Topology}; square boards use specialised code paths,
+ * other topologies a precomputed {@link NeighbourTable}.
  */
-public class Board {
+public class Board implements GameStatus {
+    /**
+     * Boards at least this wide compute their counts with {@link AdjacencyKernel}
+     * rather than scattering from each mine.
+     */
+    static final int SWAR_MIN_SIZE = 64;
+
+    /**
+     * Random draws for a free cell before first-click-safe mode falls back to a scan.
+     */
+    private static final int RELOCATE_DRAWS = 64;
+
     private int size;
     private int totalMines;
-    private Cell[][] grid;
+    private final OptionalLong seed;
+    private final RandomGenerator random;
+    private final PackedGrid cells;
+    private final NeighbourTable neighbours;
+    private final FloodFill floodFill;
+    private OpeningIndex openings;
+    private BoardEventPublisher events;
+    private RevealResult eventChanges;
+    private Cell[][] gridView;
+    private int revealedCount;
+    private int safeCellsRemaining;
+    private int flagCount;
+    private int revealedMines;
+    private boolean firstClickSafe;
+    private boolean noGuess;
 
     public Board(int size, int totalMines) {
+        this(size, totalMines, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates a board whose mine layout is fully determined by (size, totalMines, seed).
+     */
+    public Board(int size, int totalMines, long seed) {
+        this(size, totalMines, new SplittableRandom(seed), OptionalLong.of(seed));
+    }
+
+    /**
+     * Creates a board with mines placed using the given generator.
+     */
+    public Board(int size, int totalMines, RandomGenerator random) {
+        this(size, totalMines, random, OptionalLong.empty());
+    }
+
+    /**
+     * Creates a seeded board whose cells neighbour each other as in {@code topology}.
+     */
+    public Board(int size, int totalMines, long seed, Topology topology) {
+        this(size, totalMines, new SplittableRandom(seed), OptionalLong.of(seed), topology);
+    }
+
+    private Board(int size, int totalMines, RandomGenerator random, OptionalLong seed) {
+        this(size, totalMines, random, seed, Topology.SQUARE);
+    }
+
+    private Board(int size, int totalMines, RandomGenerator random, OptionalLong seed, Topology topology) {
+        this(System.nanoTime(), placeMines(size, totalMines, random), totalMines, random, seed, topology);
+    }
+
+    /**
+     * Creates a board with the given mine layer; {@code totalMines} must match its bit count.
+     * {@code startNanos} is when construction began, for {@link BoardMetrics}.
+     */
+    private Board(long startNanos, MineBits mines, int totalMines, RandomGenerator random, OptionalLong seed,
+                  Topology topology) {
+        this.size = mines.size();
+        this.totalMines = totalMines;
+        this.seed = seed;
+        this.random = random;
+        cells = new PackedGrid(size);
+        neighbours = topology == Topology.SQUARE ? null : new NeighbourTable(topology, size);
+        floodFill = new FloodFill(cells, null, neighbours);
+        if (size < SWAR_MIN_SIZE || neighbours != null) {
+            scatterMines(mines);
+        } else {
+            AdjacencyKernel.compute(mines, cells, ForkJoinPool.commonPool());
+        }
+        safeCellsRemaining = cells.length() - totalMines;
+        if (BoardMetrics.ENABLED) {
+            BoardMetrics.recordConstruction(size, totalMines, startNanos);
+        }
+    }
+
+    /**
+     * Creates an unplayed board with the cells and openings of {@code layout}. The generator is
+     * advanced past mine placement, so first-click-safe moves match {@code new Board(size, mines, seed)}.
+     */
+    private Board(long startNanos, BoardLayout layout) {
+        this.size = layout.getSize();
+        this.totalMines = layout.getTotalMines();
+        this.seed = OptionalLong.of(layout.getSeed());
+        this.random = new SplittableRandom(layout.getSeed());
+        MinePlacer.skip(size * size, totalMines, random);
+        cells = layout.cells().copy();
+        neighbours = null;
+        floodFill = new FloodFill(cells);
+        openings = layout.openings();
+        safeCellsRemaining = cells.length() - totalMines;
+        if (BoardMetrics.ENABLED) {
+            BoardMetrics.recordConstruction(size, totalMines, startNanos);
+        }
+    }
+
+    /**
+     * Returns a new board with the layout of {@code layout}, see {@link BoardLayout#newBoard()}.
+     */
+    static Board fromLayout(BoardLayout layout) {
+        return new Board(System.nanoTime(), layout);
+    }
+
+    /**
+     * Validates the board configuration and returns a mine layer with {@code totalMines} mines.
+     */
+    private static MineBits placeMines(int size, int totalMines, RandomGenerator random) {
         if (size <= 0) {
             throw new IllegalArgumentException("Board size must be positive.");
         }
-        int maxMines = (int)(size * size * 0.35);
+        if ((long) size * size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Board size is too large: " + size);
+        }
+        int maxMines = (int)(size * (long) size * 0.35);
         if (totalMines < 0 || totalMines > maxMines) {
             throw new IllegalArgumentException("Total mines must be between 0 and " + maxMines);
         }
-        this.size = size;
-        this.totalMines = totalMines;
-        grid = new Cell[size][size];
-        initializeCells();
-        placeMines();
-        calculateAdjacentMines();
+        MineBits mines = new MineBits(size);
+        MinePlacer.place(mines, totalMines, random);
+        return mines;
+    }
+
+    /**
+     * Rebuilds a saved board from its cell layers, see {@link BoardSnapshot}.
+     * A mine moved by first-click-safe mode after the restore is placed by a generator seeded
+     * from the board seed, so it may differ from the original board's choice.
+     */
+    static Board restore(MineBits mines, int totalMines, MineBits revealed, MineBits flagged,
+                         OptionalLong seed, boolean firstClickSafe) {
+        RandomGenerator random = new SplittableRandom(
+                seed.isPresent() ? seed.getAsLong() : ThreadLocalRandom.current().nextLong());
+        Board board = new Board(System.nanoTime(), mines, totalMines, random, seed, Topology.SQUARE);
+        board.firstClickSafe = firstClickSafe;
+        board.applyLayers(revealed, flagged);
+        return board;
     }
 
-    private void initializeCells() {
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                grid[i][j] = new Cell();
+    /**
+     * Reveals and flags the cells set in the given layers, updating the counters.
+     */
+    private void applyLayers(MineBits revealed, MineBits flagged) {
+        int wordsPerRow = revealed.wordsPerRow();
+        long[] revealedWords = revealed.words();
+        long[] flaggedWords = flagged.words();
+        for (int w = 0; w < revealedWords.length; w++) {
+            int row = w / wordsPerRow;
+            int colBase = (w - row * wordsPerRow) << 6;
+            for (long word = revealedWords[w]; word != 0; word &= word - 1) {
+                markRevealed(cells.index(row, colBase + Long.numberOfTrailingZeros(word)));
+            }
+            for (long word = flaggedWords[w] & ~revealedWords[w]; word != 0; word &= word - 1) {
+                cells.setFlagged(cells.index(row, colBase + Long.numberOfTrailingZeros(word)), true);
+                flagCount++;
             }
         }
     }
 
-    private void placeMines() {
-        Random random = new Random();
-        int minesPlaced = 0;
-        while (minesPlaced < totalMines) {
-            int row = random.nextInt(size);
-            int col = random.nextInt(size);
-            if (!grid[row][col].isMine()) {
-                grid[row][col].setMine(true);
-                minesPlaced++;
+    /**
+     * Sets every mine of the layer on the grid and scatters its neighbour counts.
+     */
+    private void scatterMines(MineBits mines) {
+        long[] words = mines.words();
+        int wordsPerRow = mines.wordsPerRow();
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            int row = w / wordsPerRow;
+            int colBase = (w - row * wordsPerRow) << 6;
+            while (word != 0) {
+                int index = cells.index(row, colBase + Long.numberOfTrailingZeros(word));
+                cells.setMine(index, true);
+                addToNeighbours(index, 1);
+                word &= word - 1;
             }
         }
     }
 
+    /**
+     * Rebuilds all adjacent mine counts by scattering from every mine.
+     * Mine cells keep the count of their own neighbouring mines so that
+     * moving a mine only needs a local update.
+     */
     private void calculateAdjacentMines() {
-        for (int row = 0; row < size; row++) {
-            for (int col = 0; col < size; col++) {
-                if (!grid[row][col].isMine()) {
-                    int count = countAdjacentMines(row, col);
-                    grid[row][col].setAdjacentMines(count);
-                } else {
-                    grid[row][col].setAdjacentMines(0);
+        for (int index = 0; index < cells.length(); index++) {
+            cells.setAdjacentMines(index, 0);
+        }
+        for (int index = 0; index < cells.length(); index++) {
+            if (cells.isMine(index)) {
+                addToNeighbours(index, 1);
+            }
+        }
+    }
+
+    /**
+     * Adds {@code delta} to the adjacent mine count of every neighbour of the given cell.
+     */
+    private void addToNeighbours(int index, int delta) {
+        int row = index / size;
+        int col = index - row * size;
+        if (neighbours != null) {
+            if (neighbours.isInterior(row, col)) {
+                for (int offset : neighbours.offsets(row)) {
+                    cells.setAdjacentMines(index + offset, cells.neighbourMines(index + offset) + delta);
+                }
+            } else {
+                int[] borderCells = neighbours.borderCells();
+                for (int i = neighbours.borderStart(row, col), end = neighbours.borderEnd(row, col); i < end; i++) {
+                    cells.setAdjacentMines(borderCells[i], cells.neighbourMines(borderCells[i]) + delta);
+                }
+            }
+            return;
+        }
+        int fromRow = Math.max(row - 1, 0);
+        int toRow = Math.min(row + 1, size - 1);
+        int fromCol = Math.max(col - 1, 0);
+        int toCol = Math.min(col + 1, size - 1);
+        for (int i = fromRow; i <= toRow; i++) {
+            for (int j = fromCol; j <= toCol; j++) {
+                int neighbour = i * size + j;
+                if (neighbour != index) {
+                    cells.setAdjacentMines(neighbour, cells.neighbourMines(neighbour) + delta);
                 }
             }
         }
     }
 
     /**
-     * Counts mines adjacent to the cell at (row, col).
+     * Counts mines adjacent to the cell at (row, col) by inspecting its neighbours.
      */
-    private int countAdjacentMines(int row, int col) {
+    int countAdjacentMines(int row, int col) {
+        if (neighbours != null) {
+            return neighbours.countMines(cells, cells.index(row, col));
+        }
         int count = 0;
         for (int i = row - 1; i <= row + 1; i++) {
             for (int j = col - 1; j <= col + 1; j++) {
                 if (i == row && j == col) continue;
-                if (isValidCell(i, j) && grid[i][j].isMine()) {
+                if (isValidCell(i, j) && cells.isMine(cells.index(i, j))) {
                     count++;
                 }
             }
@@ -87,106 +277,460 @@ public class Board {
         if (!isValidCell(row, col)) {
             throw new IllegalArgumentException("Invalid cell coordinates.");
         }
-        if (grid[row][col].isRevealed()) {
+        if (events != null) {
+            return revealIndex(cells.index(row, col), eventChanges).isMineHit();
+        }
+        return reveal(cells.index(row, col), null);
+    }
+
+    /**
+     * Reveals the cell at (row, col) and returns the cells that changed.
+     */
+    public RevealResult reveal(int row, int col) {
+        return reveal(row, col, new RevealResult(size));
+    }
+
+    /**
+     * Reveals the cell at (row, col), recording the change set into {@code into},
+     * which is cleared first and returned.
+     */
+    public RevealResult reveal(int row, int col, RevealResult into) {
+        return revealIndex(checkedIndex(row, col), into);
+    }
+
+    /**
+     * Reveals the cell with the given row-major index, see {@link #reveal(int, int, RevealResult)}.
+     */
+    public RevealResult revealIndex(int index, RevealResult into) {
+        if (index < 0 || index >= cells.length()) {
+            throw new IllegalArgumentException("Invalid cell index: " + index);
+        }
+        into.clear();
+        into.setMineHit(reveal(index, into));
+        into.setState(getState());
+        if (events != null) {
+            events.publish(into);
+        }
+        return into;
+    }
+
+    /**
+     * Reveals every cell of {@code indices} and returns their merged change set.
+     */
+    public RevealResult revealCells(int[] indices) {
+        return revealCells(indices, indices.length, new RevealResult(size));
+    }
+
+    /**
+     * Reveals the first {@code count} cell indices in order, merging their change sets into
+     * {@code into}, which is cleared first and returned. Stops early once the game is won or lost.
+     */
+    public RevealResult revealCells(int[] indices, int count, RevealResult into) {
+        into.clear();
+        boolean mineHit = false;
+        for (int i = 0; i < count && getState() == GameState.IN_PROGRESS; i++) {
+            int index = indices[i];
+            if (index < 0 || index >= cells.length()) {
+                throw new IllegalArgumentException("Invalid cell index: " + index);
+            }
+            mineHit |= reveal(index, into);
+        }
+        into.setMineHit(mineHit);
+        into.setState(getState());
+        if (events != null) {
+            events.publish(into);
+        }
+        return into;
+    }
+
+    /**
+     * Copies the mine, revealed and flagged bit of every cell into the given layers.
+     */
+    void captureLayers(MineBits mines, MineBits revealed, MineBits flagged) {
+        int wordsPerRow = mines.wordsPerRow();
+        long[] mineWords = mines.words();
+        long[] revealedWords = revealed.words();
+        long[] flaggedWords = flagged.words();
+        int index = 0;
+        for (int w = 0; w < mineWords.length; w++) {
+            long mineWord = 0;
+            long revealedWord = 0;
+            long flaggedWord = 0;
+            int end = Math.min(64, size - ((w % wordsPerRow) << 6));
+            for (int bit = 0; bit < end; bit++, index++) {
+                int bits = cells.bits(index);
+                mineWord |= (long) ((bits & PackedGrid.MINE) >>> 4) << bit;
+                revealedWord |= (long) ((bits & PackedGrid.REVEALED) >>> 5) << bit;
+                flaggedWord |= (long) ((bits & PackedGrid.FLAGGED) >>> 6) << bit;
+            }
+            mineWords[w] = mineWord;
+            revealedWords[w] = revealedWord;
+            flaggedWords[w] = flaggedWord;
+        }
+    }
+
+    /**
+     * Resets the board to layers taken with {@link #captureLayers}: mines that moved since are
+     * moved back, and the revealed and flagged cells and the counters are set from the layers.
+     */
+    void restoreLayers(MineBits mines, MineBits revealed, MineBits flagged) {
+        checkRewindable();
+        int hidden = ~(PackedGrid.REVEALED | PackedGrid.FLAGGED);
+        for (int row = 0, index = 0; row < size; row++) {
+            for (int col = 0; col < size; col++, index++) {
+                cells.setBits(index, cells.bits(index) & hidden);
+                if (cells.isMine(index) != mines.get(row, col)) {
+                    updateMine(index, !cells.isMine(index));
+                }
+            }
+        }
+        revealedCount = 0;
+        revealedMines = 0;
+        flagCount = 0;
+        safeCellsRemaining = cells.length() - totalMines;
+        applyLayers(revealed, flagged);
+    }
+
+    /**
+     * @throws IllegalStateException if the board publishes its moves, which only ever reveal cells.
+     */
+    void checkRewindable() {
+        if (events != null) {
+            throw new IllegalStateException("A board with spectators cannot be rewound.");
+        }
+    }
+
+    /**
+     * Publishes every following move to {@code publisher}, see {@link BoardEventPublisher}.
+     */
+    void attachEvents(BoardEventPublisher publisher) {
+        if (events != null) {
+            throw new IllegalStateException("Board already has an event publisher.");
+        }
+        events = publisher;
+        eventChanges = new RevealResult(size);
+    }
+
+    /**
+     * Returns the packed cell storage of this board.
+     */
+    PackedGrid packedGrid() {
+        return cells;
+    }
+
+    /**
+     * Returns the row-major index of (row, col), as used by {@link RevealResult}.
+     */
+    public int cellIndex(int row, int col) {
+        return checkedIndex(row, col);
+    }
+
+    /**
+     * Reveals the cell at the given index, recording changes into {@code changes} if not null.
+     * Returns true if a mine is hit.
+     */
+    private boolean reveal(int index, RevealResult changes) {
+        if (!BoardMetrics.ENABLED) {
+            return revealCell(index, changes);
+        }
+        long start = System.nanoTime();
+        int before = revealedCount;
+        boolean mineHit = revealCell(index, changes);
+        BoardMetrics.recordReveal(size, index, revealedCount - before, mineHit, start);
+        return mineHit;
+    }
+
+    private boolean revealCell(int index, RevealResult changes) {
+        if (cells.isRevealed(index)) {
             return false; // already revealed
         }
-        grid[row][col].reveal();
-        if (grid[row][col].isMine()) {
+        if (firstClickSafe && revealedCount == 0 && cells.isMine(index)) {
+            relocateMine(index);
+        }
+        markRevealed(index);
+        if (changes != null) {
+            changes.add(index, cells.adjacentMines(index));
+        }
+        if (cells.isMine(index)) {
             return true;
         }
         // If the cell has no adjacent mines, reveal surrounding cells.
-        if (grid[row][col].getAdjacentMines() == 0) {
-            floodFill(row, col);
+        if (cells.adjacentMines(index) == 0) {
+            floodFill(index, changes);
         }
         return false;
     }
 
     /**
-     * Recursively reveals adjacent cells that have no adjacent mines.
-     */
-    private void floodFill(int row, int col) {
-        Queue<int[]> queue = new ArrayDeque<>();
-        queue.add(new int[]{row, col});
-        while (!queue.isEmpty()) {
-            int[] cell = queue.poll();
-            int r = cell[0];
-            int c = cell[1];
-            for (int i = r - 1; i <= r + 1; i++) {
-                for (int j = c - 1; j <= c + 1; j++) {
-                    if (isValidCell(i, j) && !grid[i][j].isRevealed() && !grid[i][j].isMine()) {
-                        grid[i][j].reveal();
-                        if (grid[i][j].getAdjacentMines() == 0) {
-                            queue.add(new int[]{i, j});
-                        }
-                    }
+     * Moves the mine at the given index to a random cell that is neither a mine nor revealed,
+     * patching only the counts around the old and new positions. After {@link #RELOCATE_DRAWS}
+     * missed draws the cells are scanned from the last draw; if every other cell is a mine or
+     * revealed, the mine stays where it is.
+     */
+    private void relocateMine(int index) {
+        int target = -1;
+        for (int draw = 0; draw < RELOCATE_DRAWS && target < 0; draw++) {
+            int candidate = random.nextInt(cells.length());
+            if (isFreeFor(candidate, index)) {
+                target = candidate;
+            }
+        }
+        for (int i = 0, from = random.nextInt(cells.length()); i < cells.length() && target < 0; i++) {
+            int candidate = (from + i) % cells.length();
+            if (isFreeFor(candidate, index)) {
+                target = candidate;
+            }
+        }
+        if (target < 0) {
+            return;
+        }
+        updateMine(index, false);
+        updateMine(target, true);
+    }
+
+    private boolean isFreeFor(int target, int index) {
+        return target != index && !cells.isMine(target) && !cells.isRevealed(target);
+    }
+
+    /**
+     * Reveals the opening around a revealed zero cell and updates the game counters.
+     * Once the openings are indexed this walks the precomputed opening; until then it searches,
+     * which is cheaper than labelling the whole board for a single opening.
+     */
+    private void floodFill(int index, RevealResult changes) {
+        if (openings == null) {
+            int revealed = floodFill.fill(index, changes);
+            revealedCount += revealed;
+            safeCellsRemaining -= revealed;
+            flagCount -= floodFill.flagsCleared();
+            return;
+        }
+        int[] members = openings.cells();
+        int opening = openings.openingOf(index);
+        for (int i = openings.start(opening), end = openings.end(opening); i < end; i++) {
+            int cell = members[i];
+            if (!cells.isRevealed(cell)) {
+                markRevealed(cell);
+                if (changes != null) {
+                    changes.add(cell, cells.adjacentMines(cell));
                 }
             }
         }
     }
 
+    /**
+     * Returns the opening index of the current mine layout, labelling it on first use after
+     * construction or after a mine moved. Reveals use it from then on.
+     * <p>
+     * The index costs 4 to 8 bytes per cell on top of the board's byte per cell and is kept
+     * until a mine moves, so it is only built where it pays off: by {@link #getOpeningCount()}
+     * and {@link #get3BV()}, by undo in {@link GameHistory}, which replays the same openings many
+     * times, and by {@link BoardLayout}s, which share one index among all their boards. Plain
+     * games never build it and search each opening instead.
+     */
+    OpeningIndex openingIndex() {
+        if (openings == null) {
+            openings = OpeningIndex.build(cells, neighbours);
+        }
+        return openings;
+    }
+
+    /**
+     * Returns the number of openings: regions of connected cells with no adjacent mines,
+     * each cleared by a single click.
+     */
+    public int getOpeningCount() {
+        return openingIndex().openingCount();
+    }
+
+    /**
+     * Returns the 3BV difficulty of the board: the fewest clicks that clear it, counting one click
+     * per opening and one per numbered cell that borders no opening.
+     */
+    public int get3BV() {
+        return openingIndex().bbbv();
+    }
+
+    /**
+     * Reveals the cell at the given index and updates the game counters.
+     * The caller must have checked that the cell is not revealed yet.
+     */
+    private void markRevealed(int index) {
+        if (cells.isFlagged(index)) {
+            flagCount--;
+        }
+        cells.reveal(index);
+        revealedCount++;
+        if (cells.isMine(index)) {
+            revealedMines++;
+        } else {
+            safeCellsRemaining--;
+        }
+    }
+
     /**
      * Checks if all non-mine cells have been revealed.
      */
     public boolean isGameWon() {
-        for (int row = 0; row < size; row++) {
-            for (int col = 0; col < size; col++) {
-                if (!grid[row][col].isMine() && !grid[row][col].isRevealed()) {
-                    return false;
-                }
-            }
+        return safeCellsRemaining == 0;
+    }
+
+    @Override
+    public GameState getState() {
+        if (revealedMines > 0) {
+            return GameState.LOST;
         }
-        return true;
+        return safeCellsRemaining == 0 ? GameState.WON : GameState.IN_PROGRESS;
+    }
+
+    @Override
+    public int getTotalMines() {
+        return totalMines;
+    }
+
+    @Override
+    public int getRevealedCount() {
+        return revealedCount;
+    }
+
+    @Override
+    public int getSafeCellsRemaining() {
+        return safeCellsRemaining;
     }
 
+    @Override
+    public int getMinesLeft() {
+        return totalMines - flagCount;
+    }
+
+    /**
+     * Returns a grid of {@link Cell} views over the packed board state.
+     * The views are created on first use and read and write through to the board,
+     * so prefer the per-cell accessors on large boards.
+     */
     public Cell[][] getGrid() {
-        return grid;
+        if (gridView == null) {
+            Cell[][] view = new Cell[size][size];
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    view[row][col] = new CellView(cells.index(row, col));
+                }
+            }
+            gridView = view;
+        }
+        return gridView;
     }
 
     public int getSize() {
         return size;
     }
 
+    public Topology getTopology() {
+        return neighbours == null ? Topology.SQUARE : neighbours.topology();
+    }
+
+    /**
+     * Returns the neighbour table of this board, or null for a square board.
+     */
+    NeighbourTable neighbourTable() {
+        return neighbours;
+    }
+
+    public boolean isFirstClickSafe() {
+        return firstClickSafe;
+    }
+
+    /**
+     * When enabled, a mine under the first revealed cell is moved elsewhere before the reveal.
+     */
+    public void setFirstClickSafe(boolean firstClickSafe) {
+        this.firstClickSafe = firstClickSafe;
+    }
+
+    /**
+     * Returns the seed the mine layout was generated from, if the board was created from a seed.
+     * For a {@link #isNoGuess() no-guess} board it is the seed passed to {@link NoGuessGenerator}.
+     */
+    public OptionalLong getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns true if the board was built by {@link NoGuessGenerator}, so its seed reproduces
+     * the layout through the generator rather than through {@code new Board(size, mines, seed)}.
+     */
+    public boolean isNoGuess() {
+        return noGuess;
+    }
+
+    void markNoGuess() {
+        noGuess = true;
+    }
+
+    public boolean isMine(int row, int col) {
+        return cells.isMine(checkedIndex(row, col));
+    }
+
+    public boolean isRevealed(int row, int col) {
+        return cells.isRevealed(checkedIndex(row, col));
+    }
+
+    public boolean isFlagged(int row, int col) {
+        return cells.isFlagged(checkedIndex(row, col));
+    }
+
+    /**
+     * Returns the number of mines adjacent to (row, col), or 0 if the cell is a mine.
+     */
+    public int getAdjacentMines(int row, int col) {
+        return cells.adjacentMines(checkedIndex(row, col));
+    }
+
+    /**
+     * Toggles the flag on an unrevealed cell. Returns true if the cell is now flagged.
+     */
+    public boolean toggleFlag(int row, int col) {
+        int index = checkedIndex(row, col);
+        if (cells.isRevealed(index)) {
+            return false;
+        }
+        boolean flagged = !cells.isFlagged(index);
+        cells.setFlagged(index, flagged);
+        flagCount += flagged ? 1 : -1;
+        return flagged;
+    }
+
     /**
      * Displays the board.
+     * For repeated drawing, a {@link BoardRenderer} streams the board without rebuilding it.
      * @param revealMines if true, shows mines even if not revealed (used at game over)
      */
     public String displayBoard(boolean revealMines) {
-        StringBuilder sb = new StringBuilder();
-        // Print header row with column numbers.
-        sb.append("  ");
-        for (int col = 0; col < size; col++) {
-            sb.append(" ").append(col + 1);
-        }
-        sb.append("\n");
-        // Print rows with letter labels.
-        for (int row = 0; row < size; row++) {
-            char rowLabel = (char) ('A' + row);
-            sb.append(rowLabel).append(" ");
-            for (int col = 0; col < size; col++) {
-                Cell cell = grid[row][col];
-                if (cell.isRevealed()) {
-                    if (cell.isMine()) {
-                        sb.append(" *");
-                    } else {
-                        sb.append(" ").append(cell.getAdjacentMines());
-                    }
-                } else {
-                    if (revealMines && cell.isMine()) {
-                        sb.append(" *");
-                    } else {
-                        sb.append(" _");
-                    }
-                }
-            }
-            sb.append("\n");
+        String display = new BoardRenderer(this).renderToString(revealMines);
+        if (BoardMetrics.ENABLED) {
+            BoardMetrics.recordDisplay(display.length());
         }
-        return sb.toString();
+        return display;
+    }
+
+    /**
+     * Returns the packed bits of the cell at the given index, see {@link PackedGrid}.
+     */
+    int cellBits(int index) {
+        return cells.bits(index);
     }
 
     private boolean isValidCell(int row, int col) {
         return row >= 0 && row < size && col >= 0 && col < size;
     }
 
+    private int checkedIndex(int row, int col) {
+        if (!isValidCell(row, col)) {
+            throw new IllegalArgumentException("Invalid cell coordinates.");
+        }
+        return cells.index(row, col);
+    }
+
     // The following methods are provided to support testing.
 
     /**
@@ -196,21 +740,78 @@ public class Board {
         if (!isValidCell(row, col)) {
             throw new IllegalArgumentException("Invalid cell coordinates.");
         }
-        grid[row][col].setMine(isMine);
+        updateMine(cells.index(row, col), isMine);
+    }
+
+    /**
+     * Sets or clears the mine at the given index, updating the counts of its neighbours
+     * and the game counters.
+     */
+    private void updateMine(int index, boolean isMine) {
+        if (cells.isMine(index) == isMine) {
+            return;
+        }
+        cells.setMine(index, isMine);
+        openings = null;
+        int delta = isMine ? 1 : -1;
+        addToNeighbours(index, delta);
+        totalMines += delta;
+        if (cells.isRevealed(index)) {
+            revealedMines += delta;
+        } else {
+            safeCellsRemaining -= delta;
+        }
     }
 
     /**
-     * Recalculates adjacent mine counts. Useful when the board is modified during tests.
+     * Recalculates all adjacent mine counts from scratch.
+     * {@link #setMineAt} already keeps the counts up to date, so this is only a consistency reset.
      */
     public void recalculateAdjacentMines() {
-        for (int row = 0; row < size; row++) {
-            for (int col = 0; col < size; col++) {
-                if (!grid[row][col].isMine()) {
-                    grid[row][col].setAdjacentMines(countAdjacentMines(row, col));
-                } else {
-                    grid[row][col].setAdjacentMines(0);
-                }
+        calculateAdjacentMines();
+        openings = null;
+    }
+
+    /**
+     * {@link Cell} that reads and writes a single cell of the packed grid.
+     */
+    private final class CellView extends Cell {
+        private final int index;
+
+        CellView(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public boolean isMine() {
+            return cells.isMine(index);
+        }
+
+        @Override
+        public void setMine(boolean mine) {
+            updateMine(index, mine);
+        }
+
+        @Override
+        public boolean isRevealed() {
+            return cells.isRevealed(index);
+        }
+
+        @Override
+        public void reveal() {
+            if (!cells.isRevealed(index)) {
+                markRevealed(index);
             }
         }
+
+        @Override
+        public int getAdjacentMines() {
+            return cells.adjacentMines(index);
+        }
+
+        @Override
+        public void setAdjacentMines(int adjacentMines) {
+            cells.setAdjacentMines(index, adjacentMines);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package com.minesweeper;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for the construction of a board, emitted by {@link BoardMetrics}.
+ */
+@Name("minesweeper.BoardConstruction")
+@Label("Board Construction")
+@Category("Minesweeper")
+@Description("Mine placement and adjacency counting of a new board")
+final class BoardConstructionEvent extends jdk.jfr.Event {
+    @Label("Board Size")
+    int boardSize;
+
+    @Label("Mines")
+    int mines;
+
+    @Label("Construction Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long constructionNanos;
+}
@@ -0,0 +1,126 @@
+package com.minesweeper;
+
+/**
+ * The cells revealed by one move, or by several consecutive moves coalesced for a spectator that
+ * fell behind, as published by {@link BoardEventPublisher}. Moves are numbered from 1.
+ * Events are immutable views of the publisher's reveal log and can be kept after delivery.
+ */
+public final class BoardEvent {
+    /**
+     * What the moves did: {@link #WON} and {@link #LOST} when they ended the game, otherwise
+     * {@link #FLOOD_FILL} when they opened more than one cell and {@link #REVEAL} for a single cell.
+     */
+    public enum Type { REVEAL, FLOOD_FILL, WON, LOST }
+
+    private final int boardSize;
+    private final int[] indices;
+    private final byte[] counts;
+    private final int from;
+    private final int to;
+    private final long firstMove;
+    private final long lastMove;
+    private final GameState state;
+
+    BoardEvent(int boardSize, int[] indices, byte[] counts, int from, int to,
+               long firstMove, long lastMove, GameState state) {
+        this.boardSize = boardSize;
+        this.indices = indices;
+        this.counts = counts;
+        this.from = from;
+        this.to = to;
+        this.firstMove = firstMove;
+        this.lastMove = lastMove;
+        this.state = state;
+    }
+
+    /**
+     * Returns an event covering every move from {@code firstMove}, whose cells start at
+     * {@code logStart} in the reveal log, through the last move of this event.
+     */
+    BoardEvent since(long firstMove, int logStart) {
+        return new BoardEvent(boardSize, indices, counts, logStart, to, firstMove, lastMove, state);
+    }
+
+    public Type getType() {
+        switch (state) {
+            case WON:
+                return Type.WON;
+            case LOST:
+                return Type.LOST;
+            default:
+                return to - from > 1 ? Type.FLOOD_FILL : Type.REVEAL;
+        }
+    }
+
+    public long getFirstMove() {
+        return firstMove;
+    }
+
+    public long getLastMove() {
+        return lastMove;
+    }
+
+    /**
+     * Returns true if this event merges more than one move.
+     */
+    public boolean isCoalesced() {
+        return lastMove > firstMove;
+    }
+
+    /**
+     * Returns the number of cells revealed.
+     */
+    public int getChangedCount() {
+        return to - from;
+    }
+
+    public int getIndex(int i) {
+        checkPosition(i);
+        return indices[from + i];
+    }
+
+    public int getRow(int i) {
+        return getIndex(i) / boardSize;
+    }
+
+    public int getColumn(int i) {
+        return getIndex(i) % boardSize;
+    }
+
+    /**
+     * Returns the adjacent mine count of the i-th revealed cell (0 for a mine).
+     */
+    public int getAdjacentMines(int i) {
+        checkPosition(i);
+        return counts[from + i];
+    }
+
+    /**
+     * Returns the game state after the last move of this event.
+     */
+    public GameState getState() {
+        return state;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    /**
+     * Returns the position just past this event in the reveal log.
+     */
+    int logEnd() {
+        return to;
+    }
+
+    private void checkPosition(int i) {
+        if (i < 0 || i >= to - from) {
+            throw new IndexOutOfBoundsException("Change " + i + " of " + (to - from));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getType() + " moves " + firstMove + "-" + lastMove + ": " + getChangedCount() + " cells";
+    }
+}
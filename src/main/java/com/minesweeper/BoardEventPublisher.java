@@ -0,0 +1,276 @@
+package com.minesweeper;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams the moves played on a {@link Board} to any number of spectators as {@link BoardEvent}s,
+ * one per move that revealed cells, completing after the move that wins or loses the game.
+ * <p>
+ * The game thread appends each move's cells to a reveal log, which only grows and holds each cell
+ * at most once, puts the event (a view of the log) in a ring of the last {@code capacity} moves
+ * and schedules a single dispatcher task on the executor. It never waits for a subscriber and its
+ * cost does not depend on how many there are. The dispatcher delivers each subscriber's backlog
+ * within its demand: one event per move while the subscriber keeps up, or all pending moves
+ * coalesced into one event when it has fallen behind by more than its demand or than the ring
+ * holds. Subscribers that join mid-game catch up the same way. A subscriber that blocks in
+ * {@code onNext} delays the other spectators of the board, but not the game.
+ * <p>
+ * Moves are published from the thread playing the board. Rewinding the board, as
+ * {@link GameHistory#undo()} does, is not supported while a publisher is attached.
+ */
+public final class BoardEventPublisher implements Flow.Publisher<BoardEvent>, AutoCloseable {
+    private static final ExecutorService DISPATCHERS = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "minesweeper-spectators");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final int boardSize;
+    private final Executor executor;
+    private final BoardEvent[] ring;
+    private final List<Spectator> spectators = new CopyOnWriteArrayList<>();
+    private final AtomicInteger pendingDispatches = new AtomicInteger();
+    private final Runnable drainTask = this::drain;
+    private int[] logIndices;
+    private byte[] logCounts;
+    private int logLength;
+    private volatile long published;
+    private volatile boolean closed;
+
+    /**
+     * Attaches a publisher to {@code board} that keeps the last {@link Flow#defaultBufferSize()}
+     * moves and dispatches on a shared pool of daemon threads.
+     */
+    public BoardEventPublisher(Board board) {
+        this(board, DISPATCHERS, Flow.defaultBufferSize());
+    }
+
+    /**
+     * Attaches a publisher to {@code board} that keeps the last {@code capacity} moves for
+     * subscribers to receive one by one, and delivers events on {@code executor}.
+     * @throws IllegalStateException if the board already has a publisher.
+     */
+    public BoardEventPublisher(Board board, Executor executor, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.boardSize = board.getSize();
+        this.executor = Objects.requireNonNull(executor);
+        this.ring = new BoardEvent[capacity];
+        int cells = boardSize * boardSize;
+        this.logIndices = new int[Math.min(cells, 1024)];
+        this.logCounts = new byte[logIndices.length];
+        board.attachEvents(this);
+    }
+
+    /**
+     * Subscribes a spectator. It first receives the moves played so far, coalesced if there are
+     * more than its demand, then every following move.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super BoardEvent> subscriber) {
+        Spectator spectator = new Spectator(Objects.requireNonNull(subscriber));
+        subscriber.onSubscribe(spectator);
+        if (!spectator.cancelled) {
+            spectators.add(spectator);
+            dispatch();
+        }
+    }
+
+    /**
+     * Returns the number of subscribers that have not cancelled or completed.
+     */
+    public int getSubscriberCount() {
+        return spectators.size();
+    }
+
+    /**
+     * Returns the number of moves published so far.
+     */
+    public long getPublishedMoves() {
+        return published;
+    }
+
+    /**
+     * Stops publishing. Subscribers receive the moves already published and then complete.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        dispatch();
+    }
+
+    /**
+     * Publishes the cells revealed by one move and the game state after it.
+     * Called by the board on the game thread; a move that revealed nothing is not published.
+     */
+    void publish(RevealResult changes) {
+        int changed = changes.getChangedCount();
+        if (changed == 0 || closed) {
+            return;
+        }
+        int from = logLength;
+        if (from + changed > logIndices.length) {
+            grow(from + changed);
+        }
+        System.arraycopy(changes.indices(), 0, logIndices, from, changed);
+        for (int i = 0; i < changed; i++) {
+            logCounts[from + i] = (byte) changes.getAdjacentMines(i);
+        }
+        logLength = from + changed;
+        long move = published + 1;
+        ring[(int) (move % ring.length)] = new BoardEvent(boardSize, logIndices, logCounts, from, logLength,
+                move, move, changes.getState());
+        published = move;
+        dispatch();
+    }
+
+    /**
+     * Replaces the log arrays with larger copies. Events already published keep the old arrays,
+     * whose entries stay valid.
+     */
+    private void grow(int needed) {
+        int length = (int) Math.min(Math.max(needed, logIndices.length * 2L), (long) boardSize * boardSize);
+        int[] indices = new int[length];
+        byte[] counts = new byte[length];
+        System.arraycopy(logIndices, 0, indices, 0, logLength);
+        System.arraycopy(logCounts, 0, counts, 0, logLength);
+        logIndices = indices;
+        logCounts = counts;
+    }
+
+    /**
+     * Schedules the dispatcher unless it is already scheduled or running, in which case it makes
+     * another pass before stopping.
+     */
+    private void dispatch() {
+        if (pendingDispatches.getAndIncrement() == 0) {
+            try {
+                executor.execute(drainTask);
+            } catch (RejectedExecutionException e) {
+                pendingDispatches.set(0);
+            }
+        }
+    }
+
+    private void drain() {
+        int missed = 1;
+        do {
+            for (Spectator spectator : spectators) {
+                spectator.drain();
+            }
+            missed = pendingDispatches.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Returns the event of {@code move}, or null if the ring no longer holds it.
+     */
+    private BoardEvent eventOf(long move) {
+        BoardEvent event = ring[(int) (move % ring.length)];
+        return event != null && event.getLastMove() == move ? event : null;
+    }
+
+    /**
+     * A subscription. Its position is only read and written by the dispatcher.
+     */
+    private final class Spectator implements Flow.Subscription {
+        private final Flow.Subscriber<? super BoardEvent> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private volatile boolean cancelled;
+        private volatile IllegalArgumentException badRequest;
+        private long nextMove = 1;
+        private int logPosition;
+
+        Spectator(Flow.Subscriber<? super BoardEvent> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                badRequest = new IllegalArgumentException("Requested " + n + " events; must be positive.");
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            dispatch();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            spectators.remove(this);
+        }
+
+        void drain() {
+            if (cancelled) {
+                return;
+            }
+            if (badRequest != null) {
+                cancel();
+                subscriber.onError(badRequest);
+                return;
+            }
+            long latest;
+            while ((latest = published) >= nextMove && demand.get() > 0) {
+                BoardEvent event = next(latest);
+                if (event == null) {
+                    continue; // overtaken by the game thread; read the latest move again
+                }
+                nextMove = event.getLastMove() + 1;
+                logPosition = event.logEnd();
+                if (demand.get() != Long.MAX_VALUE) {
+                    demand.decrementAndGet();
+                }
+                try {
+                    subscriber.onNext(event);
+                } catch (Throwable t) {
+                    cancel();
+                    subscriber.onError(t);
+                    return;
+                }
+                if (cancelled) {
+                    return;
+                }
+                if (event.getState() != GameState.IN_PROGRESS) {
+                    complete();
+                    return;
+                }
+            }
+            if (closed && nextMove > published) {
+                complete();
+            }
+        }
+
+        /**
+         * Returns the next event to deliver: the next move on its own if the whole backlog fits in
+         * the demand and the ring still holds it, otherwise the backlog up to {@code latest}
+         * coalesced. Returns null if {@code latest} has been overwritten meanwhile.
+         */
+        private BoardEvent next(long latest) {
+            long backlog = latest - nextMove + 1;
+            if (backlog <= demand.get()) {
+                BoardEvent event = eventOf(nextMove);
+                if (event != null) {
+                    return event;
+                }
+            }
+            BoardEvent last = eventOf(latest);
+            return last == null ? null : last.since(nextMove, logPosition);
+        }
+
+        private void complete() {
+            cancel();
+            subscriber.onComplete();
+        }
+    }
+}
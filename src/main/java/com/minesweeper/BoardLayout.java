@@ -0,0 +1,107 @@
+package com.minesweeper;
+
+/**
+ * An immutable mine layout with its adjacent counts and openings, built once per
+ * (size, mines, seed) and shared by every player of that layout: each {@link PlayerBoard} keeps
+ * only its own reveal and flag bits on top of it. See {@link LayoutCache}.
+ */
+public final class BoardLayout {
+    private final int size;
+    private final int totalMines;
+    private final long seed;
+    private final PackedGrid cells;
+    private final OpeningIndex openings;
+
+    private BoardLayout(int size, int totalMines, long seed, PackedGrid cells) {
+        this.size = size;
+        this.totalMines = totalMines;
+        this.seed = seed;
+        this.cells = cells;
+        this.openings = OpeningIndex.build(cells);
+    }
+
+    /**
+     * Builds the layout of {@code new Board(size, totalMines, seed)}.
+     * @throws IllegalArgumentException if the configuration is invalid.
+     */
+    public static BoardLayout of(int size, int totalMines, long seed) {
+        // The board is discarded, so its grid is never written again.
+        Board board = new Board(size, totalMines, seed);
+        return new BoardLayout(size, totalMines, seed, board.packedGrid());
+    }
+
+    /**
+     * Starts a game of this layout for one player.
+     */
+    public PlayerBoard newPlayer() {
+        return new PlayerBoard(this);
+    }
+
+    /**
+     * Returns a full board with this layout, for games that need a private grid: first-click-safe
+     * mode, hints and snapshots. It skips mine placement, counting and opening labelling.
+     */
+    public Board newBoard() {
+        return Board.fromLayout(this);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getTotalMines() {
+        return totalMines;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean isMine(int row, int col) {
+        return cells.isMine(checkedIndex(row, col));
+    }
+
+    public int getAdjacentMines(int row, int col) {
+        return cells.adjacentMines(checkedIndex(row, col));
+    }
+
+    /**
+     * Returns the number of openings, see {@link Board#getOpeningCount()}.
+     */
+    public int getOpeningCount() {
+        return openings.openingCount();
+    }
+
+    /**
+     * Returns the 3BV difficulty, see {@link Board#get3BV()}.
+     */
+    public int get3BV() {
+        return openings.bbbv();
+    }
+
+    /**
+     * Returns the number of cells, which is also the cache weight of the layout. The layout takes
+     * 6 to 9 bytes per cell, most of them in its opening index; see {@link LayoutCache}.
+     */
+    long cellCount() {
+        return cells.length();
+    }
+
+    /**
+     * Returns the layout's cells; only the mine and count bits are ever set. Must not be written.
+     */
+    PackedGrid cells() {
+        return cells;
+    }
+
+    OpeningIndex openings() {
+        return openings;
+    }
+
+    int checkedIndex(int row, int col) {
+        if (row < 0 || row >= size || col < 0 || col >= size) {
+            throw new IllegalArgumentException("Invalid cell coordinates.");
+        }
+        return row * size + col;
+    }
+}
@@ -0,0 +1,200 @@
+package com.minesweeper;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot-path metrics of {@link Board}: reveal latency, cells revealed per move, construction time
+ * and displayBoard output size. Enabled with the system property {@code minesweeper.metrics=true}
+ * at startup; the flag is a static final, so with metrics off the JIT removes the recording
+ * code entirely.
+ * Threads record into a fixed set of striped histograms, picked by thread id and each guarded by
+ * its own lock, so recording does not allocate, rarely contends, and does not keep memory per
+ * thread however many connection threads come and go. {@link #snapshot()} merges the stripes
+ * under their locks. Reveals and board constructions are also emitted as JFR events
+ * ({@code minesweeper.Reveal}, {@code minesweeper.BoardConstruction}) when metrics are on.
+ */
+public final class BoardMetrics {
+    public static final boolean ENABLED = Boolean.getBoolean("minesweeper.metrics");
+
+    /**
+     * Four stripes per processor, a power of two of at most 64; each holds about 30 KB of histograms.
+     */
+    private static final int STRIPES = Math.min(64,
+            Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1);
+    private static final Recorder[] RECORDERS = new Recorder[STRIPES];
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            RECORDERS[i] = new Recorder();
+        }
+    }
+
+    private BoardMetrics() {
+    }
+
+    /**
+     * Records one reveal that started at {@code startNanos} and revealed {@code cells} cells.
+     */
+    static void recordReveal(int boardSize, int index, int cells, boolean mineHit, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        Recorder recorder = recorder();
+        synchronized (recorder) {
+            recorder.revealNanos.record(elapsed);
+            recorder.revealedCells.record(cells);
+        }
+        RevealEvent event = new RevealEvent();
+        if (event.shouldCommit()) {
+            event.boardSize = boardSize;
+            event.row = index / boardSize;
+            event.column = index % boardSize;
+            event.cellsRevealed = cells;
+            event.mineHit = mineHit;
+            event.revealNanos = elapsed;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records the construction of a board that started at {@code startNanos}.
+     */
+    static void recordConstruction(int boardSize, int mines, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        Recorder recorder = recorder();
+        synchronized (recorder) {
+            recorder.constructionNanos.record(elapsed);
+        }
+        BoardConstructionEvent event = new BoardConstructionEvent();
+        if (event.shouldCommit()) {
+            event.boardSize = boardSize;
+            event.mines = mines;
+            event.constructionNanos = elapsed;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records the length of one displayBoard result.
+     */
+    static void recordDisplay(int chars) {
+        Recorder recorder = recorder();
+        synchronized (recorder) {
+            recorder.displayChars.record(chars);
+        }
+    }
+
+    /**
+     * Merges the histograms of all threads. Each stripe is read under its lock, so every value
+     * is either fully included or not at all; values recorded while the snapshot is taken may
+     * or may not be included.
+     */
+    public static Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot();
+        for (Recorder recorder : RECORDERS) {
+            synchronized (recorder) {
+                snapshot.revealNanos.merge(recorder.revealNanos);
+                snapshot.revealedCells.merge(recorder.revealedCells);
+                snapshot.constructionNanos.merge(recorder.constructionNanos);
+                snapshot.displayChars.merge(recorder.displayChars);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the stripe of the current thread, spreading consecutive thread ids apart.
+     */
+    private static Recorder recorder() {
+        long id = Thread.currentThread().getId();
+        return RECORDERS[(int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & (STRIPES - 1)];
+    }
+
+    /**
+     * Prints a snapshot to {@code out} every {@code periodSeconds} seconds from a daemon thread,
+     * as text or as one JSON object per line. Returns the scheduler; shut it down to stop.
+     */
+    public static ScheduledExecutorService startPeriodicDump(PrintStream out, long periodSeconds, boolean json) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "minesweeper-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            Snapshot snapshot = snapshot();
+            out.println(json ? snapshot.toJson() : snapshot.toText());
+        }, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+        return scheduler;
+    }
+
+    /**
+     * Merged metrics of all threads.
+     */
+    public static final class Snapshot {
+        private final LatencyHistogram revealNanos = new LatencyHistogram();
+        private final LatencyHistogram revealedCells = new LatencyHistogram();
+        private final LatencyHistogram constructionNanos = new LatencyHistogram();
+        private final LatencyHistogram displayChars = new LatencyHistogram();
+
+        /**
+         * Returns the latency of reveals, in nanoseconds.
+         */
+        public LatencyHistogram getRevealNanos() {
+            return revealNanos;
+        }
+
+        /**
+         * Returns the number of cells opened per reveal, including flood fills.
+         */
+        public LatencyHistogram getRevealedCells() {
+            return revealedCells;
+        }
+
+        /**
+         * Returns the time taken to construct boards, in nanoseconds.
+         */
+        public LatencyHistogram getConstructionNanos() {
+            return constructionNanos;
+        }
+
+        /**
+         * Returns the length of displayBoard results, in characters.
+         */
+        public LatencyHistogram getDisplayChars() {
+            return displayChars;
+        }
+
+        public String toText() {
+            return "reveals: " + revealNanos.getCount() + ", latency " + revealNanos.report() + System.lineSeparator()
+                    + "cells per reveal: " + revealedCells.report(1, "cells") + System.lineSeparator()
+                    + "boards: " + constructionNanos.getCount() + ", construction "
+                    + constructionNanos.report(1e6, "ms") + System.lineSeparator()
+                    + "displays: " + displayChars.getCount() + ", output " + displayChars.report(1, "chars");
+        }
+
+        public String toJson() {
+            return "{\"revealNanos\":" + json(revealNanos)
+                    + ",\"revealedCells\":" + json(revealedCells)
+                    + ",\"constructionNanos\":" + json(constructionNanos)
+                    + ",\"displayChars\":" + json(displayChars) + "}";
+        }
+
+        private static String json(LatencyHistogram histogram) {
+            return String.format(Locale.ROOT, "{\"count\":%d,\"p50\":%d,\"p90\":%d,\"p99\":%d,\"max\":%d}",
+                    histogram.getCount(), histogram.percentile(0.5), histogram.percentile(0.9),
+                    histogram.percentile(0.99), histogram.getMax());
+        }
+    }
+
+    /**
+     * One stripe of histograms, read and written under its monitor.
+     */
+    private static final class Recorder {
+        final LatencyHistogram revealNanos = new LatencyHistogram();
+        final LatencyHistogram revealedCells = new LatencyHistogram();
+        final LatencyHistogram constructionNanos = new LatencyHistogram();
+        final LatencyHistogram displayChars = new LatencyHistogram();
+    }
+}
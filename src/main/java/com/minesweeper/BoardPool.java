@@ -0,0 +1,305 @@
+package com.minesweeper;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Pool of ready-made boards keyed by (size, mines), refilled in the background so that a new
+ * game does not wait for mine placement and counting.
+ * Every key holds at most {@code boardsPerKey} boards, and all pooled boards together hold at
+ * most {@code maxPooledCells} cells; when either limit is reached the refill stops until boards
+ * are taken, so the pool cannot grow without bound. A take that finds no board builds one on
+ * the caller's thread (a miss) and schedules a refill.
+ * A key not taken from for longer than the idle timeout is evicted with its boards, checked on
+ * takes at most every tenth of the timeout, so sizes requested once do not stay pooled forever.
+ * Pooled boards have random layouts and have never been played. The pool is thread safe.
+ */
+public class BoardPool implements AutoCloseable {
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final Factory factory;
+    private final int boardsPerKey;
+    private final long maxPooledCells;
+    private final long idleTimeoutNanos;
+    private final LongSupplier clock;
+    private final AtomicLong nextSweep;
+    private final ExecutorService refills;
+    private final ConcurrentHashMap<Long, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicLong pooledCells = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates boards for the pool.
+     */
+    @FunctionalInterface
+    public interface Factory {
+        Board create(int size, int mines);
+    }
+
+    /**
+     * Creates a pool of boards with random layouts.
+     */
+    public BoardPool(int boardsPerKey, long maxPooledCells, int threads) {
+        this(Board::new, boardsPerKey, maxPooledCells, threads);
+    }
+
+    /**
+     * Creates a pool whose keys are evicted after {@link #DEFAULT_IDLE_TIMEOUT_MILLIS} without a take.
+     */
+    public BoardPool(Factory factory, int boardsPerKey, long maxPooledCells, int threads) {
+        this(factory, boardsPerKey, maxPooledCells, threads, DEFAULT_IDLE_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param factory builds the boards, on the pool's threads and on misses
+     * @param boardsPerKey the most boards kept for one (size, mines)
+     * @param maxPooledCells the most cells kept in all pooled boards together
+     * @param threads the number of background threads refilling the pool
+     * @param idleTimeoutMillis how long a (size, mines) may go without a take before it is evicted
+     */
+    public BoardPool(Factory factory, int boardsPerKey, long maxPooledCells, int threads, long idleTimeoutMillis) {
+        this(factory, boardsPerKey, maxPooledCells, threads, idleTimeoutMillis, System::nanoTime);
+    }
+
+    BoardPool(Factory factory, int boardsPerKey, long maxPooledCells, int threads, long idleTimeoutMillis,
+              LongSupplier clock) {
+        if (boardsPerKey <= 0 || maxPooledCells <= 0 || threads <= 0 || idleTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Pool limits, thread count and idle timeout must be positive.");
+        }
+        this.factory = factory;
+        this.boardsPerKey = boardsPerKey;
+        this.maxPooledCells = maxPooledCells;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.clock = clock;
+        this.nextSweep = new AtomicLong(clock.getAsLong() + idleTimeoutNanos / 10);
+        AtomicInteger counter = new AtomicInteger();
+        this.refills = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "minesweeper-board-pool-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns a board with the given size and mine count, from the pool if one is ready.
+     * @throws IllegalArgumentException if the configuration is invalid.
+     */
+    public Board take(int size, int mines) {
+        Slot slot = slot(size, mines);
+        sweep();
+        Board board = slot.boards.poll();
+        if (board != null) {
+            pooledCells.addAndGet(-cells(size));
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            board = factory.create(size, mines);
+        }
+        refill(slot);
+        return board;
+    }
+
+    /**
+     * Starts filling the pool for (size, mines) without taking a board.
+     */
+    public void prewarm(int size, int mines) {
+        refill(slot(size, mines));
+        sweep();
+    }
+
+    /**
+     * Returns the number of boards ready for (size, mines).
+     */
+    public int getPooledCount(int size, int mines) {
+        Slot slot = slots.get(key(size, mines));
+        return slot == null ? 0 : slot.boards.size();
+    }
+
+    /**
+     * Returns the number of (size, mines) keys the pool holds.
+     */
+    public int getKeyCount() {
+        return slots.size();
+    }
+
+    /**
+     * Returns the number of cells held by all pooled boards.
+     */
+    public long getPooledCells() {
+        return pooledCells.get();
+    }
+
+    /**
+     * Returns the number of takes served from the pool.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of takes that had to build their board.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the fraction of takes served from the pool, or 0 before the first take.
+     */
+    public double getHitRate() {
+        long taken = hits.get() + misses.get();
+        return taken == 0 ? 0 : (double) hits.get() / taken;
+    }
+
+    @Override
+    public void close() {
+        refills.shutdownNow();
+        for (Slot slot : slots.values()) {
+            evict(slot);
+        }
+    }
+
+    /**
+     * Evicts every key not used for longer than the idle timeout and returns how many were evicted.
+     */
+    int evictIdle() {
+        long now = clock.getAsLong();
+        int evicted = 0;
+        for (Slot slot : slots.values()) {
+            if (now - slot.lastUsed > idleTimeoutNanos && evict(slot)) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Runs {@link #evictIdle()} if a tenth of the idle timeout has passed since the last sweep.
+     */
+    private void sweep() {
+        long now = clock.getAsLong();
+        long next = nextSweep.get();
+        if (now - next >= 0 && nextSweep.compareAndSet(next, now + idleTimeoutNanos / 10)) {
+            evictIdle();
+        }
+    }
+
+    /**
+     * Removes the slot and releases its boards. Returns false if it was already removed.
+     */
+    private boolean evict(Slot slot) {
+        if (!slots.remove(key(slot.size, slot.mines), slot)) {
+            return false;
+        }
+        slot.evicted = true;
+        drain(slot);
+        return true;
+    }
+
+    /**
+     * Releases the boards of an evicted slot. A refill may still add one after the slot is
+     * evicted, so it drains again; every board is released by whoever polls it.
+     */
+    private void drain(Slot slot) {
+        long cells = cells(slot.size);
+        while (slot.boards.poll() != null) {
+            pooledCells.addAndGet(-cells);
+        }
+    }
+
+    private Slot slot(int size, int mines) {
+        int maxMines = (int) (size * (long) size * 0.35);
+        if (size <= 0 || mines < 0 || mines > maxMines) {
+            throw new IllegalArgumentException("Invalid board configuration: size " + size + ", mines " + mines);
+        }
+        Slot slot = slots.computeIfAbsent(key(size, mines), k -> new Slot(size, mines, boardsPerKey));
+        slot.lastUsed = clock.getAsLong();
+        return slot;
+    }
+
+    /**
+     * Schedules a refill of the slot unless one is already running.
+     */
+    private void refill(Slot slot) {
+        if (slot.evicted || slot.boards.remainingCapacity() == 0 || !slot.refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refills.execute(() -> fill(slot));
+        } catch (RejectedExecutionException e) {
+            slot.refilling.set(false); // closed
+        }
+    }
+
+    private void fill(Slot slot) {
+        long cells = cells(slot.size);
+        boolean full = false;
+        try {
+            while (!Thread.currentThread().isInterrupted() && !slot.evicted) {
+                if (slot.boards.remainingCapacity() == 0) {
+                    full = true;
+                    break;
+                }
+                if (pooledCells.addAndGet(cells) > maxPooledCells) {
+                    pooledCells.addAndGet(-cells);
+                    break; // resumes on the next take
+                }
+                boolean pooled = false;
+                try {
+                    pooled = slot.boards.offer(factory.create(slot.size, slot.mines));
+                } catch (RuntimeException e) {
+                    break; // the factory fails; the next miss reports it to its caller
+                } finally {
+                    if (!pooled) {
+                        pooledCells.addAndGet(-cells); // the board was not built or did not fit
+                    }
+                }
+            }
+            if (slot.evicted) {
+                drain(slot);
+            }
+        } finally {
+            slot.refilling.set(false);
+        }
+        if (full) {
+            // A take between the last check and the flag being cleared could not schedule a refill.
+            refill(slot);
+        }
+    }
+
+    private static long cells(int size) {
+        return (long) size * size;
+    }
+
+    private static long key(int size, int mines) {
+        return (long) size << 32 | mines;
+    }
+
+    /**
+     * The ready boards of one (size, mines).
+     */
+    private static final class Slot {
+        final int size;
+        final int mines;
+        final ArrayBlockingQueue<Board> boards;
+        final AtomicBoolean refilling = new AtomicBoolean();
+        volatile long lastUsed;
+        volatile boolean evicted;
+
+        Slot(int size, int mines, int capacity) {
+            this.size = size;
+            this.mines = mines;
+            this.boards = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.minesweeper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams a text picture of a {@link Board} to an {@link OutputStream}.
+ * Each row is encoded once into a cached byte array and only re-encoded after it is marked dirty,
+ * so drawing a frame is mostly a sequence of bulk writes. Rows are labelled A-Z, AA-ZZ and so on,
+ * and columns are padded to the width of the largest column number.
+ */
+public class BoardRenderer {
+    protected final Board board;
+    protected final int size;
+    protected final int labelWidth;
+    protected final int cellWidth;
+    private final byte[] header;
+    private final byte[][] rows;
+    private final boolean[] dirty;
+    private boolean revealMines;
+
+    public BoardRenderer(Board board) {
+        this.board = board;
+        this.size = board.getSize();
+        this.labelWidth = InputParser.rowLabel(size - 1).length();
+        this.cellWidth = Integer.toString(size).length();
+        this.header = encodeHeader();
+        this.rows = new byte[size][];
+        this.dirty = new boolean[size];
+        markAllDirty();
+    }
+
+    /**
+     * Marks the rows touched by a reveal as needing to be re-encoded.
+     */
+    public void markDirty(RevealResult changes) {
+        for (int i = 0; i < changes.getChangedCount(); i++) {
+            dirty[changes.getRow(i)] = true;
+        }
+    }
+
+    public void markRowDirty(int row) {
+        dirty[row] = true;
+    }
+
+    public void markAllDirty() {
+        for (int row = 0; row < size; row++) {
+            dirty[row] = true;
+        }
+    }
+
+    /**
+     * Writes the whole board, re-encoding only dirty rows, and flushes the stream.
+     * @param revealMines if true, shows mines even if not revealed (used at game over)
+     */
+    public void render(OutputStream out, boolean revealMines) throws IOException {
+        if (revealMines != this.revealMines) {
+            this.revealMines = revealMines;
+            markAllDirty();
+        }
+        out.write(header);
+        for (int row = 0; row < size; row++) {
+            if (dirty[row]) {
+                rows[row] = encodeRow(row);
+                dirty[row] = false;
+            }
+            out.write(rows[row]);
+        }
+        out.flush();
+    }
+
+    /**
+     * Renders the board into a string, as returned by {@link Board#displayBoard(boolean)}.
+     */
+    public String renderToString(boolean revealMines) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream((size + 1) * rowLength());
+        try {
+            render(out, revealMines);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Returns the character shown for the cell at the given index.
+     */
+    protected char glyph(int index, boolean revealMines) {
+        int bits = board.cellBits(index);
+        boolean mine = (bits & PackedGrid.MINE) != 0;
+        if ((bits & PackedGrid.REVEALED) != 0) {
+            return mine ? '*' : (char) ('0' + (bits & PackedGrid.COUNT_MASK));
+        }
+        if (revealMines && mine) {
+            return '*';
+        }
+        return (bits & PackedGrid.FLAGGED) != 0 ? 'F' : '_';
+    }
+
+    /**
+     * Returns the number of bytes in one encoded row, including the newline.
+     */
+    protected int rowLength() {
+        return labelWidth + 1 + size * (cellWidth + 1) + 1;
+    }
+
+    private byte[] encodeHeader() {
+        byte[] line = new byte[rowLength()];
+        int pos = 0;
+        for (int i = 0; i <= labelWidth; i++) {
+            line[pos++] = ' ';
+        }
+        for (int col = 0; col < size; col++) {
+            String number = Integer.toString(col + 1);
+            for (int i = number.length(); i <= cellWidth; i++) {
+                line[pos++] = ' ';
+            }
+            for (int i = 0; i < number.length(); i++) {
+                line[pos++] = (byte) number.charAt(i);
+            }
+        }
+        line[pos] = '\n';
+        return line;
+    }
+
+    private byte[] encodeRow(int row) {
+        byte[] line = rows[row] != null ? rows[row] : new byte[rowLength()];
+        String label = InputParser.rowLabel(row);
+        int pos = 0;
+        for (int i = 0; i < label.length(); i++) {
+            line[pos++] = (byte) label.charAt(i);
+        }
+        while (pos <= labelWidth) {
+            line[pos++] = ' ';
+        }
+        int index = board.cellIndex(row, 0);
+        for (int col = 0; col < size; col++) {
+            for (int i = 0; i < cellWidth; i++) {
+                line[pos++] = ' ';
+            }
+            line[pos++] = (byte) glyph(index + col, revealMines);
+        }
+        line[pos] = '\n';
+        return line;
+    }
+}
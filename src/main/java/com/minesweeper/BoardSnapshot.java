@@ -0,0 +1,166 @@
+package com.minesweeper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.OptionalLong;
+import java.util.zip.CRC32;
+
+/**
+ * Binary snapshots of a {@link Board}, written and read through memory-mapped files.
+ * Layout, little-endian:
+ * <pre>
+ * int   magic "MSWP"
+ * short version (1)
+ * short flags: 1 = seeded, 2 = first-click-safe
+ * int   size
+ * int   mines
+ * long  seed (0 if not seeded)
+ * long[size * wordsPerRow] mine layer, revealed layer, flagged layer (row bitsets, see MineBits)
+ * int   CRC32 of everything before it
+ * </pre>
+ * Adjacent mine counts are not stored; they are recomputed from the mine layer on load.
+ */
+public final class BoardSnapshot {
+    static final int MAGIC = 0x5057534D; // "MSWP" read as a little-endian int
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 24;
+    private static final int FLAG_SEEDED = 1;
+    private static final int FLAG_FIRST_CLICK_SAFE = 2;
+
+    private BoardSnapshot() {
+    }
+
+    /**
+     * Returns the size in bytes of the snapshot of a board of the given size.
+     */
+    public static long snapshotBytes(int size) {
+        long layerWords = (long) size * ((size + 63) >>> 6);
+        return HEADER_BYTES + 3 * layerWords * Long.BYTES + Integer.BYTES;
+    }
+
+    /**
+     * Writes a snapshot of {@code board} to {@code file}. The snapshot is written to a temporary
+     * file next to it first and then moved into place, so an existing snapshot is only replaced
+     * by a complete one.
+     */
+    public static void save(Board board, Path file) throws IOException {
+        if (board.getTopology() != Topology.SQUARE) {
+            throw new IllegalArgumentException("Only square boards can be saved.");
+        }
+        int size = board.getSize();
+        long length = snapshotBytes(size);
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Board is too large for a snapshot: " + size);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            OptionalLong seed = board.getSeed();
+            int flags = (seed.isPresent() ? FLAG_SEEDED : 0) | (board.isFirstClickSafe() ? FLAG_FIRST_CLICK_SAFE : 0);
+            buffer.putInt(MAGIC)
+                    .putShort(VERSION)
+                    .putShort((short) flags)
+                    .putInt(size)
+                    .putInt(board.getTotalMines())
+                    .putLong(seed.orElse(0));
+            MineBits mines = new MineBits(size);
+            MineBits revealed = new MineBits(size);
+            MineBits flagged = new MineBits(size);
+            board.captureLayers(mines, revealed, flagged);
+            buffer.asLongBuffer().put(mines.words()).put(revealed.words()).put(flagged.words());
+            int body = (int) length - Integer.BYTES;
+            buffer.putInt(body, checksum(buffer, body));
+            buffer.force();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a board saved with {@link #save(Board, Path)}.
+     * @throws IOException if the file cannot be read or is not a valid, intact snapshot.
+     */
+    public static Board load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES + Integer.BYTES || length > Integer.MAX_VALUE) {
+                throw new IOException("Not a board snapshot: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a board snapshot: " + file);
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + file);
+            }
+            int flags = buffer.getShort();
+            int size = buffer.getInt();
+            int mines = buffer.getInt();
+            long seed = buffer.getLong();
+            if (size <= 0 || snapshotBytes(size) != length) {
+                throw new IOException("Snapshot is truncated or corrupted: " + file);
+            }
+            int body = (int) length - Integer.BYTES;
+            if (checksum(buffer, body) != buffer.getInt(body)) {
+                throw new IOException("Snapshot checksum mismatch: " + file);
+            }
+            MineBits mineLayer = new MineBits(size);
+            MineBits revealed = new MineBits(size);
+            MineBits flagged = new MineBits(size);
+            LongBuffer layers = buffer.position(HEADER_BYTES).asLongBuffer();
+            layers.get(mineLayer.words()).get(revealed.words()).get(flagged.words());
+            if (hasPaddingBits(mineLayer) || hasPaddingBits(revealed) || hasPaddingBits(flagged)) {
+                throw new IOException("Snapshot is truncated or corrupted: " + file);
+            }
+            if (bitCount(mineLayer) != mines) {
+                throw new IOException("Snapshot mine count does not match its mine layer: " + file);
+            }
+            OptionalLong boardSeed = (flags & FLAG_SEEDED) != 0 ? OptionalLong.of(seed) : OptionalLong.empty();
+            return Board.restore(mineLayer, mines, revealed, flagged, boardSeed,
+                    (flags & FLAG_FIRST_CLICK_SAFE) != 0);
+        }
+    }
+
+    private static int checksum(ByteBuffer buffer, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(0).limit(length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Returns true if the layer sets a bit past the last column in the final word of a row.
+     */
+    private static boolean hasPaddingBits(MineBits layer) {
+        int size = layer.size();
+        if ((size & 63) == 0) {
+            return false;
+        }
+        long padding = -1L << size;
+        long[] words = layer.words();
+        for (int w = layer.wordsPerRow() - 1; w < words.length; w += layer.wordsPerRow()) {
+            if ((words[w] & padding) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int bitCount(MineBits layer) {
+        int count = 0;
+        for (long word : layer.words()) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
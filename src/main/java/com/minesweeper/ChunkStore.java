@@ -0,0 +1,128 @@
+package com.minesweeper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * On-disk store for the player state of evicted {@link EndlessBoard} chunks: the revealed and
+ * flagged layers only, as one row bitset word per chunk row, since mines and counts can be
+ * regenerated from the world seed. Each chunk has a fixed slot in the file, reused when it is
+ * evicted again. The slot index is kept in memory as an open-addressing table of primitive keys
+ * and slots, about 24 bytes per chunk ever saved against its 1 KB record on disk; it is not
+ * shrunk, so it grows with the number of distinct chunks played.
+ */
+final class ChunkStore implements AutoCloseable {
+    private static final int RECORD_BYTES = 2 * EndlessBoard.CHUNK * Long.BYTES;
+
+    private final FileChannel channel;
+    private long[] keys = new long[64];
+    /** Slot of the key at the same position plus one; 0 marks an empty position. */
+    private int[] slots = new int[64];
+    private int size;
+    private final ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Creates the store in {@code file}, replacing any existing file.
+     */
+    ChunkStore(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Saves the layers of chunk {@code key}, replacing what was saved for it before.
+     */
+    void write(long key, long[] revealed, long[] flagged) {
+        int entry = find(key);
+        int slot = slots[entry] - 1;
+        if (slot < 0) {
+            slot = size++;
+            keys[entry] = key;
+            slots[entry] = size;
+            if (size * 2 > keys.length) {
+                grow();
+            }
+        }
+        buffer.clear();
+        buffer.asLongBuffer().put(revealed).put(flagged);
+        try {
+            long position = (long) slot * RECORD_BYTES;
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, position + buffer.position());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the layers of chunk {@code key} into the given arrays. Returns false, leaving them
+     * unchanged, if the chunk was never saved.
+     */
+    boolean read(long key, long[] revealed, long[] flagged) {
+        int slot = slots[find(key)] - 1;
+        if (slot < 0) {
+            return false;
+        }
+        buffer.clear();
+        try {
+            long position = (long) slot * RECORD_BYTES;
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("Chunk store is truncated.");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.flip();
+        buffer.asLongBuffer().get(revealed).get(flagged);
+        return true;
+    }
+
+    /**
+     * Returns the number of chunks saved.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the position of {@code key} in the table, or the empty position where it belongs.
+     */
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int position = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (slots[position] != 0 && keys[position] != key) {
+            position = (position + 1) & mask;
+        }
+        return position;
+    }
+
+    /**
+     * Doubles the table, keeping it at most half full.
+     */
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new long[oldKeys.length * 2];
+        slots = new int[oldSlots.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldSlots[i] != 0) {
+                int position = find(oldKeys[i]);
+                keys[position] = oldKeys[i];
+                slots[position] = oldSlots[i];
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
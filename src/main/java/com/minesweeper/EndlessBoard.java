@@ -0,0 +1,392 @@
+package com.minesweeper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * An endless board, split into {@link #CHUNK} x {@link #CHUNK} chunks that are generated the first
+ * time they are touched. The mines of a chunk depend only on the world seed and the chunk
+ * coordinates, so a chunk's counts can be computed from its neighbours' layouts without
+ * generating them, and untouched chunks are never stored. Flood fills cross chunk boundaries,
+ * generating chunks as they go.
+ * At most {@code maxLoadedChunks} chunks are kept in memory, evicted least recently used after
+ * every move; the revealed and flagged layers of an evicted chunk that has been played are saved to
+ * a {@link ChunkStore} file and read back when the chunk is touched again.
+ * There is no win: the game goes on until a mine is revealed. The mine density must be at least
+ * {@link #MIN_DENSITY}, below which openings may be unbounded. Chunk coordinates are 32-bit, so
+ * rows and columns are limited to &plusmn;{@link #MAX_COORDINATE}, just under 2<sup>37</sup>;
+ * other coordinates are rejected and flood fills stop at the limit. An endless board is not
+ * thread safe.
+ */
+public class EndlessBoard implements AutoCloseable {
+    static final int CHUNK_SHIFT = 6;
+    static final int CHUNK = 1 << CHUNK_SHIFT;
+    static final int CHUNK_CELLS = CHUNK * CHUNK;
+    /**
+     * Zero cells appear with probability (1 - density)^9; at 0.15 that is 0.23, well below the
+     * 0.41 at which they percolate into infinite openings on the 8-connected grid.
+     */
+    static final double MIN_DENSITY = 0.15;
+    /**
+     * The largest row or column magnitude. Its chunk and that chunk's neighbours, whose layouts
+     * give the counts, keep 32-bit chunk coordinates, so chunk keys never alias.
+     */
+    public static final long MAX_COORDINATE = (((long) Integer.MAX_VALUE - 1) << CHUNK_SHIFT) - 1;
+
+    private final long seed;
+    private final int minesPerChunk;
+    private final int maxLoadedChunks;
+    private final ChunkStore store;
+    private final LinkedHashMap<Long, Chunk> loaded = new LinkedHashMap<>(16, 0.75f, true);
+    private long lastKey;
+    private Chunk lastChunk;
+    private long[] rows = new long[64];
+    private long[] cols = new long[64];
+    private long revealedCount;
+    private long flagCount;
+    private boolean mineHit;
+
+    /**
+     * @param storeFile where evicted chunks are saved; created, or replaced if it exists
+     * @param density the fraction of each chunk's cells that are mines
+     * @param maxLoadedChunks the most chunks kept in memory between moves
+     */
+    public EndlessBoard(long seed, double density, int maxLoadedChunks, Path storeFile) throws IOException {
+        if (density < MIN_DENSITY || density > 0.35) {
+            throw new IllegalArgumentException("Mine density must be between " + MIN_DENSITY + " and 0.35.");
+        }
+        if (maxLoadedChunks <= 0) {
+            throw new IllegalArgumentException("Chunk limit must be positive.");
+        }
+        this.seed = seed;
+        this.minesPerChunk = (int) Math.round(density * CHUNK_CELLS);
+        this.maxLoadedChunks = maxLoadedChunks;
+        this.store = new ChunkStore(storeFile);
+    }
+
+    /**
+     * Reveals the cell at (row, col) and, if it has no adjacent mines, its whole opening, across
+     * chunks. Returns the number of cells revealed; 0 if the cell was already revealed or the
+     * game is over.
+     */
+    public long reveal(long row, long col) {
+        checkCoordinates(row, col);
+        if (mineHit) {
+            return 0;
+        }
+        Chunk chunk = chunkAt(row, col);
+        int local = local(row, col);
+        long revealed = 0;
+        if (!chunk.isRevealed(local)) {
+            int bits = markRevealed(chunk, local);
+            revealed = 1;
+            if ((bits & PackedGrid.MINE) != 0) {
+                mineHit = true;
+            } else if ((bits & PackedGrid.COUNT_MASK) == 0) {
+                revealed += floodFill(row, col);
+            }
+        }
+        evict();
+        return revealed;
+    }
+
+    /**
+     * Reveals the opening around the revealed zero cell (row, col). Returns the number of cells
+     * revealed. Chunks are only evicted between moves, so none is dropped while the fill runs.
+     * Cells beyond {@link #MAX_COORDINATE} are never opened.
+     */
+    private long floodFill(long startRow, long startCol) {
+        long revealed = 0;
+        int top = 0;
+        rows[top] = startRow;
+        cols[top++] = startCol;
+        while (top > 0) {
+            top--;
+            long row = rows[top];
+            long col = cols[top];
+            long lastRow = Math.min(row + 1, MAX_COORDINATE);
+            long lastCol = Math.min(col + 1, MAX_COORDINATE);
+            for (long i = Math.max(row - 1, -MAX_COORDINATE); i <= lastRow; i++) {
+                for (long j = Math.max(col - 1, -MAX_COORDINATE); j <= lastCol; j++) {
+                    Chunk chunk = chunkAt(i, j);
+                    int local = local(i, j);
+                    if (chunk.isRevealed(local)) {
+                        continue;
+                    }
+                    // Neighbours of a zero cell are never mines.
+                    int bits = markRevealed(chunk, local);
+                    revealed++;
+                    if ((bits & PackedGrid.COUNT_MASK) == 0) {
+                        if (top == rows.length) {
+                            rows = Arrays.copyOf(rows, top * 2);
+                            cols = Arrays.copyOf(cols, top * 2);
+                        }
+                        rows[top] = i;
+                        cols[top++] = j;
+                    }
+                }
+            }
+        }
+        return revealed;
+    }
+
+    private int markRevealed(Chunk chunk, int local) {
+        int bits = chunk.cells[local];
+        if ((bits & PackedGrid.FLAGGED) != 0) {
+            flagCount--;
+        }
+        chunk.cells[local] = (byte) ((bits | PackedGrid.REVEALED) & ~PackedGrid.FLAGGED);
+        chunk.played = true;
+        revealedCount++;
+        return bits;
+    }
+
+    /**
+     * Toggles the flag on an unrevealed cell. Returns true if the cell is now flagged.
+     */
+    public boolean toggleFlag(long row, long col) {
+        checkCoordinates(row, col);
+        Chunk chunk = chunkAt(row, col);
+        int local = local(row, col);
+        boolean flagged = false;
+        if (!chunk.isRevealed(local)) {
+            chunk.cells[local] ^= PackedGrid.FLAGGED;
+            chunk.played = true;
+            flagged = (chunk.cells[local] & PackedGrid.FLAGGED) != 0;
+            flagCount += flagged ? 1 : -1;
+        }
+        evict();
+        return flagged;
+    }
+
+    public boolean isRevealed(long row, long col) {
+        return (bits(row, col) & PackedGrid.REVEALED) != 0;
+    }
+
+    public boolean isFlagged(long row, long col) {
+        return (bits(row, col) & PackedGrid.FLAGGED) != 0;
+    }
+
+    public boolean isMine(long row, long col) {
+        return (bits(row, col) & PackedGrid.MINE) != 0;
+    }
+
+    public int getAdjacentMines(long row, long col) {
+        return bits(row, col) & PackedGrid.COUNT_MASK;
+    }
+
+    private int bits(long row, long col) {
+        checkCoordinates(row, col);
+        int bits = chunkAt(row, col).cells[local(row, col)];
+        evict();
+        return bits;
+    }
+
+    public GameState getState() {
+        return mineHit ? GameState.LOST : GameState.IN_PROGRESS;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the number of revealed cells, including a detonated mine.
+     */
+    public long getRevealedCount() {
+        return revealedCount;
+    }
+
+    /**
+     * Returns the number of flags placed.
+     */
+    public long getFlagCount() {
+        return flagCount;
+    }
+
+    /**
+     * Returns the number of chunks in memory.
+     */
+    public int getLoadedChunkCount() {
+        return loaded.size();
+    }
+
+    /**
+     * Returns the number of chunks saved to the store file.
+     */
+    public int getStoredChunkCount() {
+        return store.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        loaded.clear();
+        lastChunk = null;
+        store.close();
+    }
+
+    /**
+     * Returns the chunk holding (row, col), generating it or reading it back from the store.
+     */
+    private Chunk chunkAt(long row, long col) {
+        long chunkRow = row >> CHUNK_SHIFT;
+        long chunkCol = col >> CHUNK_SHIFT;
+        long key = key(chunkRow, chunkCol);
+        if (lastChunk != null && key == lastKey) {
+            return lastChunk; // already the most recently used
+        }
+        Chunk chunk = loaded.get(key);
+        if (chunk == null) {
+            chunk = load(chunkRow, chunkCol, key);
+            loaded.put(key, chunk);
+        }
+        lastKey = key;
+        lastChunk = chunk;
+        return chunk;
+    }
+
+    private Chunk load(long chunkRow, long chunkCol, long key) {
+        long[][] layouts = new long[9][];
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                layouts[(dr + 1) * 3 + dc + 1] = mineLayout(chunkRow + dr, chunkCol + dc);
+            }
+        }
+        Chunk chunk = new Chunk(layouts);
+        long[] revealed = new long[CHUNK];
+        long[] flagged = new long[CHUNK];
+        if (store.read(key, revealed, flagged)) {
+            chunk.apply(revealed, flagged);
+        }
+        return chunk;
+    }
+
+    /**
+     * Saves and drops the least recently used chunks until at most {@code maxLoadedChunks} remain.
+     * Chunks that were never played are dropped without saving, since they can be regenerated.
+     */
+    private void evict() {
+        if (loaded.size() > maxLoadedChunks) {
+            lastChunk = null;
+        }
+        for (Iterator<Map.Entry<Long, Chunk>> it = loaded.entrySet().iterator();
+             loaded.size() > maxLoadedChunks && it.hasNext(); ) {
+            Map.Entry<Long, Chunk> eldest = it.next();
+            Chunk chunk = eldest.getValue();
+            if (chunk.played) {
+                long[] revealed = new long[CHUNK];
+                long[] flagged = new long[CHUNK];
+                chunk.capture(revealed, flagged);
+                store.write(eldest.getKey(), revealed, flagged);
+            }
+            it.remove();
+        }
+    }
+
+    /**
+     * Returns the mines of a chunk as one row bitset word per row, from the chunk if it is loaded
+     * and otherwise by placing them from the chunk's seed.
+     */
+    private long[] mineLayout(long chunkRow, long chunkCol) {
+        Chunk chunk = loaded.get(key(chunkRow, chunkCol));
+        if (chunk != null) {
+            return chunk.mines;
+        }
+        long[] mines = new long[CHUNK];
+        SplittableRandom random = new SplittableRandom(Simulator.gameSeed(seed, key(chunkRow, chunkCol)));
+        for (int bound = CHUNK_CELLS - minesPerChunk; bound < CHUNK_CELLS; bound++) {
+            int index = random.nextInt(bound + 1);
+            if ((mines[index >>> CHUNK_SHIFT] & 1L << index) != 0) {
+                index = bound;
+            }
+            mines[index >>> CHUNK_SHIFT] |= 1L << index;
+        }
+        return mines;
+    }
+
+    private static void checkCoordinates(long row, long col) {
+        if (row < -MAX_COORDINATE || row > MAX_COORDINATE
+                || col < -MAX_COORDINATE || col > MAX_COORDINATE) {
+            throw new IllegalArgumentException("Cell (" + row + ", " + col + ") is beyond the board limit of "
+                    + MAX_COORDINATE + ".");
+        }
+    }
+
+    private static long key(long chunkRow, long chunkCol) {
+        return chunkRow << 32 | (chunkCol & 0xFFFFFFFFL);
+    }
+
+    private static int local(long row, long col) {
+        return (int) (row & (CHUNK - 1)) << CHUNK_SHIFT | (int) (col & (CHUNK - 1));
+    }
+
+    /**
+     * One generated chunk: its mine layer and its cells in the {@link PackedGrid} format.
+     */
+    private static final class Chunk {
+        final long[] mines;
+        final byte[] cells = new byte[CHUNK_CELLS];
+        boolean played;
+
+        /**
+         * @param layouts the mine layers of the 3x3 chunks centred on this one, row by row
+         */
+        Chunk(long[][] layouts) {
+            this.mines = layouts[4];
+            // Mines of this chunk and a one-cell border around it, one byte per cell.
+            int width = CHUNK + 2;
+            byte[] padded = new byte[width * width];
+            for (int r = -1; r <= CHUNK; r++) {
+                for (int c = -1; c <= CHUNK; c++) {
+                    int chunkRow = r < 0 ? 0 : r < CHUNK ? 1 : 2;
+                    int chunkCol = c < 0 ? 0 : c < CHUNK ? 1 : 2;
+                    long word = layouts[chunkRow * 3 + chunkCol][r & (CHUNK - 1)];
+                    padded[(r + 1) * width + c + 1] = (byte) (word >>> (c & (CHUNK - 1)) & 1);
+                }
+            }
+            for (int r = 0; r < CHUNK; r++) {
+                for (int c = 0; c < CHUNK; c++) {
+                    int centre = (r + 1) * width + c + 1;
+                    if (padded[centre] != 0) {
+                        cells[r << CHUNK_SHIFT | c] = PackedGrid.MINE;
+                    } else {
+                        cells[r << CHUNK_SHIFT | c] = (byte) (padded[centre - width - 1] + padded[centre - width]
+                                + padded[centre - width + 1] + padded[centre - 1] + padded[centre + 1]
+                                + padded[centre + width - 1] + padded[centre + width] + padded[centre + width + 1]);
+                    }
+                }
+            }
+        }
+
+        boolean isRevealed(int local) {
+            return (cells[local] & PackedGrid.REVEALED) != 0;
+        }
+
+        void capture(long[] revealed, long[] flagged) {
+            for (int local = 0; local < CHUNK_CELLS; local++) {
+                if ((cells[local] & PackedGrid.REVEALED) != 0) {
+                    revealed[local >>> CHUNK_SHIFT] |= 1L << local;
+                } else if ((cells[local] & PackedGrid.FLAGGED) != 0) {
+                    flagged[local >>> CHUNK_SHIFT] |= 1L << local;
+                }
+            }
+        }
+
+        void apply(long[] revealed, long[] flagged) {
+            for (int local = 0; local < CHUNK_CELLS; local++) {
+                long bit = 1L << local;
+                if ((revealed[local >>> CHUNK_SHIFT] & bit) != 0) {
+                    cells[local] |= PackedGrid.REVEALED;
+                } else if ((flagged[local >>> CHUNK_SHIFT] & bit) != 0) {
+                    cells[local] |= PackedGrid.FLAGGED;
+                }
+            }
+            played = true;
+        }
+    }
+}
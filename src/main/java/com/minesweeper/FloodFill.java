@@ -0,0 +1,173 @@
+package com.minesweeper;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Reveal engine for openings: starting from a revealed cell with no adjacent mines,
+ * reveals every connected zero cell together with its numbered border.
+ * Pending cells are kept as packed indices on a reusable int stack, so a fill
+ * allocates nothing once the stack has grown, and interior cells are expanded
+ * through fixed index offsets without bounds checks.
+ * In atomic mode every cell is claimed with {@link PackedGrid#revealAtomic(int)}, so fills
+ * running on several threads over one grid each reveal and count a cell at most once;
+ * every thread needs its own instance. Every claim is then passed to the board, which counts it
+ * or reports the game over, in which case the fill returns that claim and stops.
+ * Boards of other topologies than {@link Topology#SQUARE} pass their {@link NeighbourTable}.
+ */
+final class FloodFill {
+    private static final int HIDDEN_SAFE_MASK = PackedGrid.MINE | PackedGrid.REVEALED;
+
+    private final PackedGrid cells;
+    private final int size;
+    private final boolean atomic;
+    private final BooleanSupplier countClaim;
+    private final NeighbourTable neighbours;
+    private int[] stack = new int[64];
+    private int top;
+    private int revealed;
+    private int flagsCleared;
+    private boolean stopped;
+    private RevealResult changes;
+
+    FloodFill(PackedGrid cells) {
+        this(cells, null);
+    }
+
+    FloodFill(PackedGrid cells, BooleanSupplier countClaim) {
+        this(cells, countClaim, null);
+    }
+
+    /**
+     * @param countClaim for a fill in atomic mode, called after each cell is claimed: counts the
+     *                   cell against the game and returns false if the game is already over;
+     *                   null for a board played by one thread
+     * @param neighbours the neighbours of each cell, or null for the square grid
+     */
+    FloodFill(PackedGrid cells, BooleanSupplier countClaim, NeighbourTable neighbours) {
+        this.cells = cells;
+        this.size = cells.size();
+        this.atomic = countClaim != null;
+        this.countClaim = countClaim;
+        this.neighbours = neighbours;
+    }
+
+    /**
+     * Reveals the opening around {@code start}, which must already be revealed.
+     * @param changes receives every newly revealed cell, or null
+     * @return the number of cells revealed by this call
+     */
+    int fill(int start, RevealResult changes) {
+        this.changes = changes;
+        revealed = 0;
+        flagsCleared = 0;
+        stopped = false;
+        top = 0;
+        push(start);
+        if (neighbours != null) {
+            fillTable();
+            this.changes = null;
+            return revealed;
+        }
+        int last = size - 1;
+        while (top > 0) {
+            int index = stack[--top];
+            int row = index / size;
+            int col = index - row * size;
+            if (row > 0 && row < last && col > 0 && col < last) {
+                visit(index - size - 1);
+                visit(index - size);
+                visit(index - size + 1);
+                visit(index - 1);
+                visit(index + 1);
+                visit(index + size - 1);
+                visit(index + size);
+                visit(index + size + 1);
+            } else {
+                visitEdge(row, col);
+            }
+        }
+        this.changes = null;
+        return revealed;
+    }
+
+    /**
+     * Returns how many flagged cells the last fill revealed.
+     */
+    int flagsCleared() {
+        return flagsCleared;
+    }
+
+    private void fillTable() {
+        int[] borderCells = neighbours.borderCells();
+        while (top > 0) {
+            int index = stack[--top];
+            int row = index / size;
+            int col = index - row * size;
+            if (neighbours.isInterior(row, col)) {
+                for (int offset : neighbours.offsets(row)) {
+                    visit(index + offset);
+                }
+            } else {
+                for (int i = neighbours.borderStart(row, col), end = neighbours.borderEnd(row, col); i < end; i++) {
+                    visit(borderCells[i]);
+                }
+            }
+        }
+    }
+
+    private void visitEdge(int row, int col) {
+        int fromRow = Math.max(row - 1, 0);
+        int toRow = Math.min(row + 1, size - 1);
+        int fromCol = Math.max(col - 1, 0);
+        int toCol = Math.min(col + 1, size - 1);
+        for (int i = fromRow; i <= toRow; i++) {
+            for (int j = fromCol; j <= toCol; j++) {
+                visit(i * size + j);
+            }
+        }
+    }
+
+    private void visit(int index) {
+        int bits = cells.bits(index);
+        if ((bits & HIDDEN_SAFE_MASK) != 0) {
+            return;
+        }
+        if (atomic) {
+            if (stopped) {
+                return;
+            }
+            bits = cells.revealAtomic(index);
+            if (bits < 0) {
+                return; // claimed by another thread
+            }
+            if (!countClaim.getAsBoolean()) {
+                // The game ended while this fill ran: nothing more is revealed.
+                cells.unrevealAtomic(index, bits);
+                stopped = true;
+                top = 0;
+                return;
+            }
+        } else {
+            cells.reveal(index);
+        }
+        if ((bits & PackedGrid.FLAGGED) != 0) {
+            flagsCleared++;
+        }
+        revealed++;
+        if (changes != null) {
+            changes.add(index, bits & PackedGrid.COUNT_MASK);
+        }
+        if ((bits & PackedGrid.COUNT_MASK) == 0) {
+            push(index);
+        }
+    }
+
+    private void push(int index) {
+        if (top == stack.length) {
+            int[] grown = new int[Math.min(stack.length * 2, cells.length())];
+            System.arraycopy(stack, 0, grown, 0, top);
+            stack = grown;
+        }
+        stack[top++] = index;
+    }
+}
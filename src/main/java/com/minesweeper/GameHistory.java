@@ -0,0 +1,278 @@
+package com.minesweeper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A game with undo. Every move is kept in an in-memory log and, if a {@link MoveJournal} is
+ * attached, appended to it; the journal is flushed at every checkpoint and when the game ends.
+ * Undo restores the latest checkpoint at or before the move being taken back and replays the
+ * moves after it, so the board is never copied per move.
+ * <p>
+ * Checkpoints hold the revealed and flagged layers as bitsets and are taken before the first
+ * move, right after the first reveal (which may move a mine in first-click-safe mode, and so
+ * must never be replayed), and then every {@code checkpointInterval} moves. Mines only move on
+ * the first reveal, so all checkpoints after it share one mine layer. Older checkpoints are
+ * thinned out: one taken at a multiple of {@code checkpointInterval * 2^k} moves is kept for
+ * {@value #KEPT_PER_LEVEL} times that spacing, so a game of n moves holds O(log n) checkpoints
+ * and undoing to d moves back replays O(d) moves.
+ */
+public class GameHistory {
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 64;
+    private static final int KEPT_PER_LEVEL = 4;
+
+    private final Board board;
+    private final MoveJournal journal;
+    private final int checkpointInterval;
+    private final RevealResult scratch;
+    private final List<Checkpoint> checkpoints = new ArrayList<>();
+    private final MineBits sharedMinesScratch;
+    private int[] moveCells = new int[64];
+    private byte[] moveActions = new byte[64];
+    private int moveCount;
+    private int firstRevealMove = -1;
+
+    /**
+     * @param board a board no move has been made on
+     * @param journal receives every move, or null
+     */
+    public GameHistory(Board board, MoveJournal journal, int checkpointInterval) {
+        if (board.getRevealedCount() > 0) {
+            throw new IllegalArgumentException("Board has already been played.");
+        }
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive.");
+        }
+        this.board = board;
+        this.journal = journal;
+        this.checkpointInterval = checkpointInterval;
+        this.scratch = new RevealResult(board.getSize());
+        this.sharedMinesScratch = new MineBits(board.getSize());
+        checkpoints.add(new Checkpoint(board, 0, null, true));
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the number of moves made and not undone.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Returns the number of checkpoints held.
+     */
+    int getCheckpointCount() {
+        return checkpoints.size();
+    }
+
+    /**
+     * Reveals the cell at (row, col) and returns the cells that changed.
+     * @throws IllegalStateException if the game is already over.
+     */
+    public RevealResult reveal(int row, int col) {
+        int index = board.cellIndex(row, col);
+        checkInProgress();
+        RevealResult result = board.revealIndex(index, new RevealResult(board.getSize()));
+        record(MoveJournal.REVEAL, index);
+        return result;
+    }
+
+    /**
+     * Toggles the flag of the cell at (row, col). Returns true if the cell is now flagged.
+     * @throws IllegalStateException if the game is already over.
+     */
+    public boolean toggleFlag(int row, int col) {
+        int index = board.cellIndex(row, col);
+        checkInProgress();
+        boolean flagged = board.toggleFlag(row, col);
+        record(MoveJournal.FLAG, index);
+        return flagged;
+    }
+
+    /**
+     * Takes back the latest move. Returns false if there is none.
+     * @throws IllegalStateException if the board has a {@link BoardEventPublisher}.
+     */
+    public boolean undo() {
+        if (moveCount == 0) {
+            return false;
+        }
+        board.checkRewindable();
+        moveCount--;
+        rewindTo(moveCount);
+        append(MoveJournal.UNDO, 0);
+        return true;
+    }
+
+    /**
+     * Applies a journaled move without journaling it again.
+     */
+    void apply(int action, int index) {
+        int size = board.getSize();
+        switch (action) {
+            case MoveJournal.REVEAL:
+                board.revealIndex(index, scratch);
+                break;
+            case MoveJournal.FLAG:
+                board.toggleFlag(index / size, index % size);
+                break;
+            case MoveJournal.UNDO:
+                if (moveCount > 0) {
+                    moveCount--;
+                    rewindTo(moveCount);
+                }
+                return;
+            default:
+                throw new IllegalArgumentException("Unknown move action: " + action);
+        }
+        log(action, index);
+    }
+
+    private void record(int action, int index) {
+        boolean checkpointed = log(action, index);
+        append(action, index);
+        if (checkpointed || board.getState() != GameState.IN_PROGRESS) {
+            flushJournal();
+        }
+    }
+
+    /**
+     * Adds a move to the log and returns true if a checkpoint was taken after it.
+     */
+    private boolean log(int action, int index) {
+        if (moveCount == moveCells.length) {
+            int length = moveCount <= Integer.MAX_VALUE / 2 ? moveCount * 2 : Integer.MAX_VALUE - 8;
+            if (length <= moveCount) {
+                throw new IllegalStateException("Too many moves.");
+            }
+            moveCells = Arrays.copyOf(moveCells, length);
+            moveActions = Arrays.copyOf(moveActions, length);
+        }
+        moveCells[moveCount] = index;
+        moveActions[moveCount] = (byte) action;
+        moveCount++;
+        boolean firstReveal = action == MoveJournal.REVEAL && firstRevealMove < 0;
+        if (firstReveal) {
+            firstRevealMove = moveCount;
+            checkpoints.add(new Checkpoint(board, moveCount, null, true));
+            return true;
+        }
+        if (moveCount % checkpointInterval == 0) {
+            addCheckpoint(moveCount);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Takes a regular checkpoint of the board after {@code moves} moves, sharing the latest
+     * checkpoint's mine layer, and drops the older checkpoints that are no longer kept.
+     */
+    private void addCheckpoint(int moves) {
+        MineBits mines = checkpoints.get(checkpoints.size() - 1).mines;
+        checkpoints.add(new Checkpoint(board, moves, mines, false));
+        for (int i = checkpoints.size() - 2; i > 0; i--) {
+            Checkpoint checkpoint = checkpoints.get(i);
+            if (!checkpoint.pinned && moves - checkpoint.moveCount >= KEPT_PER_LEVEL * spacing(checkpoint.moveCount)) {
+                checkpoints.remove(i);
+            }
+        }
+    }
+
+    /**
+     * Returns the spacing of the checkpoint level of a regular checkpoint taken after {@code moves} moves.
+     */
+    private long spacing(int moves) {
+        return (long) checkpointInterval * Integer.lowestOneBit(moves / checkpointInterval);
+    }
+
+    /**
+     * Restores the board to its state after the first {@code target} moves.
+     */
+    private void rewindTo(int target) {
+        int last = checkpoints.size() - 1;
+        while (checkpoints.get(last).moveCount > target) {
+            checkpoints.remove(last--);
+        }
+        if (target < firstRevealMove) {
+            firstRevealMove = -1;
+        }
+        Checkpoint checkpoint = checkpoints.get(last);
+        board.restoreLayers(checkpoint.mines, checkpoint.revealed, checkpoint.flagged);
+        // The replayed reveals open the same openings again and again, so index them once.
+        board.openingIndex();
+        int size = board.getSize();
+        for (int i = checkpoint.moveCount; i < target; i++) {
+            int index = moveCells[i];
+            if (moveActions[i] == MoveJournal.REVEAL) {
+                board.revealIndex(index, scratch);
+            } else {
+                board.toggleFlag(index / size, index % size);
+            }
+            // Retake the thinned-out checkpoints on the way, so further undos replay little.
+            if ((i + 1) % checkpointInterval == 0) {
+                addCheckpoint(i + 1);
+            }
+        }
+    }
+
+    private void flushJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void append(int action, int index) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.append(action, index);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void checkInProgress() {
+        if (board.getState() != GameState.IN_PROGRESS) {
+            throw new IllegalStateException("Game is over.");
+        }
+    }
+
+    /**
+     * The cell layers of the board after the first {@code moveCount} moves.
+     * Pinned checkpoints, the first and the one after the first reveal, are never thinned out.
+     */
+    private final class Checkpoint {
+        final int moveCount;
+        final boolean pinned;
+        final MineBits mines;
+        final MineBits revealed;
+        final MineBits flagged;
+
+        /**
+         * @param mines the current mine layer to share, or null to capture a new one
+         */
+        Checkpoint(Board board, int moveCount, MineBits mines, boolean pinned) {
+            this.moveCount = moveCount;
+            this.pinned = pinned;
+            int size = board.getSize();
+            this.mines = mines != null ? mines : new MineBits(size);
+            revealed = new MineBits(size);
+            flagged = new MineBits(size);
+            board.captureLayers(mines != null ? sharedMinesScratch : this.mines, revealed, flagged);
+        }
+    }
+}
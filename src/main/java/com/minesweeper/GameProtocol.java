@@ -0,0 +1,138 @@
+package com.minesweeper;
+
+/**
+ * The line protocol of {@link GameServer}, one instance per connection.
+ * Each request line gets exactly one response line. Rows and columns are zero-based.
+ * <pre>
+ * NEW size mines [seed]     -&gt; OK id size mines          start a game and attach to it, up to the size limit
+ * NOGUESS size mines [seed] -&gt; OK id size mines          the same, cleared without guessing from (size/2, size/2)
+ * ATTACH id                 -&gt; OK id size mines          attach to an existing game
+ * R row col                 -&gt; C state n row,col,count... reveal; a mine is reported as row,col,*
+ * F row col                 -&gt; F 1|0                     toggle a flag, 1 if now flagged
+ * H                         -&gt; H row col probability|H NONE
+ * S                         -&gt; S state revealed minesLeft
+ * QUIT                      -&gt; BYE                       end the game and close the connection
+ * (anything invalid)        -&gt; ERR message
+ * </pre>
+ */
+final class GameProtocol {
+    private final SessionManager sessions;
+    private final StringBuilder response = new StringBuilder();
+    private GameSession session;
+    private boolean closed;
+
+    GameProtocol(SessionManager sessions) {
+        this.sessions = sessions;
+    }
+
+    /**
+     * Handles one request line and returns the response line, without the line terminator.
+     */
+    String handle(String line) {
+        response.setLength(0);
+        String[] args = line.trim().split(" +");
+        try {
+            switch (args[0].toUpperCase()) {
+                case "NEW":
+                case "NOGUESS":
+                    expectArgs(args, 3, 4);
+                    Long seed = args.length == 4 ? Long.parseLong(args[3]) : null;
+                    attached(sessions.create(Integer.parseInt(args[1]), Integer.parseInt(args[2]), seed,
+                            args[0].equalsIgnoreCase("NOGUESS")));
+                    break;
+                case "ATTACH":
+                    expectArgs(args, 2, 2);
+                    GameSession found = sessions.get(Long.parseLong(args[1]));
+                    if (found == null) {
+                        return "ERR No such game.";
+                    }
+                    attached(found);
+                    break;
+                case "R":
+                    expectArgs(args, 3, 3);
+                    reveal(Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+                    break;
+                case "F":
+                    expectArgs(args, 3, 3);
+                    boolean flagged = session().toggleFlag(Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+                    response.append(flagged ? "F 1" : "F 0");
+                    break;
+                case "H":
+                    expectArgs(args, 1, 1);
+                    hint();
+                    break;
+                case "S":
+                    expectArgs(args, 1, 1);
+                    Board board = session().getBoard();
+                    response.append("S ").append(session.getState()).append(' ')
+                            .append(board.getRevealedCount()).append(' ').append(board.getMinesLeft());
+                    break;
+                case "QUIT":
+                    if (session != null) {
+                        sessions.remove(session.getId());
+                        session = null;
+                    }
+                    closed = true;
+                    return "BYE";
+                default:
+                    return "ERR Unknown command.";
+            }
+        } catch (NumberFormatException e) {
+            return "ERR Invalid number.";
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return "ERR " + e.getMessage();
+        }
+        return response.toString();
+    }
+
+    /**
+     * Returns true once the client has asked to close the connection.
+     */
+    boolean isClosed() {
+        return closed;
+    }
+
+    private void attached(GameSession attached) {
+        session = attached;
+        Board board = attached.getBoard();
+        response.append("OK ").append(attached.getId()).append(' ')
+                .append(board.getSize()).append(' ').append(board.getTotalMines());
+    }
+
+    private void reveal(int row, int col) {
+        RevealResult result = session().reveal(row, col);
+        response.append("C ").append(result.getState()).append(' ').append(result.getChangedCount());
+        for (int i = 0; i < result.getChangedCount(); i++) {
+            response.append(' ').append(result.getRow(i)).append(',').append(result.getColumn(i)).append(',');
+            if (result.isMineHit()) {
+                response.append('*');
+            } else {
+                response.append(result.getAdjacentMines(i));
+            }
+        }
+    }
+
+    private void hint() {
+        Hint hint = session().hint();
+        if (hint == null) {
+            response.append("H NONE");
+        } else {
+            response.append("H ").append(hint.getRow()).append(' ').append(hint.getColumn()).append(' ')
+                    .append(hint.getMineProbability());
+        }
+    }
+
+    private GameSession session() {
+        if (session == null) {
+            throw new IllegalStateException("No game; send NEW first.");
+        }
+        sessions.touch(session);
+        return session;
+    }
+
+    private static void expectArgs(String[] args, int min, int max) {
+        if (args.length < min || args.length > max) {
+            throw new IllegalArgumentException("Wrong number of arguments.");
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.minesweeper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * TCP server hosting many concurrent games over the {@link GameProtocol} line protocol.
+ * Every connection is served by its own thread: a virtual thread where the runtime has them
+ * (Java 21 and later), a pooled platform thread otherwise. Connections idle for longer than
+ * the session idle timeout are closed; their sessions can be re-attached until evicted.
+ * Seeded games share their mine layouts through a {@link LayoutCache}. Request lines longer than
+ * {@link #MAX_LINE_LENGTH} are discarded unread and answered with an error.
+ * Usage: {@code GameServer [--port N] [--idle-seconds N] [--max-sessions N] [--max-board-size N] [--pool-size N]
+ * [--metrics-seconds N]}; {@code --max-board-size} is the largest board side a game may request,
+ * {@code --pool-size} is the number of boards kept ready per (size, mines), 0 to build every board
+ * on demand, and {@code --metrics-seconds} prints {@link BoardMetrics} as JSON lines and requires
+ * {@code -Dminesweeper.metrics=true}.
+ */
+public class GameServer implements AutoCloseable {
+    /**
+     * The longest request line accepted, in characters.
+     */
+    static final int MAX_LINE_LENGTH = 256;
+    /**
+     * Cells kept in pooled boards at most, about 64 MB of cell bytes.
+     */
+    private static final long POOLED_CELLS = 64L << 20;
+    /**
+     * Cells kept in cached seeded layouts at most, about 70 MB: a layout takes 6 to 9 bytes per
+     * cell, its cell byte plus its {@link OpeningIndex} (see {@link LayoutCache}).
+     */
+    private static final long CACHED_LAYOUT_CELLS = 8L << 20;
+
+    private final SessionManager sessions;
+    private final long idleTimeoutMillis;
+    private final ExecutorService connections = newConnectionExecutor();
+    private ServerSocket serverSocket;
+    private Thread acceptor;
+
+    /**
+     * @param idleTimeoutMillis how long a connection may stay silent before it is closed; socket
+     *                          timeouts above {@link Integer#MAX_VALUE} ms are capped there
+     */
+    public GameServer(SessionManager sessions, long idleTimeoutMillis) {
+        if (idleTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Idle timeout must be positive.");
+        }
+        this.sessions = sessions;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * Binds to the given port (0 picks a free one) and starts accepting connections.
+     */
+    public synchronized void start(int port) throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("Server already started.");
+        }
+        serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(port), 1024);
+        sessions.startEviction();
+        acceptor = new Thread(this::acceptLoop, "minesweeper-acceptor");
+        acceptor.start();
+    }
+
+    /**
+     * Returns the port the server is bound to.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                // Closed by close(), or a failed accept; the loop condition decides.
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        GameProtocol protocol = new GameProtocol(sessions);
+        try (socket;
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             BufferedWriter out = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+            socket.setSoTimeout((int) Math.min(idleTimeoutMillis, Integer.MAX_VALUE));
+            socket.setTcpNoDelay(true);
+            StringBuilder line = new StringBuilder();
+            while (!protocol.isClosed() && readLine(in, line)) {
+                if (line.length() > MAX_LINE_LENGTH) {
+                    out.write("ERR Line too long.");
+                } else {
+                    String request = line.toString();
+                    if (request.isBlank()) {
+                        continue;
+                    }
+                    out.write(protocol.handle(request));
+                }
+                out.write('\n');
+                out.flush();
+            }
+        } catch (SocketTimeoutException e) {
+            // Idle connection; the session stays available until it is evicted.
+        } catch (IOException e) {
+            // Client went away.
+        }
+    }
+
+    /**
+     * Reads one line into {@code line} without its terminator, keeping at most one character past
+     * {@link #MAX_LINE_LENGTH} so that an overlong line is detected without being buffered.
+     * Returns false at the end of the stream.
+     */
+    static boolean readLine(Reader in, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int c;
+        boolean read = false;
+        while ((c = in.read()) != -1 && c != '\n') {
+            read = true;
+            if (line.length() <= MAX_LINE_LENGTH) {
+                line.append((char) c);
+            }
+        }
+        int end = line.length() - 1;
+        if (end >= 0 && line.charAt(end) == '\r') {
+            line.setLength(end);
+        }
+        return read || c == '\n';
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        connections.shutdownNow();
+        sessions.close();
+    }
+
+    /**
+     * Returns a virtual-thread-per-task executor when the runtime provides one,
+     * otherwise a cached pool of daemon platform threads.
+     */
+    static ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, "minesweeper-connection");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 7878;
+        int idleSeconds = 300;
+        int maxSessions = 100_000;
+        int maxBoardSize = SessionManager.DEFAULT_MAX_BOARD_SIZE;
+        int poolSize = 4;
+        int metricsSeconds = 0;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--port":
+                        port = Integer.parseInt(args[++i]);
+                        break;
+                    case "--idle-seconds":
+                        idleSeconds = Integer.parseInt(args[++i]);
+                        break;
+                    case "--max-sessions":
+                        maxSessions = Integer.parseInt(args[++i]);
+                        break;
+                    case "--max-board-size":
+                        maxBoardSize = Integer.parseInt(args[++i]);
+                        break;
+                    case "--pool-size":
+                        poolSize = Integer.parseInt(args[++i]);
+                        break;
+                    case "--metrics-seconds":
+                        metricsSeconds = Integer.parseInt(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid arguments: " + e.getMessage(), e);
+        }
+        if (idleSeconds <= 0) {
+            throw new IllegalArgumentException("Idle seconds must be positive.");
+        }
+
+        BoardPool pool = poolSize > 0 ? new BoardPool(poolSize, POOLED_CELLS, 1) : null;
+        SessionManager sessions = new SessionManager(maxSessions, idleSeconds * 1000L, pool,
+                new LayoutCache(CACHED_LAYOUT_CELLS));
+        sessions.setMaxBoardSize(maxBoardSize);
+        GameServer server = new GameServer(sessions, idleSeconds * 1000L);
+        server.start(port);
+        System.out.println("Minesweeper server listening on port " + server.getPort());
+        if (metricsSeconds > 0) {
+            if (!BoardMetrics.ENABLED) {
+                System.err.println("Metrics are disabled; start the server with -Dminesweeper.metrics=true.");
+            } else {
+                BoardMetrics.startPeriodicDump(System.out, metricsSeconds, true);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.minesweeper;
+
+/**
+ * One game in progress, independent of how moves arrive: the console game and the
+ * {@link GameServer} both drive sessions. Methods are synchronized, so a session may be
+ * shared by several connections.
+ */
+public class GameSession {
+    private final long id;
+    private final Board board;
+    private Solver solver;
+    private GameState state = GameState.IN_PROGRESS;
+    private volatile long lastActive;
+
+    public GameSession(long id, Board board) {
+        this.id = id;
+        this.board = board;
+        this.lastActive = System.nanoTime();
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Reveals the cell at (row, col) and returns the cells that changed.
+     * @throws IllegalStateException if the game is already over.
+     */
+    public synchronized RevealResult reveal(int row, int col) {
+        checkInProgress();
+        RevealResult result = board.reveal(row, col);
+        state = result.getState();
+        if (solver != null) {
+            solver.update(result);
+        }
+        return result;
+    }
+
+    /**
+     * Toggles the flag of the cell at (row, col). Returns true if the cell is now flagged.
+     * @throws IllegalStateException if the game is already over.
+     */
+    public synchronized boolean toggleFlag(int row, int col) {
+        checkInProgress();
+        board.toggleFlag(row, col);
+        return board.isFlagged(row, col);
+    }
+
+    /**
+     * Returns a suggested move, or null if there is none. The solver is attached on the
+     * first request and then kept up to date with every reveal.
+     */
+    public synchronized Hint hint() {
+        if (solver == null) {
+            solver = new Solver(board);
+        }
+        return solver.hint();
+    }
+
+    /**
+     * Returns the state after the last reveal made through this session.
+     */
+    public synchronized GameState getState() {
+        return state;
+    }
+
+    public boolean isOver() {
+        return getState() != GameState.IN_PROGRESS;
+    }
+
+    /**
+     * Returns the {@link System#nanoTime()} of the last {@link #touch()}.
+     */
+    long getLastActive() {
+        return lastActive;
+    }
+
+    /**
+     * Marks the session as used at the given {@link System#nanoTime()}.
+     */
+    void touch(long now) {
+        lastActive = now;
+    }
+
+    private void checkInProgress() {
+        if (state != GameState.IN_PROGRESS) {
+            throw new IllegalStateException("Game is over.");
+        }
+    }
+}
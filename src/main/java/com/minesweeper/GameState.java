@@ -0,0 +1,10 @@
+package com.minesweeper;
+
+/**
+ * Overall state of a Minesweeper game.
+ */
+public enum GameState {
+    IN_PROGRESS,
+    WON,
+    LOST
+}
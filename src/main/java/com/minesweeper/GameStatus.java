@@ -0,0 +1,27 @@
+package com.minesweeper;
+
+/**
+ * Read-only progress counters of a game, answered in constant time.
+ * Front ends can use this view to show progress without scanning the grid.
+ */
+public interface GameStatus {
+
+    GameState getState();
+
+    int getTotalMines();
+
+    /**
+     * Returns the number of revealed cells, including a detonated mine.
+     */
+    int getRevealedCount();
+
+    /**
+     * Returns the number of non-mine cells that still have to be revealed to win.
+     */
+    int getSafeCellsRemaining();
+
+    /**
+     * Returns the number of mines minus the number of flags placed.
+     */
+    int getMinesLeft();
+}
@@ -0,0 +1,44 @@
+package com.minesweeper;
+
+/**
+ * A move suggested by the {@link Solver}: either a cell that is certainly safe,
+ * or the unrevealed cell with the lowest mine probability.
+ */
+public final class Hint {
+    private final int index;
+    private final int row;
+    private final int column;
+    private final boolean certain;
+    private final double mineProbability;
+
+    Hint(int index, int boardSize, boolean certain, double mineProbability) {
+        this.index = index;
+        this.row = index / boardSize;
+        this.column = index % boardSize;
+        this.certain = certain;
+        this.mineProbability = mineProbability;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Returns true if the cell is certainly safe.
+     */
+    public boolean isCertain() {
+        return certain;
+    }
+
+    public double getMineProbability() {
+        return mineProbability;
+    }
+}
@@ -2,35 +2,95 @@ package com.minesweeper;
 
 /**
  * Utility class to parse user input coordinates (e.g. "A1") into row and column indices.
+ * Rows are labelled A-Z, then AA, AB and so on; columns are numbered from 1.
  */
 public class InputParser {
     /**
      * Parses the coordinate string and returns an array: {rowIndex, colIndex}.
-     * @param input coordinate string (e.g. "A1")
+     * @param input coordinate string (e.g. "A1" or "AB12")
      * @param boardSize size of the board (to validate bounds)
      * @return integer array with row and column indices.
      * @throws IllegalArgumentException if the input is invalid.
      */
     public static int[] parseCoordinate(String input, int boardSize) {
+        int index = parseIndex(input, boardSize);
+        return new int[]{index / boardSize, index % boardSize};
+    }
+
+    /**
+     * Parses the coordinate string into the row-major cell index {@code row * boardSize + col}
+     * without allocating. Surrounding whitespace is ignored and row letters may be lower case;
+     * the column is read as {@link Integer#parseInt(String)} would read it.
+     * @throws IllegalArgumentException if the input is invalid.
+     */
+    public static int parseIndex(CharSequence input, int boardSize) {
         if (input == null || input.length() < 2) {
             throw new IllegalArgumentException("Invalid input format.");
         }
-        input = input.trim().toUpperCase();
-        char rowChar = input.charAt(0);
-        int row = rowChar - 'A';
-        if (row < 0 || row >= boardSize) {
+        int start = 0;
+        int end = input.length();
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int pos = start;
+        long row = 0;
+        while (pos < end && Character.isLetter(input.charAt(pos))) {
+            int letter = (input.charAt(pos) | 0x20) - 'a';
+            if (letter < 0 || letter >= 26) {
+                throw new IllegalArgumentException("Row out of bounds.");
+            }
+            row = Math.min(row * 26 + letter + 1, Integer.MAX_VALUE);
+            pos++;
+        }
+        row--;
+        if (pos == start || row < 0 || row >= boardSize) {
             throw new IllegalArgumentException("Row out of bounds.");
         }
-        String colPart = input.substring(1);
-        int col;
-        try {
-            col = Integer.parseInt(colPart) - 1;
-        } catch (NumberFormatException e) {
+        if (pos == end) {
+            throw new IllegalArgumentException("Column must be a number.");
+        }
+        // Same numbers as Integer.parseInt: an optional sign, then any Unicode decimal digits.
+        boolean negative = input.charAt(pos) == '-';
+        if (negative || input.charAt(pos) == '+') {
+            pos++;
+        }
+        if (pos == end) {
             throw new IllegalArgumentException("Column must be a number.");
         }
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long col = 0;
+        for (; pos < end; pos++) {
+            int digit = Character.digit(input.charAt(pos), 10);
+            col = col * 10 + digit;
+            if (digit < 0 || col > limit) {
+                throw new IllegalArgumentException("Column must be a number.");
+            }
+        }
+        col = (negative ? -col : col) - 1;
         if (col < 0 || col >= boardSize) {
             throw new IllegalArgumentException("Column out of bounds.");
         }
-        return new int[]{row, col};
+        return (int) row * boardSize + (int) col;
+    }
+
+    /**
+     * Returns the label of a row index: 0 is "A", 25 is "Z", 26 is "AA".
+     */
+    public static String rowLabel(int row) {
+        if (row < 0) {
+            throw new IllegalArgumentException("Row must not be negative.");
+        }
+        char[] label = new char[7];
+        int pos = label.length;
+        int n = row + 1;
+        while (n > 0) {
+            n--;
+            label[--pos] = (char) ('A' + n % 26);
+            n /= 26;
+        }
+        return new String(label, pos, label.length - pos);
     }
 }
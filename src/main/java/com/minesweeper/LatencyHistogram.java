@@ -0,0 +1,99 @@
+package com.minesweeper;
+
+import java.util.Locale;
+
+/**
+ * Histogram of latencies in nanoseconds with log-linear buckets: 16 buckets per power of two,
+ * so a recorded value is reported to within about 6%. Not thread safe; give each thread its own
+ * instance and {@link #merge(LatencyHistogram)} them when done.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    private final long[] counts = new long[(64 - SUB_BITS) * SUB_BUCKETS];
+    private long total;
+    private long max;
+
+    /**
+     * Records one latency; negative values count as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucket(value)]++;
+        total++;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds the values of {@code other} to this histogram and returns it.
+     */
+    public LatencyHistogram merge(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    public long getCount() {
+        return total;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the smallest bucket value at or below which at least {@code fraction}
+     * of the recorded latencies fall.
+     */
+    public long percentile(double fraction) {
+        long target = Math.max(1, (long) Math.ceil(total * fraction));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Formats the percentiles in microseconds on one line.
+     */
+    public String report() {
+        return report(1e3, "us");
+    }
+
+    /**
+     * Formats the percentiles on one line, dividing values by {@code scale} and appending {@code unit}.
+     */
+    public String report(double scale, String unit) {
+        return String.format(Locale.ROOT, "p50 %.1f %6$s, p90 %.1f %6$s, p99 %.1f %6$s, p99.9 %.1f %6$s, max %.1f %6$s",
+                percentile(0.50) / scale, percentile(0.90) / scale, percentile(0.99) / scale,
+                percentile(0.999) / scale, max / scale, unit);
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return ((shift + 1) << SUB_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Returns the largest value that falls into the given bucket.
+     */
+    static long upperBound(int bucket) {
+        int shift = (bucket >>> SUB_BITS) - 1;
+        int sub = bucket & (SUB_BUCKETS - 1);
+        if (shift < 0) {
+            return sub;
+        }
+        return ((SUB_BUCKETS + sub + 1L) << shift) - 1;
+    }
+}
@@ -0,0 +1,148 @@
+package com.minesweeper;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Least-recently-used cache of seeded {@link BoardLayout}s keyed by (size, mines, seed), for
+ * tournaments and daily challenges where many players start the same layout.
+ * All cached layouts together hold at most {@code maxCachedCells} cells; adding one evicts the
+ * least recently used until it fits. A layout larger than the whole budget is built but not kept.
+ * The budget counts cells, not bytes: a layout holds a byte per cell and an {@link OpeningIndex}
+ * of 4 bytes per cell plus 4 per opening member, which measured 0.8, 0.65 and 0.5 members per
+ * cell at 10%, 15% and 20% mines, so size the budget at about 9 bytes per cell.
+ * Concurrent requests for a layout not cached yet wait for a single build instead of each
+ * building it. The cache is thread safe.
+ */
+public class LayoutCache {
+    private final long maxCachedCells;
+    private final LinkedHashMap<Key, Entry> layouts = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedCells;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param maxCachedCells the most cells kept in all cached layouts together
+     */
+    public LayoutCache(long maxCachedCells) {
+        if (maxCachedCells <= 0) {
+            throw new IllegalArgumentException("Cache limit must be positive.");
+        }
+        this.maxCachedCells = maxCachedCells;
+    }
+
+    /**
+     * Returns the layout of (size, mines, seed), building it on the caller's thread on a miss.
+     * @throws IllegalArgumentException if the configuration is invalid.
+     */
+    public BoardLayout get(int size, int mines, long seed) {
+        int maxMines = (int) (size * (long) size * 0.35);
+        if (size <= 0 || mines < 0 || mines > maxMines) {
+            throw new IllegalArgumentException("Invalid board configuration: size " + size + ", mines " + mines);
+        }
+        Key key = new Key(size, mines, seed);
+        Entry entry;
+        boolean build = false;
+        synchronized (this) {
+            entry = layouts.get(key);
+            if (entry != null) {
+                hits++;
+            } else {
+                misses++;
+                entry = new Entry((long) size * size);
+                build = true;
+                if (entry.cells <= maxCachedCells) {
+                    evict(maxCachedCells - entry.cells);
+                    layouts.put(key, entry);
+                    cachedCells += entry.cells;
+                }
+            }
+        }
+        if (build) {
+            try {
+                entry.layout.complete(BoardLayout.of(size, mines, seed));
+            } catch (RuntimeException | Error e) {
+                synchronized (this) {
+                    if (layouts.remove(key, entry)) {
+                        cachedCells -= entry.cells;
+                    }
+                }
+                entry.layout.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return entry.layout.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Evicts least recently used layouts until at most {@code limit} cells are cached.
+     */
+    private void evict(long limit) {
+        for (Iterator<Entry> it = layouts.values().iterator(); cachedCells > limit && it.hasNext(); ) {
+            cachedCells -= it.next().cells;
+            it.remove();
+        }
+    }
+
+    /**
+     * Returns true if the layout of (size, mines, seed) is cached, without marking it as used.
+     */
+    public synchronized boolean contains(int size, int mines, long seed) {
+        return layouts.containsKey(new Key(size, mines, seed));
+    }
+
+    /**
+     * Returns the number of cached layouts.
+     */
+    public synchronized int getCachedCount() {
+        return layouts.size();
+    }
+
+    /**
+     * Returns the number of cells held by all cached layouts.
+     */
+    public synchronized long getCachedCells() {
+        return cachedCells;
+    }
+
+    /**
+     * Returns the number of requests served from the cache, including those that waited for a build.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of requests that built their layout.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized void clear() {
+        layouts.clear();
+        cachedCells = 0;
+    }
+
+    private record Key(int size, int mines, long seed) {
+    }
+
+    /**
+     * A cached layout, completed once its build finishes.
+     */
+    private static final class Entry {
+        final long cells;
+        final CompletableFuture<BoardLayout> layout = new CompletableFuture<>();
+
+        Entry(long cells) {
+            this.cells = cells;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.minesweeper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Load generator for {@link GameServer}. Opens {@code clients} concurrent connections;
+ * each plays its games by revealing random hidden cells and records the round-trip latency
+ * of every move. Usage: {@code LoadTestClient [--host H] [--port N] [--clients N]
+ * [--games N] [--size N] [--mines N]}
+ */
+public class LoadTestClient {
+
+    /**
+     * Runs the load test and returns the merged move latencies.
+     */
+    public static LatencyHistogram run(String host, int port, int clients, int gamesPerClient, int size, int mines)
+            throws InterruptedException {
+        ExecutorService executor = GameServer.newConnectionExecutor();
+        try {
+            List<Future<LatencyHistogram>> results = new ArrayList<>();
+            for (int client = 0; client < clients; client++) {
+                long seed = client;
+                results.add(executor.submit(() -> play(host, port, gamesPerClient, size, mines, seed)));
+            }
+            LatencyHistogram latencies = new LatencyHistogram();
+            for (Future<LatencyHistogram> result : results) {
+                latencies.merge(result.get());
+            }
+            return latencies;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load test client failed: " + e.getCause(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static LatencyHistogram play(String host, int port, int games, int size, int mines, long seed) {
+        LatencyHistogram latencies = new LatencyHistogram();
+        SplittableRandom random = new SplittableRandom(seed);
+        boolean[] revealed = new boolean[size * size];
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             BufferedWriter out = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+            socket.setTcpNoDelay(true);
+            for (int game = 0; game < games; game++) {
+                expect(send(in, out, "NEW " + size + " " + mines + " " + random.nextLong()), "OK");
+                Arrays.fill(revealed, false);
+                String response;
+                do {
+                    int cell;
+                    do {
+                        cell = random.nextInt(revealed.length);
+                    } while (revealed[cell]);
+                    long start = System.nanoTime();
+                    response = send(in, out, "R " + cell / size + " " + cell % size);
+                    latencies.record(System.nanoTime() - start);
+                    expect(response, "C");
+                    markRevealed(response, size, revealed);
+                } while (response.startsWith("C IN_PROGRESS"));
+            }
+            send(in, out, "QUIT");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return latencies;
+    }
+
+    private static String send(BufferedReader in, BufferedWriter out, String request) throws IOException {
+        out.write(request);
+        out.write('\n');
+        out.flush();
+        String response = in.readLine();
+        if (response == null) {
+            throw new IOException("Server closed the connection.");
+        }
+        return response;
+    }
+
+    private static void expect(String response, String prefix) {
+        if (!response.startsWith(prefix + " ")) {
+            throw new IllegalStateException("Unexpected response: " + response);
+        }
+    }
+
+    /**
+     * Marks the cells listed in a "C state n row,col,count ..." response as revealed.
+     */
+    private static void markRevealed(String response, int size, boolean[] revealed) {
+        int pos = response.indexOf(' ', response.indexOf(' ', 2) + 1);
+        while (pos > 0) {
+            int comma = response.indexOf(',', pos);
+            int row = Integer.parseInt(response, pos + 1, comma, 10);
+            int secondComma = response.indexOf(',', comma + 1);
+            int col = Integer.parseInt(response, comma + 1, secondComma, 10);
+            revealed[row * size + col] = true;
+            pos = response.indexOf(' ', secondComma);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String host = "localhost";
+        int port = 7878;
+        int clients = 100;
+        int games = 10;
+        int size = 16;
+        int mines = 40;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--host":
+                        host = args[++i];
+                        break;
+                    case "--port":
+                        port = Integer.parseInt(args[++i]);
+                        break;
+                    case "--clients":
+                        clients = Integer.parseInt(args[++i]);
+                        break;
+                    case "--games":
+                        games = Integer.parseInt(args[++i]);
+                        break;
+                    case "--size":
+                        size = Integer.parseInt(args[++i]);
+                        break;
+                    case "--mines":
+                        mines = Integer.parseInt(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid arguments: " + e.getMessage(), e);
+        }
+
+        long start = System.nanoTime();
+        LatencyHistogram latencies = run(host, port, clients, games, size, mines);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d clients, %d games each: %d moves in %.2f s (%.0f moves/s)%n",
+                clients, games, latencies.getCount(), seconds, latencies.getCount() / seconds);
+        System.out.println("Move latency: " + latencies.report());
+    }
+}
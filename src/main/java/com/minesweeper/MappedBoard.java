@@ -0,0 +1,425 @@
+package com.minesweeper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A rectangular board whose cells live in a memory-mapped file rather than on the heap, for
+ * puzzles too large for {@link Board}: width and height are separate, cells are addressed with
+ * long indices, and the grid is mapped in 1 GB segments so it may exceed 2 GB. The OS page cache
+ * decides which parts are resident, so the board can be larger than the Java heap.
+ * Cells use the {@link PackedGrid} byte format and the same rules as {@link Board}: a zero cell
+ * opens its region, revealing a mine loses and revealing every safe cell wins.
+ * File layout, little-endian:
+ * <pre>
+ * int   magic "MSWM"
+ * short version (1)
+ * short reserved
+ * int   width
+ * int   height
+ * long  mines
+ * long  seed
+ * byte[width * height] cells
+ * </pre>
+ * Counters are recomputed from the cells when a board is opened. First-click-safe mode is not
+ * supported. Flood fills use a fixed work stack of {@value #STACK_CELLS} cells; zero cells that do
+ * not fit are marked in the file with the spare {@link #PENDING} bit and found again by rescanning
+ * their rows, so the heap used by a fill does not grow with the opening. The reveal rules are
+ * kept in step with {@link Board} by a test that plays the same moves on both.
+ * A mapped board is not thread safe; the mapping is released once the board is garbage
+ * collected, so the file may not be deletable on some platforms until then.
+ */
+public class MappedBoard implements AutoCloseable {
+    static final int MAGIC = 0x4D57534D; // "MSWM" read as a little-endian int
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    /**
+     * Segments are 1 GB, so a segment offset always fits in an int.
+     */
+    static final int SEGMENT_SHIFT = 30;
+    /**
+     * Marks a revealed zero cell whose neighbours a flood fill still has to open; the one bit of
+     * the {@link PackedGrid} byte format that is otherwise unused.
+     */
+    static final int PENDING = 0x80;
+    /**
+     * Capacity of the flood fill work stack.
+     */
+    static final int STACK_CELLS = 1 << 12;
+
+    private final FileChannel channel;
+    private final MappedGrid cells;
+    private final int width;
+    private final int height;
+    private final long totalMines;
+    private final long seed;
+    private final long[] stack = new long[STACK_CELLS];
+    private long revealedCount;
+    private long safeCellsRemaining;
+    private long flagCount;
+    private boolean mineHit;
+
+    private MappedBoard(FileChannel channel, int width, int height, long totalMines, long seed,
+                        int segmentShift) throws IOException {
+        this.channel = channel;
+        this.width = width;
+        this.height = height;
+        this.totalMines = totalMines;
+        this.seed = seed;
+        this.cells = new MappedGrid(channel, HEADER_BYTES, width, height, segmentShift);
+        this.safeCellsRemaining = cells.length() - totalMines;
+    }
+
+    /**
+     * Creates {@code file}, replacing any existing file, with a new board whose layout is
+     * determined by (width, height, mines, seed).
+     * @throws IllegalArgumentException if the configuration is invalid.
+     */
+    public static MappedBoard create(Path file, int width, int height, long mines, long seed) throws IOException {
+        return create(file, width, height, mines, seed, SEGMENT_SHIFT);
+    }
+
+    static MappedBoard create(Path file, int width, int height, long mines, long seed, int segmentShift)
+            throws IOException {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Board width and height must be positive.");
+        }
+        long maxMines = (long) ((long) width * height * 0.35);
+        if (mines < 0 || mines > maxMines) {
+            throw new IllegalArgumentException("Total mines must be between 0 and " + maxMines);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC)
+                    .putShort(VERSION)
+                    .putShort((short) 0)
+                    .putInt(width)
+                    .putInt(height)
+                    .putLong(mines)
+                    .putLong(seed)
+                    .flip();
+            channel.write(header, 0);
+            MappedBoard board = new MappedBoard(channel, width, height, mines, seed, segmentShift);
+            board.placeMines(new SplittableRandom(seed));
+            board.countAdjacentMines();
+            return board;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a board saved with {@link #close()}, continuing the game where it was left.
+     * @throws IOException if the file cannot be read or is not a mapped board.
+     */
+    public static MappedBoard open(Path file) throws IOException {
+        return open(file, SEGMENT_SHIFT);
+    }
+
+    static MappedBoard open(Path file, int segmentShift) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.read(header, 0) != HEADER_BYTES || header.getInt(0) != MAGIC) {
+                throw new IOException("Not a mapped board: " + file);
+            }
+            short version = header.getShort(4);
+            if (version != VERSION) {
+                throw new IOException("Unsupported mapped board version " + version + ": " + file);
+            }
+            int width = header.getInt(8);
+            int height = header.getInt(12);
+            long mines = header.getLong(16);
+            long seed = header.getLong(24);
+            if (width <= 0 || height <= 0 || channel.size() != HEADER_BYTES + (long) width * height
+                    || mines < 0 || mines > (long) width * height) {
+                throw new IOException("Mapped board is truncated or corrupted: " + file);
+            }
+            MappedBoard board = new MappedBoard(channel, width, height, mines, seed, segmentShift);
+            board.recount();
+            return board;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Places the mines with Floyd's sampling algorithm, using the mine bits as the membership set.
+     */
+    private void placeMines(SplittableRandom random) {
+        long length = cells.length();
+        for (long bound = length - totalMines; bound < length; bound++) {
+            long index = random.nextLong(bound + 1);
+            cells.setBits(cells.isMine(index) ? bound : index, PackedGrid.MINE);
+        }
+    }
+
+    /**
+     * Writes the adjacent mine count of every safe cell, sweeping three rows at a time so the
+     * file is read and written in order.
+     */
+    private void countAdjacentMines() {
+        byte[] above = new byte[width];
+        byte[] row = new byte[width];
+        byte[] below = new byte[width];
+        byte[] counted = new byte[width];
+        cells.getRow(0, row);
+        for (int r = 0; r < height; r++) {
+            if (r + 1 < height) {
+                cells.getRow(r + 1, below);
+            } else {
+                Arrays.fill(below, (byte) 0);
+            }
+            System.arraycopy(row, 0, counted, 0, width);
+            for (int c = 0; c < width; c++) {
+                if ((row[c] & PackedGrid.MINE) == 0) {
+                    int count = 0;
+                    for (int j = Math.max(c - 1, 0); j <= Math.min(c + 1, width - 1); j++) {
+                        count += (above[j] >> 4 & 1) + (row[j] >> 4 & 1) + (below[j] >> 4 & 1);
+                    }
+                    counted[c] = (byte) count;
+                }
+            }
+            cells.putRow(r, counted);
+            byte[] recycled = above;
+            above = row;
+            row = below;
+            below = recycled;
+        }
+    }
+
+    /**
+     * Rebuilds the counters from the cells of an opened board. Work marks left by a flood fill
+     * that was cut short are cleared; the rest of that opening stays hidden.
+     */
+    private void recount() {
+        byte[] row = new byte[width];
+        for (int r = 0; r < height; r++) {
+            cells.getRow(r, row);
+            boolean marked = false;
+            for (int c = 0; c < width; c++) {
+                int bits = row[c];
+                if ((bits & PENDING) != 0) {
+                    row[c] = (byte) (bits & ~PENDING);
+                    marked = true;
+                }
+                if ((bits & PackedGrid.REVEALED) != 0) {
+                    revealedCount++;
+                    if ((bits & PackedGrid.MINE) != 0) {
+                        mineHit = true;
+                    } else {
+                        safeCellsRemaining--;
+                    }
+                } else if ((bits & PackedGrid.FLAGGED) != 0) {
+                    flagCount++;
+                }
+            }
+            if (marked) {
+                cells.putRow(r, row);
+            }
+        }
+    }
+
+    /**
+     * Reveals the cell at (row, col) and, if it has no adjacent mines, its whole opening.
+     * Returns the number of cells revealed; 0 if the cell was already revealed or the game is over.
+     */
+    public long reveal(int row, int col) {
+        long index = checkedIndex(row, col);
+        if (getState() != GameState.IN_PROGRESS || (cells.bits(index) & PackedGrid.REVEALED) != 0) {
+            return 0;
+        }
+        int bits = markRevealed(index);
+        if ((bits & PackedGrid.MINE) != 0) {
+            mineHit = true;
+            return 1;
+        }
+        return (bits & PackedGrid.COUNT_MASK) == 0 ? 1 + floodFill(index) : 1;
+    }
+
+    /**
+     * Reveals the opening around the revealed zero cell {@code start} with a depth-first search
+     * over long indices. Zero cells that find the stack full are marked {@link #PENDING} instead;
+     * whenever the stack empties, the rows between the first and last marked row are rescanned
+     * and their marked cells moved back onto the stack. Returns the number of cells revealed.
+     */
+    private long floodFill(long start) {
+        long revealed = 0;
+        long pending = 0;
+        int firstRow = height;
+        int lastRow = -1;
+        int top = 0;
+        stack[top++] = start;
+        while (true) {
+            while (top > 0) {
+                long index = stack[--top];
+                int row = (int) (index / width);
+                int col = (int) (index - (long) row * width);
+                for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, height - 1); i++) {
+                    for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, width - 1); j++) {
+                        long neighbour = (long) i * width + j;
+                        if ((cells.bits(neighbour) & PackedGrid.REVEALED) != 0) {
+                            continue;
+                        }
+                        // Neighbours of a zero cell are never mines.
+                        int bits = markRevealed(neighbour);
+                        revealed++;
+                        if ((bits & PackedGrid.COUNT_MASK) != 0) {
+                            continue;
+                        }
+                        if (top < stack.length) {
+                            stack[top++] = neighbour;
+                        } else {
+                            cells.setBits(neighbour, cells.bits(neighbour) | PENDING);
+                            pending++;
+                            firstRow = Math.min(firstRow, i);
+                            lastRow = Math.max(lastRow, i);
+                        }
+                    }
+                }
+            }
+            if (pending == 0) {
+                return revealed;
+            }
+            // Refill the stack from the marked cells, first row first. Rows scanned to the end
+            // hold no marks any more, so the next rescan starts after them.
+            for (int row = firstRow; row <= lastRow && top < stack.length; row++) {
+                long index = (long) row * width;
+                int col = 0;
+                for (; col < width && top < stack.length; col++, index++) {
+                    int bits = cells.bits(index);
+                    if ((bits & PENDING) != 0) {
+                        cells.setBits(index, bits & ~PENDING);
+                        stack[top++] = index;
+                        pending--;
+                    }
+                }
+                if (col == width) {
+                    firstRow = row + 1;
+                }
+            }
+            if (pending == 0) {
+                firstRow = height;
+                lastRow = -1;
+            }
+        }
+    }
+
+    /**
+     * Reveals a hidden cell, clearing its flag, and updates the counters. Returns its old bits.
+     */
+    private int markRevealed(long index) {
+        int bits = cells.bits(index);
+        cells.setBits(index, (bits | PackedGrid.REVEALED) & ~PackedGrid.FLAGGED);
+        if ((bits & PackedGrid.FLAGGED) != 0) {
+            flagCount--;
+        }
+        revealedCount++;
+        if ((bits & PackedGrid.MINE) == 0) {
+            safeCellsRemaining--;
+        }
+        return bits;
+    }
+
+    /**
+     * Toggles the flag on an unrevealed cell. Returns true if the cell is now flagged.
+     */
+    public boolean toggleFlag(int row, int col) {
+        long index = checkedIndex(row, col);
+        int bits = cells.bits(index);
+        if ((bits & PackedGrid.REVEALED) != 0) {
+            return false;
+        }
+        bits ^= PackedGrid.FLAGGED;
+        cells.setBits(index, bits);
+        boolean flagged = (bits & PackedGrid.FLAGGED) != 0;
+        flagCount += flagged ? 1 : -1;
+        return flagged;
+    }
+
+    public boolean isRevealed(int row, int col) {
+        return (cells.bits(checkedIndex(row, col)) & PackedGrid.REVEALED) != 0;
+    }
+
+    public boolean isFlagged(int row, int col) {
+        return (cells.bits(checkedIndex(row, col)) & PackedGrid.FLAGGED) != 0;
+    }
+
+    public boolean isMine(int row, int col) {
+        return cells.isMine(checkedIndex(row, col));
+    }
+
+    public int getAdjacentMines(int row, int col) {
+        return cells.bits(checkedIndex(row, col)) & PackedGrid.COUNT_MASK;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public GameState getState() {
+        if (mineHit) {
+            return GameState.LOST;
+        }
+        return safeCellsRemaining == 0 ? GameState.WON : GameState.IN_PROGRESS;
+    }
+
+    public long getTotalMines() {
+        return totalMines;
+    }
+
+    /**
+     * Returns the number of revealed cells, including a detonated mine.
+     */
+    public long getRevealedCount() {
+        return revealedCount;
+    }
+
+    /**
+     * Returns the number of non-mine cells that still have to be revealed to win.
+     */
+    public long getSafeCellsRemaining() {
+        return safeCellsRemaining;
+    }
+
+    /**
+     * Returns the number of mines minus the number of flags placed.
+     */
+    public long getMinesLeft() {
+        return totalMines - flagCount;
+    }
+
+    /**
+     * Writes changed cells to the file and closes it. The board must not be used afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        cells.force();
+        channel.close();
+    }
+
+    private long checkedIndex(int row, int col) {
+        if (row < 0 || row >= height || col < 0 || col >= width) {
+            throw new IllegalArgumentException("Invalid cell coordinates.");
+        }
+        return (long) row * width + col;
+    }
+}
@@ -0,0 +1,103 @@
+package com.minesweeper;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Off-heap cell storage for {@link MappedBoard}: one byte per cell in the {@link PackedGrid}
+ * format, kept in a file region mapped in segments of {@code 1 << segmentShift} bytes, so a grid
+ * may hold more than {@link Integer#MAX_VALUE} cells. Cells are addressed by their long row-major
+ * index ({@code row * width + col}). Paging is left to the OS page cache.
+ */
+final class MappedGrid {
+    private final int width;
+    private final int height;
+    private final long length;
+    private final int segmentShift;
+    private final long segmentMask;
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * Maps {@code width * height} bytes of {@code channel} starting at {@code offset}.
+     */
+    MappedGrid(FileChannel channel, long offset, int width, int height, int segmentShift) throws IOException {
+        this.width = width;
+        this.height = height;
+        this.length = (long) width * height;
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1L << segmentShift) - 1;
+        int count = (int) ((length + segmentMask) >>> segmentShift);
+        this.segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = (long) i << segmentShift;
+            segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, offset + start,
+                    Math.min(segmentMask + 1, length - start));
+        }
+    }
+
+    int width() {
+        return width;
+    }
+
+    int height() {
+        return height;
+    }
+
+    long length() {
+        return length;
+    }
+
+    int bits(long index) {
+        return segments[(int) (index >>> segmentShift)].get((int) (index & segmentMask)) & 0xFF;
+    }
+
+    void setBits(long index, int bits) {
+        segments[(int) (index >>> segmentShift)].put((int) (index & segmentMask), (byte) bits);
+    }
+
+    boolean isMine(long index) {
+        return (bits(index) & PackedGrid.MINE) != 0;
+    }
+
+    /**
+     * Copies the cells of {@code row} into {@code into}, which holds at least {@code width} bytes.
+     */
+    void getRow(int row, byte[] into) {
+        long index = (long) row * width;
+        int done = 0;
+        while (done < width) {
+            MappedByteBuffer segment = segments[(int) (index >>> segmentShift)];
+            int offset = (int) (index & segmentMask);
+            int chunk = Math.min(width - done, segment.capacity() - offset);
+            segment.get(offset, into, done, chunk);
+            done += chunk;
+            index += chunk;
+        }
+    }
+
+    /**
+     * Writes the first {@code width} bytes of {@code cells} to {@code row}.
+     */
+    void putRow(int row, byte[] cells) {
+        long index = (long) row * width;
+        int done = 0;
+        while (done < width) {
+            MappedByteBuffer segment = segments[(int) (index >>> segmentShift)];
+            int offset = (int) (index & segmentMask);
+            int chunk = Math.min(width - done, segment.capacity() - offset);
+            segment.put(offset, cells, done, chunk);
+            done += chunk;
+            index += chunk;
+        }
+    }
+
+    /**
+     * Writes changed cells back to the file.
+     */
+    void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.minesweeper;
+
+/**
+ * Cell layer stored as row bitsets, used for mines and for the layers of a {@link BoardSnapshot}.
+ * Each row occupies {@code wordsPerRow} longs,
+ * bit {@code c % 64} of word {@code c / 64} being column {@code c}.
+ * Bits past the last column are always clear, so rows can be shifted word by word.
+ */
+final class MineBits {
+    private final int size;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    MineBits(int size) {
+        this.size = size;
+        this.wordsPerRow = (size + 63) >>> 6;
+        this.words = new long[Math.multiplyExact(size, wordsPerRow)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int wordsPerRow() {
+        return wordsPerRow;
+    }
+
+    /**
+     * Returns the backing words, row after row.
+     */
+    long[] words() {
+        return words;
+    }
+
+    boolean get(int row, int col) {
+        return (words[row * wordsPerRow + (col >>> 6)] & (1L << col)) != 0;
+    }
+
+    void set(int row, int col) {
+        words[row * wordsPerRow + (col >>> 6)] |= 1L << col;
+    }
+
+    void clear(int row, int col) {
+        words[row * wordsPerRow + (col >>> 6)] &= ~(1L << col);
+    }
+}
@@ -0,0 +1,44 @@
+package com.minesweeper;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Places mines on a {@link MineBits} layer in O(mines) time.
+ * Uses Floyd's sampling algorithm with the layer itself as the membership set,
+ * so it never retries and needs no extra memory. The layout depends only on the grid size,
+ * the number of mines and the sequence produced by the generator, which makes seeded
+ * layouts reproducible.
+ */
+final class MinePlacer {
+
+    private MinePlacer() {
+    }
+
+    /**
+     * Places {@code mines} mines uniformly at random on an empty layer.
+     */
+    static void place(MineBits layer, int mines, RandomGenerator random) {
+        int size = layer.size();
+        int length = Math.toIntExact((long) size * size);
+        for (int bound = length - mines; bound < length; bound++) {
+            int index = random.nextInt(bound + 1);
+            int row = index / size;
+            int col = index - row * size;
+            if (layer.get(row, col)) {
+                row = bound / size;
+                col = bound - row * size;
+            }
+            layer.set(row, col);
+        }
+    }
+
+    /**
+     * Draws from {@code random} exactly what {@link #place} draws for {@code mines} mines on
+     * {@code length} cells, without placing anything.
+     */
+    static void skip(int length, int mines, RandomGenerator random) {
+        for (int bound = length - mines; bound < length; bound++) {
+            random.nextInt(bound + 1);
+        }
+    }
+}
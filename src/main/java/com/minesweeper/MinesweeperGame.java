@@ -1,18 +1,27 @@
 package com.minesweeper;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Scanner;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * Main game controller for Minesweeper.
- * Handles user interaction and game flow.
+ * Console client for Minesweeper.
+ * Reads moves from a Scanner, plays them on a {@link GameSession} and prints the results.
+ * Set the system property {@code minesweeper.ansi} to true to redraw the board in place
+ * on an ANSI terminal instead of printing it after every move, and {@code minesweeper.noGuess}
+ * to true to play boards from {@link NoGuessGenerator}, cleared without guessing from the square
+ * announced at the start. As on the server, no-guess boards are at most
+ * {@link SessionManager#MAX_NO_GUESS_BOARD_SIZE} squares wide; larger grids are played as random boards.
  */
 public class MinesweeperGame {
-    private Board board;
-    private boolean gameOver;
+    private final Board board;
+    private final GameSession session;
+    private BoardRenderer renderer;
 
     public MinesweeperGame(Board board) {
         this.board = board;
-        this.gameOver = false;
+        this.session = new GameSession(0, board);
     }
 
     /**
@@ -23,13 +32,19 @@ public class MinesweeperGame {
      * @param scanner the Scanner instance to use for reading user input.
      */
     public void start(Scanner scanner) {
+        boolean ansi = Boolean.getBoolean("minesweeper.ansi");
+        renderer = ansi ? new AnsiBoardRenderer(board) : new BoardRenderer(board);
 
-        System.out.println("Here is your minefield:");
-        System.out.println(board.displayBoard(false));
+        if (ansi) {
+            drawFull();
+        } else {
+            System.out.println("Here is your minefield:");
+            printBoard();
+        }
 
-        while (!gameOver) {
+        while (!session.isOver()) {
 
-            System.out.print("Select a square to reveal (e.g. A1): ");
+            System.out.print("Select a square to reveal (e.g. A1, or 'hint'): ");
             String input;
             try {
                 input = scanner.nextLine();
@@ -37,6 +52,10 @@ public class MinesweeperGame {
                 System.out.println("Error reading input: " + e.getMessage());
                 continue;
             }
+            if (input.trim().equalsIgnoreCase("hint")) {
+                printHint();
+                continue;
+            }
             int[] coords;
             try {
                 coords = InputParser.parseCoordinate(input, board.getSize());
@@ -44,31 +63,85 @@ public class MinesweeperGame {
                 System.out.println("Invalid input: " + e.getMessage());
                 continue;
             }
-            boolean hitMine = board.revealCell(coords[0], coords[1]);
-            if (hitMine) {
+            RevealResult result = session.reveal(coords[0], coords[1]);
+            if (result.isMineHit()) {
                 System.out.println("Oh no, you detonated a mine! Game over.");
-                gameOver = true;
                 break;
             } else {
-                int adjacent = board.getGrid()[coords[0]][coords[1]].getAdjacentMines();
-                System.out.println("This square contains " + adjacent + " adjacent mines.");
-                System.out.println("Here is your updated minefield:");
-                System.out.println(board.displayBoard(false));
+                int adjacent = board.getAdjacentMines(coords[0], coords[1]);
+                if (ansi) {
+                    redrawChanges(result);
+                    System.out.println("This square contains " + adjacent + " adjacent mines.");
+                } else {
+                    System.out.println("This square contains " + adjacent + " adjacent mines.");
+                    System.out.println("Here is your updated minefield:");
+                    renderer.markDirty(result);
+                    printBoard();
+                }
             }
-            if (board.isGameWon()) {
+            if (result.getState() == GameState.WON) {
                 System.out.println("Congratulations, you have won the game!");
-                gameOver = true;
                 break;
             }
         }
         // Note: We do not close the scanner here so that System.in remains open for further input.
     }
 
+    /**
+     * Prints a suggested move.
+     */
+    private void printHint() {
+        Hint hint = session.hint();
+        if (hint == null) {
+            System.out.println("No hint available.");
+            return;
+        }
+        String square = InputParser.rowLabel(hint.getRow()) + (hint.getColumn() + 1);
+        if (hint.isCertain()) {
+            System.out.println("Hint: " + square + " is safe.");
+        } else {
+            System.out.printf("Hint: no square is certainly safe; %s has the lowest chance of a mine (%.0f%%).%n",
+                    square, hint.getMineProbability() * 100);
+        }
+    }
+
+    private void printBoard() {
+        try {
+            renderer.render(System.out, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.println();
+    }
+
+    private void drawFull() {
+        try {
+            ((AnsiBoardRenderer) renderer).drawFull(System.out, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void redrawChanges(RevealResult result) {
+        try {
+            ((AnsiBoardRenderer) renderer).update(System.out, result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Main method – entry point to start the game.
      */
     public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
+        boolean noGuess = Boolean.getBoolean("minesweeper.noGuess");
+        // Builds the next board for the same settings while the current game is played.
+        BoardPool pool = noGuess
+                ? new BoardPool((size, mines) -> size <= SessionManager.MAX_NO_GUESS_BOARD_SIZE
+                        ? new NoGuessGenerator(size, mines).generate(ThreadLocalRandom.current().nextLong())
+                        : new Board(size, mines), 1, 16L << 20, 1)
+                : new BoardPool(1, 16L << 20, 1);
         boolean playAgain = true;
         while (playAgain) {
             System.out.println("Welcome to Minesweeper!");
@@ -105,7 +178,24 @@ public class MinesweeperGame {
                     System.out.println("Invalid number. Please enter an integer.");
                 }
             }
-            Board board = new Board(size, mines);
+            if (noGuess && size > SessionManager.MAX_NO_GUESS_BOARD_SIZE) {
+                System.out.println("Boards without guesses are at most "
+                        + SessionManager.MAX_NO_GUESS_BOARD_SIZE + " squares wide; playing a random board.");
+            }
+            Board board;
+            try {
+                board = pool.take(size, mines);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                System.out.println("No board without guesses for these settings (" + e.getMessage()
+                        + "); playing a random board.");
+                board = new Board(size, mines);
+            }
+            if (board.isNoGuess()) {
+                int start = board.getSize() / 2;
+                System.out.println("Start at " + InputParser.rowLabel(start) + (start + 1)
+                        + ": the board can be cleared from there without guessing.");
+            }
+            board.setFirstClickSafe(true);
             MinesweeperGame game = new MinesweeperGame(board);
             game.start(scanner);
             System.out.println("Press any key to play again...");
@@ -114,6 +204,7 @@ public class MinesweeperGame {
                 playAgain = false;
             }
         }
+        pool.close();
         scanner.close();
     }
 }
\ No newline at end of file
@@ -0,0 +1,294 @@
+package com.minesweeper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only journal of the moves of one game. Together with the board seed in its header,
+ * the journal replays the game exactly. Layout, little-endian:
+ * <pre>
+ * int   magic "MSWJ"
+ * short version (1)
+ * short flags: 1 = first-click-safe, 2 = no-guess (the seed is a {@link NoGuessGenerator} seed)
+ * int   size
+ * int   mines
+ * long  seed
+ * long  start time, epoch milliseconds
+ * then per move: varint (cell index &lt;&lt; 2 | action), varint microseconds since the previous move
+ * </pre>
+ * Entries are collected in a buffer and written to the channel when it fills up, on
+ * {@link #flush()} and on {@link #close()}. A reader stops at a partly written last entry,
+ * so a journal cut short by a crash still replays up to its last complete move.
+ */
+public final class MoveJournal implements AutoCloseable {
+    public static final int REVEAL = 0;
+    public static final int FLAG = 1;
+    /**
+     * Takes back the latest move that has not been undone yet; its index is always 0.
+     */
+    public static final int UNDO = 2;
+
+    static final int MAGIC = 0x4A57534D; // "MSWJ" read as a little-endian int
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    private static final int FLAG_FIRST_CLICK_SAFE = 1;
+    private static final int FLAG_NO_GUESS = 2;
+    private static final int MAX_ENTRY_BYTES = 15;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+    private long lastNanos;
+    private long entries;
+
+    private MoveJournal(FileChannel channel) {
+        this.channel = channel;
+        this.lastNanos = System.nanoTime();
+    }
+
+    /**
+     * Creates a journal file for a new game on {@code board}, which must have been created from a seed.
+     */
+    public static MoveJournal create(Path file, Board board) throws IOException {
+        if (board.getSeed().isEmpty()) {
+            throw new IllegalArgumentException("Only boards created from a seed can be journaled.");
+        }
+        if (board.getTopology() != Topology.SQUARE) {
+            throw new IllegalArgumentException("Only square boards can be journaled.");
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        MoveJournal journal = new MoveJournal(channel);
+        journal.buffer.putInt(MAGIC)
+                .putShort(VERSION)
+                .putShort((short) ((board.isFirstClickSafe() ? FLAG_FIRST_CLICK_SAFE : 0)
+                        | (board.isNoGuess() ? FLAG_NO_GUESS : 0)))
+                .putInt(board.getSize())
+                .putInt(board.getTotalMines())
+                .putLong(board.getSeed().getAsLong())
+                .putLong(System.currentTimeMillis());
+        return journal;
+    }
+
+    /**
+     * Appends a move made now.
+     */
+    public void append(int action, int index) throws IOException {
+        append(action, index, System.nanoTime());
+    }
+
+    /**
+     * Appends a move made at the given {@link System#nanoTime()}.
+     */
+    public void append(int action, int index, long nanoTime) throws IOException {
+        if (action < REVEAL || action > UNDO || index < 0) {
+            throw new IllegalArgumentException("Invalid move: action " + action + ", index " + index);
+        }
+        if (buffer.remaining() < MAX_ENTRY_BYTES) {
+            writeBuffer();
+        }
+        long micros = Math.max(0, (nanoTime - lastNanos) / 1000);
+        lastNanos = nanoTime;
+        putVarint(buffer, ((long) index << 2) | action);
+        putVarint(buffer, micros);
+        entries++;
+    }
+
+    /**
+     * Returns the number of moves appended.
+     */
+    public long getEntryCount() {
+        return entries;
+    }
+
+    /**
+     * Writes buffered moves to the file and forces them to the storage device.
+     */
+    public void flush() throws IOException {
+        writeBuffer();
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void putVarint(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Receives the moves of a journal in order.
+     */
+    @FunctionalInterface
+    public interface MoveVisitor {
+        /**
+         * @param micros time of the move in microseconds since the journal was created
+         */
+        void move(int action, int index, long micros);
+    }
+
+    /**
+     * The game a journal belongs to.
+     */
+    public static final class Header {
+        private final int size;
+        private final int mines;
+        private final long seed;
+        private final boolean firstClickSafe;
+        private final boolean noGuess;
+        private final long startMillis;
+
+        Header(int size, int mines, long seed, boolean firstClickSafe, boolean noGuess, long startMillis) {
+            this.size = size;
+            this.mines = mines;
+            this.seed = seed;
+            this.firstClickSafe = firstClickSafe;
+            this.noGuess = noGuess;
+            this.startMillis = startMillis;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getMines() {
+            return mines;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public boolean isFirstClickSafe() {
+            return firstClickSafe;
+        }
+
+        /**
+         * Returns true if the game was played on a board from {@link NoGuessGenerator}.
+         */
+        public boolean isNoGuess() {
+            return noGuess;
+        }
+
+        /**
+         * Returns when the journal was created, in epoch milliseconds.
+         */
+        public long getStartMillis() {
+            return startMillis;
+        }
+
+        /**
+         * Creates the board the journaled game started from.
+         */
+        public Board newBoard() {
+            Board board = noGuess ? new NoGuessGenerator(size, mines, Integer.MAX_VALUE).generate(seed) : new Board(size, mines, seed);
+            board.setFirstClickSafe(firstClickSafe);
+            return board;
+        }
+    }
+
+    /**
+     * Reads a journal, passing every complete move to {@code visitor}, and returns its header.
+     * @throws IOException if the file cannot be read or is not a move journal.
+     */
+    public static Header read(Path file, MoveVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer in = map(channel, file);
+            Header header = readHeader(in, file);
+            readMoves(in, visitor);
+            return header;
+        }
+    }
+
+    /**
+     * Replays a journal on a new board and returns the board in its final state.
+     * @throws IOException if the file cannot be read or is not a move journal.
+     */
+    public static Board replay(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer in = map(channel, file);
+            GameHistory history = new GameHistory(readHeader(in, file).newBoard(), null, Integer.MAX_VALUE);
+            readMoves(in, (action, index, micros) -> history.apply(action, index));
+            return history.getBoard();
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, Path file) throws IOException {
+        long length = channel.size();
+        if (length < HEADER_BYTES || length > Integer.MAX_VALUE) {
+            throw new IOException("Not a move journal: " + file);
+        }
+        MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        in.order(ByteOrder.LITTLE_ENDIAN);
+        return in;
+    }
+
+    private static Header readHeader(ByteBuffer in, Path file) throws IOException {
+        if (in.getInt(0) != MAGIC) {
+            throw new IOException("Not a move journal: " + file);
+        }
+        short version = in.getShort(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported journal version " + version + ": " + file);
+        }
+        int flags = in.getShort(6);
+        return new Header(in.getInt(8), in.getInt(12), in.getLong(16),
+                (flags & FLAG_FIRST_CLICK_SAFE) != 0, (flags & FLAG_NO_GUESS) != 0, in.getLong(24));
+    }
+
+    /**
+     * Decodes the moves after the header, stopping at a partly written last entry.
+     */
+    private static void readMoves(ByteBuffer in, MoveVisitor visitor) {
+        int limit = in.limit();
+        int pos = HEADER_BYTES;
+        long micros = 0;
+        while (pos < limit) {
+            long move = 0;
+            int shift = 0;
+            int b;
+            do {
+                if (pos == limit) {
+                    return;
+                }
+                b = in.get(pos++);
+                move |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            long delta = 0;
+            shift = 0;
+            do {
+                if (pos == limit) {
+                    return;
+                }
+                b = in.get(pos++);
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            micros += delta;
+            visitor.move((int) (move & 3), (int) (move >>> 2), micros);
+        }
+    }
+}
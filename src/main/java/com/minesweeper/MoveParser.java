@@ -0,0 +1,160 @@
+package com.minesweeper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streaming parser for move scripts, reading bytes straight from a buffered input stream.
+ * A script is a sequence of coordinates in the console format ({@code A1}, {@code ab12}),
+ * separated by whitespace, commas or semicolons, any number per line. A coordinate prefixed with
+ * {@code !} toggles a flag instead of revealing; {@code #} starts a comment that runs to the end
+ * of the line.
+ * Moves are returned packed into ints: the row-major cell index for a reveal, and its complement
+ * ({@code ~index}, always negative) for a flag. Parsing allocates nothing per move.
+ */
+public final class MoveParser {
+    static final int BUFFER_BYTES = 1 << 16;
+
+    private final InputStream in;
+    private final int boardSize;
+    private final byte[] buffer;
+    private int pos;
+    private int limit;
+    private long line = 1;
+
+    public MoveParser(InputStream in, int boardSize) {
+        this(in, boardSize, BUFFER_BYTES);
+    }
+
+    MoveParser(InputStream in, int boardSize, int bufferBytes) {
+        if (boardSize <= 0) {
+            throw new IllegalArgumentException("Board size must be positive.");
+        }
+        this.in = in;
+        this.boardSize = boardSize;
+        this.buffer = new byte[bufferBytes];
+    }
+
+    /**
+     * Returns true if {@code move} toggles a flag rather than revealing.
+     */
+    public static boolean isFlag(int move) {
+        return move < 0;
+    }
+
+    /**
+     * Returns the cell index of a packed move.
+     */
+    public static int cellIndex(int move) {
+        return move < 0 ? ~move : move;
+    }
+
+    /**
+     * Parses moves into {@code moves} until it is full or the input ends.
+     * Returns the number of moves parsed, or -1 if the input has ended.
+     * @throws IllegalArgumentException if the script has a malformed or out-of-bounds coordinate.
+     */
+    public int read(int[] moves) throws IOException {
+        int count = 0;
+        while (count < moves.length) {
+            int b = skipSeparators();
+            if (b < 0) {
+                break;
+            }
+            moves[count++] = parseMove(b);
+        }
+        return count == 0 && moves.length > 0 ? -1 : count;
+    }
+
+    /**
+     * Returns the line of the script being parsed, counting from 1.
+     */
+    public long getLine() {
+        return line;
+    }
+
+    /**
+     * Skips separators and comments and returns the first byte of the next move, or -1 at the end.
+     */
+    private int skipSeparators() throws IOException {
+        while (true) {
+            int b = next();
+            switch (b) {
+                case '\n':
+                    line++;
+                    break;
+                case ' ':
+                case '\t':
+                case '\r':
+                case ',':
+                case ';':
+                    break;
+                case '#':
+                    do {
+                        b = next();
+                    } while (b >= 0 && b != '\n');
+                    if (b < 0) {
+                        return -1;
+                    }
+                    line++;
+                    break;
+                default:
+                    return b;
+            }
+        }
+    }
+
+    private int parseMove(int b) throws IOException {
+        boolean flag = b == '!';
+        if (flag) {
+            b = next();
+        }
+        long row = 0;
+        int letters = 0;
+        int letter;
+        while ((letter = (b | 0x20) - 'a') >= 0 && letter < 26) {
+            row = Math.min(row * 26 + letter + 1, Integer.MAX_VALUE);
+            letters++;
+            b = next();
+        }
+        long col = 0;
+        int digits = 0;
+        int digit;
+        while ((digit = b - '0') >= 0 && digit <= 9) {
+            col = Math.min(col * 10 + digit, Integer.MAX_VALUE);
+            digits++;
+            b = next();
+        }
+        if (letters == 0 || digits == 0 || !endsMove(b)) {
+            throw error("Invalid coordinate");
+        }
+        if (b >= 0) {
+            pos--; // leave the separator for the next move
+        }
+        if (row > boardSize || col == 0 || col > boardSize) {
+            throw error("Coordinate out of bounds");
+        }
+        int index = (int) (row - 1) * boardSize + (int) (col - 1);
+        return flag ? ~index : index;
+    }
+
+    private static boolean endsMove(int b) {
+        return b < 0 || b == ' ' || b == '\t' || b == '\r' || b == '\n' || b == ',' || b == ';' || b == '#';
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " on line " + line + ".");
+    }
+
+    private int next() throws IOException {
+        if (pos == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            pos = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[pos++] & 0xFF;
+    }
+}
@@ -0,0 +1,19 @@
+package com.minesweeper;
+
+/**
+ * Chooses moves for a headless game. A new strategy instance is created for every game,
+ * so implementations may keep per-game state.
+ */
+public interface MoveStrategy {
+
+    /**
+     * Returns the row-major index of the next cell to reveal, or -1 to give up.
+     */
+    int nextMove(Board board);
+
+    /**
+     * Called with the change set of every move, so stateful strategies can update incrementally.
+     */
+    default void onReveal(Board board, RevealResult result) {
+    }
+}
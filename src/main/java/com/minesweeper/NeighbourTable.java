@@ -0,0 +1,143 @@
+package com.minesweeper;
+
+/**
+ * The neighbours of every cell of a board in a given {@link Topology}, computed once.
+ * Cells at least {@link Topology#reach()} rows and columns away from every edge reach their
+ * neighbours through fixed index offsets, so walking them is a loop over a short array with no
+ * bounds checks. The few cells in the border band have their neighbour lists stored in
+ * compressed rows, addressed by {@link #borderStart(int, int)} and {@link #borderEnd(int, int)}.
+ */
+final class NeighbourTable {
+    private final Topology topology;
+    private final int size;
+    private final int margin;
+    private final int[] evenRowOffsets;
+    private final int[] oddRowOffsets;
+    private final int[] borderOffsets;
+    private final int[] borderCells;
+
+    NeighbourTable(Topology topology, int size) {
+        this.topology = topology;
+        this.size = size;
+        this.margin = topology.reach();
+        this.evenRowOffsets = offsets(topology.steps(0), size);
+        this.oddRowOffsets = offsets(topology.steps(1), size);
+        int bandCells = size <= 2 * margin ? size * size : 2 * margin * size + (size - 2 * margin) * 2 * margin;
+        this.borderOffsets = new int[bandCells + 1];
+        int[] cells = new int[bandCells * topology.degree()];
+        int[] scratch = new int[topology.degree()];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (!isInterior(row, col)) {
+                    // Border cells are visited in slot order.
+                    int n = topology.neighbours(size, row, col, scratch);
+                    System.arraycopy(scratch, 0, cells, count, n);
+                    count += n;
+                    borderOffsets[slot(row, col) + 1] = count;
+                }
+            }
+        }
+        this.borderCells = cells;
+    }
+
+    private static int[] offsets(int[][] steps, int size) {
+        int[] offsets = new int[steps.length];
+        for (int i = 0; i < steps.length; i++) {
+            offsets[i] = steps[i][0] * size + steps[i][1];
+        }
+        return offsets;
+    }
+
+    Topology topology() {
+        return topology;
+    }
+
+    /**
+     * Returns true if every neighbour of (row, col) is at a fixed offset, see {@link #offsets(int)}.
+     */
+    boolean isInterior(int row, int col) {
+        return row >= margin && row < size - margin && col >= margin && col < size - margin;
+    }
+
+    /**
+     * Returns the index offsets of the neighbours of an interior cell in {@code row}.
+     */
+    int[] offsets(int row) {
+        return (row & 1) == 0 ? evenRowOffsets : oddRowOffsets;
+    }
+
+    /**
+     * Returns the neighbour lists of the border cells; see {@link #borderStart(int, int)}.
+     */
+    int[] borderCells() {
+        return borderCells;
+    }
+
+    int borderStart(int row, int col) {
+        return borderOffsets[slot(row, col)];
+    }
+
+    int borderEnd(int row, int col) {
+        return borderOffsets[slot(row, col) + 1];
+    }
+
+    /**
+     * Writes the neighbours of the cell at {@code index} into {@code out}, which must hold
+     * {@link Topology#degree()} cells, and returns how many there are.
+     */
+    int neighbours(int index, int[] out) {
+        int row = index / size;
+        int col = index - row * size;
+        if (isInterior(row, col)) {
+            int[] offsets = offsets(row);
+            for (int i = 0; i < offsets.length; i++) {
+                out[i] = index + offsets[i];
+            }
+            return offsets.length;
+        }
+        int start = borderStart(row, col);
+        int count = borderEnd(row, col) - start;
+        System.arraycopy(borderCells, start, out, 0, count);
+        return count;
+    }
+
+    /**
+     * Returns how many neighbours of the cell at {@code index} are mines in {@code cells},
+     * walking the offsets or the border list in place.
+     */
+    int countMines(PackedGrid cells, int index) {
+        int row = index / size;
+        int col = index - row * size;
+        int count = 0;
+        if (isInterior(row, col)) {
+            for (int offset : offsets(row)) {
+                if (cells.isMine(index + offset)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        for (int i = borderStart(row, col), end = borderEnd(row, col); i < end; i++) {
+            if (cells.isMine(borderCells[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Numbers the border cells in row-major order: the top band, the left and right strips of
+     * each middle row, then the bottom band.
+     */
+    private int slot(int row, int col) {
+        if (size <= 2 * margin || row < margin) {
+            return row * size + col;
+        }
+        if (row < size - margin) {
+            int side = col < margin ? col : col - size + 2 * margin;
+            return margin * size + (row - margin) * 2 * margin + side;
+        }
+        return margin * size + (size - 2 * margin) * 2 * margin + (row - size + margin) * size + col;
+    }
+}
@@ -0,0 +1,255 @@
+package com.minesweeper;
+
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Generates boards that can be cleared by logic alone, starting with a click on the centre cell
+ * ({@link #getStartIndex()}), which is always an opening.
+ *
+ * <p>Each candidate layout is played by the deterministic rules of {@link Solver} (single-cell
+ * and subset rules, plus the total mine count once every mine is known). When the solver gets
+ * stuck, the undecided mines of one small frontier region are moved to hidden cells away from
+ * the revealed area and the layout is solved again. Only when a repair finds nothing to move,
+ * or after {@link #MAX_REPAIRS} repairs, is the layout rerolled, up to a limit of layouts past
+ * which generation fails. Generation is deterministic per seed, and instances are immutable,
+ * so one generator can be shared by many threads.</p>
+ */
+public class NoGuessGenerator {
+    /**
+     * Local repairs tried on one layout before it is rerolled.
+     */
+    static final int MAX_REPAIRS = 20;
+    /**
+     * Undecided frontier mines within this many rows and columns of the chosen one move with it.
+     */
+    static final int REPAIR_RADIUS = 2;
+    /**
+     * Layouts tried per board by default. Dense configurations that do generate, such as 30x30
+     * with 234 mines or 64x64 with 819, took at most 128 over ten seeds; denser ones, such as
+     * 30x30 with 300 mines, never finish, and the limit turns them into an error after seconds.
+     */
+    public static final int DEFAULT_MAX_LAYOUTS = 1000;
+    private static final int TARGET_SAMPLES = 64;
+
+    private final int size;
+    private final int mines;
+    private final int startIndex;
+    private final int maxLayouts;
+
+    /**
+     * Creates a generator that tries at most {@link #DEFAULT_MAX_LAYOUTS} layouts per board.
+     * @throws IllegalArgumentException if the configuration is invalid or leaves no room for
+     *         the opening around the start cell.
+     */
+    public NoGuessGenerator(int size, int mines) {
+        this(size, mines, DEFAULT_MAX_LAYOUTS);
+    }
+
+    /**
+     * @param maxLayouts the most layouts tried, each with up to {@link #MAX_REPAIRS} repairs,
+     *        before {@link #generate(long)} gives up
+     * @throws IllegalArgumentException if the configuration is invalid or leaves no room for
+     *         the opening around the start cell.
+     */
+    public NoGuessGenerator(int size, int mines, int maxLayouts) {
+        int maxMines = (int) (size * (long) size * 0.35);
+        if (size <= 0 || mines < 0 || mines > maxMines) {
+            throw new IllegalArgumentException("Invalid board configuration: size " + size + ", mines " + mines);
+        }
+        int startArea = Math.min(size, 3) * Math.min(size, 3);
+        if (mines > size * size - startArea) {
+            throw new IllegalArgumentException("No room for an opening: size " + size + ", mines " + mines);
+        }
+        this.size = size;
+        this.mines = mines;
+        if (maxLayouts <= 0) {
+            throw new IllegalArgumentException("Layout limit must be positive.");
+        }
+        this.startIndex = (size / 2) * size + size / 2;
+        this.maxLayouts = maxLayouts;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getMines() {
+        return mines;
+    }
+
+    /**
+     * Returns the cell a player must open first for the board to need no guess: the centre.
+     */
+    public int getStartIndex() {
+        return startIndex;
+    }
+
+    /**
+     * Generates an unplayed board whose layout is determined by (size, mines, seed). The board
+     * carries the seed and is marked {@link Board#isNoGuess() no-guess}, so it can be journaled.
+     * @throws IllegalStateException if no layout without guesses is found within the layout limit.
+     */
+    public Board generate(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        MineBits empty = new MineBits(size);
+        MineBits layer = new MineBits(size);
+        MineBits revealed = new MineBits(size);
+        MineBits flagged = new MineBits(size);
+        for (int layout = 0; layout < maxLayouts; layout++) {
+            Board board = Board.restore(placeMines(random), mines, empty, empty, OptionalLong.of(seed), false);
+            for (int repair = 0; repair <= MAX_REPAIRS; repair++) {
+                Solver solver = new Solver(board);
+                boolean solved = solve(board, solver);
+                if (!solved && !repair(board, solver, random)) {
+                    break;
+                }
+                board.captureLayers(layer, revealed, flagged);
+                board.restoreLayers(layer, empty, empty);
+                if (solved) {
+                    board.markNoGuess();
+                    return board;
+                }
+            }
+        }
+        throw new IllegalStateException("No board without guesses found in " + maxLayouts + " layouts for size "
+                + size + ", mines " + mines + "; use fewer mines.");
+    }
+
+    /**
+     * Generates {@code count} boards in parallel on {@code pool}; board {@code i} is
+     * {@code generate(seed of (seed, i))}, so the result does not depend on the pool.
+     */
+    public Board[] generate(int count, long seed, ForkJoinPool pool) {
+        return pool.submit(() -> IntStream.range(0, count).parallel()
+                .mapToObj(i -> generate(Simulator.gameSeed(seed, i)))
+                .toArray(Board[]::new)).join();
+    }
+
+    /**
+     * Places the mines uniformly at random outside the 3x3 area of the start cell.
+     */
+    private MineBits placeMines(SplittableRandom random) {
+        MineBits layer = new MineBits(size);
+        MinePlacer.place(layer, mines, random);
+        int length = size * size;
+        for (int index = 0; index < length; index++) {
+            int row = index / size;
+            int col = index - row * size;
+            if (inStartArea(index) && layer.get(row, col)) {
+                layer.clear(row, col);
+                int target;
+                do {
+                    target = random.nextInt(length);
+                } while (inStartArea(target) || layer.get(target / size, target % size));
+                layer.set(target / size, target % size);
+            }
+        }
+        return layer;
+    }
+
+    private boolean inStartArea(int index) {
+        return Math.abs(index / size - startIndex / size) <= 1 && Math.abs(index % size - startIndex % size) <= 1;
+    }
+
+    /**
+     * Opens the start cell and then only cells the solver proves safe. Returns true if that wins.
+     */
+    private boolean solve(Board board, Solver solver) {
+        RevealResult changes = new RevealResult(size);
+        int next = startIndex;
+        int cursor = 0;
+        while (next >= 0) {
+            solver.update(board.revealIndex(next, changes));
+            if (board.getState() != GameState.IN_PROGRESS) {
+                return board.getState() == GameState.WON;
+            }
+            next = solver.nextSafeCell();
+            if (next < 0 && solver.getKnownMines() == mines) {
+                // Every mine is known, so any other hidden cell is safe.
+                while (board.isRevealed(cursor / size, cursor % size) || solver.isKnownMine(cursor)) {
+                    cursor++;
+                }
+                next = cursor;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Picks an undecided mine on the frontier and moves it, together with every other undecided
+     * frontier mine within {@link #REPAIR_RADIUS} cells of it, to hidden cells that touch no
+     * revealed cell. Returns false if there is no such mine or no room to move it to.
+     */
+    private boolean repair(Board board, Solver solver, SplittableRandom random) {
+        int length = size * size;
+        int source = -1;
+        int candidates = 0;
+        for (int index = 0; index < length; index++) {
+            if (isUndecidedFrontierMine(board, solver, index) && random.nextInt(++candidates) == 0) {
+                source = index;
+            }
+        }
+        if (source < 0) {
+            return false;
+        }
+        int row = source / size;
+        int col = source % size;
+        boolean moved = false;
+        for (int i = Math.max(row - REPAIR_RADIUS, 0); i <= Math.min(row + REPAIR_RADIUS, size - 1); i++) {
+            for (int j = Math.max(col - REPAIR_RADIUS, 0); j <= Math.min(col + REPAIR_RADIUS, size - 1); j++) {
+                int index = i * size + j;
+                if (isUndecidedFrontierMine(board, solver, index)) {
+                    int target = interiorCell(board, random);
+                    if (target < 0) {
+                        return moved;
+                    }
+                    board.setMineAt(i, j, false);
+                    board.setMineAt(target / size, target % size, true);
+                    moved = true;
+                }
+            }
+        }
+        return moved;
+    }
+
+    private boolean isUndecidedFrontierMine(Board board, Solver solver, int index) {
+        return board.isMine(index / size, index % size) && !solver.isKnownMine(index) && touchesRevealed(board, index);
+    }
+
+    /**
+     * Returns a random hidden safe cell, preferring one that touches no revealed cell so that the
+     * solved part of the board stays as it is. Returns -1 if random probes find none; late in the
+     * game, rerolling is cheaper than shuffling mines among the last hidden cells.
+     */
+    private int interiorCell(Board board, SplittableRandom random) {
+        int length = size * size;
+        int fallback = -1;
+        for (int attempt = 0; attempt < TARGET_SAMPLES; attempt++) {
+            int target = random.nextInt(length);
+            if (board.isMine(target / size, target % size) || board.isRevealed(target / size, target % size)) {
+                continue;
+            }
+            if (!touchesRevealed(board, target)) {
+                return target;
+            }
+            fallback = target;
+        }
+        return fallback;
+    }
+
+    private boolean touchesRevealed(Board board, int index) {
+        int row = index / size;
+        int col = index % size;
+        for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, size - 1); i++) {
+            for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, size - 1); j++) {
+                if (board.isRevealed(i, j)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,196 @@
+package com.minesweeper;
+
+import java.util.Arrays;
+
+/**
+ * The openings of a mine layout: every 8-connected region of safe zero cells together with its
+ * numbered border. Each region is labelled once by a search, so revealing an opening afterwards
+ * is a walk over a precomputed index range.
+ * Members are stored in compressed rows: the cells of opening {@code id} are
+ * {@code cells()[start(id)]} up to {@code cells()[end(id)]}. A numbered cell bordering several
+ * openings appears in each of them.
+ * The index describes the layout it was built from; it must be rebuilt when a mine moves.
+ * It holds a 4-byte label per cell and a 4-byte entry per opening member, so it takes 4 to 8
+ * bytes per cell (a little more where numbered cells border several openings), several times
+ * the board's own byte per cell.
+ * Boards of other topologies than {@link Topology#SQUARE} pass their {@link NeighbourTable}.
+ */
+final class OpeningIndex {
+    private static final int MINE_OR_COUNT = PackedGrid.MINE | PackedGrid.COUNT_MASK;
+
+    /**
+     * Per cell: {@code ~id} for a zero cell of opening {@code id}; for a numbered cell, one more
+     * than the last opening it was added to, or 0 if it borders none.
+     */
+    private final int[] labels;
+    private final int size;
+    private final NeighbourTable neighbours;
+    private int[] offsets = new int[16];
+    private int[] members;
+    private int memberCount;
+    private int openings;
+    private int labelled;
+    private int isolatedNumbers;
+    private int[] stack = new int[64];
+    private int top;
+
+    private OpeningIndex(int size, NeighbourTable neighbours) {
+        this.size = size;
+        this.neighbours = neighbours;
+        this.labels = new int[size * size];
+        this.members = new int[Math.max(64, labels.length / 2)];
+    }
+
+    /**
+     * Labels the openings of the mine layout of {@code cells}. Runs in O(cells) time.
+     */
+    static OpeningIndex build(PackedGrid cells) {
+        return build(cells, null);
+    }
+
+    /**
+     * Labels the openings of {@code cells} with the given neighbours, or the square grid's if null.
+     */
+    static OpeningIndex build(PackedGrid cells, NeighbourTable neighbours) {
+        OpeningIndex index = new OpeningIndex(cells.size(), neighbours);
+        index.label(cells);
+        return index;
+    }
+
+    private void label(PackedGrid cells) {
+        int length = labels.length;
+        int mines = 0;
+        for (int start = 0; start < length; start++) {
+            int bits = cells.bits(start);
+            if ((bits & PackedGrid.MINE) != 0) {
+                mines++;
+            } else if ((bits & PackedGrid.COUNT_MASK) == 0 && labels[start] == 0) {
+                if (openings + 1 == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                offsets[openings] = memberCount;
+                search(cells, start, openings++);
+            }
+        }
+        offsets[openings] = memberCount;
+        isolatedNumbers = length - mines - labelled;
+        stack = null;
+        // Keep only what the index holds for its lifetime.
+        offsets = Arrays.copyOf(offsets, openings + 1);
+        members = Arrays.copyOf(members, memberCount);
+    }
+
+    /**
+     * Adds the zero cell {@code start} and everything it opens to opening {@code id}.
+     */
+    private void search(PackedGrid cells, int start, int id) {
+        labels[start] = ~id;
+        labelled++;
+        addMember(start);
+        stack[top++] = start;
+        int last = size - 1;
+        while (top > 0) {
+            int index = stack[--top];
+            int row = index / size;
+            int col = index - row * size;
+            if (neighbours != null) {
+                visitNeighbours(cells, index, row, col, id);
+            } else if (row > 0 && row < last && col > 0 && col < last) {
+                visit(cells, index - size - 1, id);
+                visit(cells, index - size, id);
+                visit(cells, index - size + 1, id);
+                visit(cells, index - 1, id);
+                visit(cells, index + 1, id);
+                visit(cells, index + size - 1, id);
+                visit(cells, index + size, id);
+                visit(cells, index + size + 1, id);
+            } else {
+                for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, last); i++) {
+                    for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, last); j++) {
+                        visit(cells, i * size + j, id);
+                    }
+                }
+            }
+        }
+    }
+
+    private void visitNeighbours(PackedGrid cells, int index, int row, int col, int id) {
+        if (neighbours.isInterior(row, col)) {
+            for (int offset : neighbours.offsets(row)) {
+                visit(cells, index + offset, id);
+            }
+        } else {
+            int[] borderCells = neighbours.borderCells();
+            for (int i = neighbours.borderStart(row, col), end = neighbours.borderEnd(row, col); i < end; i++) {
+                visit(cells, borderCells[i], id);
+            }
+        }
+    }
+
+    private void visit(PackedGrid cells, int index, int id) {
+        int label = labels[index];
+        if ((cells.bits(index) & MINE_OR_COUNT) == 0) {
+            if (label == 0) {
+                labels[index] = ~id;
+                labelled++;
+                addMember(index);
+                if (top == stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[top++] = index;
+            }
+        } else if (label != id + 1) {
+            // Neighbours of a zero cell are never mines, so this is a numbered border cell.
+            if (label == 0) {
+                labelled++;
+            }
+            labels[index] = id + 1;
+            addMember(index);
+        }
+    }
+
+    private void addMember(int index) {
+        if (memberCount == members.length) {
+            members = Arrays.copyOf(members, members.length * 2);
+        }
+        members[memberCount++] = index;
+    }
+
+    /**
+     * Returns the opening whose zero cells include {@code index}, or -1 if it is not a safe zero cell.
+     */
+    int openingOf(int index) {
+        int label = labels[index];
+        return label < 0 ? ~label : -1;
+    }
+
+    /**
+     * Returns the number of openings.
+     */
+    int openingCount() {
+        return openings;
+    }
+
+    /**
+     * Returns the 3BV of the layout: the minimum number of clicks that clears it, one per opening
+     * and one per numbered cell that borders no opening.
+     */
+    int bbbv() {
+        return openings + isolatedNumbers;
+    }
+
+    int start(int opening) {
+        return offsets[opening];
+    }
+
+    int end(int opening) {
+        return offsets[opening + 1];
+    }
+
+    /**
+     * Returns the member cells of all openings; see {@link #start(int)} and {@link #end(int)}.
+     */
+    int[] cells() {
+        return members;
+    }
+}
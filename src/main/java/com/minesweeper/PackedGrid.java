@@ -0,0 +1,167 @@
+package com.minesweeper;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Compact storage for the Minesweeper grid.
+ * Every cell is packed into a single byte of a flat array:
+ * bits 0-3 hold the number of neighbouring mines (0-8), bit 4 marks a mine,
+ * bit 5 marks a revealed cell and bit 6 marks a flagged cell.
+ * Cells are addressed by their row-major index ({@code row * size + col}).
+ * The atomic methods let several threads reveal and flag cells of one grid;
+ * mine bits and counts must not change while the grid is shared.
+ */
+final class PackedGrid {
+    static final int COUNT_MASK = 0x0F;
+    static final int MINE = 0x10;
+    static final int REVEALED = 0x20;
+    static final int FLAGGED = 0x40;
+
+    private static final VarHandle CELL = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private final int size;
+    private final byte[] cells;
+
+    PackedGrid(int size) {
+        long length = (long) size * size;
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Board size is too large: " + size);
+        }
+        this.size = size;
+        this.cells = new byte[(int) length];
+    }
+
+    /**
+     * Returns a copy of this grid.
+     */
+    PackedGrid copy() {
+        PackedGrid copy = new PackedGrid(size);
+        System.arraycopy(cells, 0, copy.cells, 0, cells.length);
+        return copy;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of cells in the grid.
+     */
+    int length() {
+        return cells.length;
+    }
+
+    int index(int row, int col) {
+        return row * size + col;
+    }
+
+    /**
+     * Returns the raw packed bits of the cell at the given index.
+     */
+    int bits(int index) {
+        return cells[index];
+    }
+
+    /**
+     * Overwrites the packed bits of the cell at the given index.
+     */
+    void setBits(int index, int bits) {
+        cells[index] = (byte) bits;
+    }
+
+    boolean isMine(int index) {
+        return (cells[index] & MINE) != 0;
+    }
+
+    void setMine(int index, boolean mine) {
+        if (mine) {
+            cells[index] |= MINE;
+        } else {
+            cells[index] &= ~MINE;
+        }
+    }
+
+    boolean isRevealed(int index) {
+        return (cells[index] & REVEALED) != 0;
+    }
+
+    /**
+     * Marks the cell as revealed. Revealing a cell clears its flag.
+     */
+    void reveal(int index) {
+        cells[index] = (byte) ((cells[index] | REVEALED) & ~FLAGGED);
+    }
+
+    boolean isFlagged(int index) {
+        return (cells[index] & FLAGGED) != 0;
+    }
+
+    void setFlagged(int index, boolean flagged) {
+        if (flagged) {
+            cells[index] |= FLAGGED;
+        } else {
+            cells[index] &= ~FLAGGED;
+        }
+    }
+
+    /**
+     * Returns the adjacent mine count of a safe cell, or 0 for a mine.
+     */
+    int adjacentMines(int index) {
+        int bits = cells[index];
+        return (bits & MINE) != 0 ? 0 : bits & COUNT_MASK;
+    }
+
+    /**
+     * Returns the stored neighbour count, which is kept for mines as well.
+     */
+    int neighbourMines(int index) {
+        return cells[index] & COUNT_MASK;
+    }
+
+    void setAdjacentMines(int index, int count) {
+        cells[index] = (byte) ((cells[index] & ~COUNT_MASK) | (count & COUNT_MASK));
+    }
+
+    /**
+     * Atomically marks the cell as revealed and clears its flag.
+     * @return the bits the cell had before, or -1 if it was already revealed
+     */
+    int revealAtomic(int index) {
+        while (true) {
+            byte bits = (byte) CELL.getVolatile(cells, index);
+            if ((bits & REVEALED) != 0) {
+                return -1;
+            }
+            if (CELL.compareAndSet(cells, index, bits, (byte) ((bits | REVEALED) & ~FLAGGED))) {
+                return bits;
+            }
+        }
+    }
+
+    /**
+     * Hides a cell this thread claimed with {@link #revealAtomic(int)} again, restoring the bits
+     * it returned. No other thread can change a revealed cell, so a volatile write is enough.
+     */
+    void unrevealAtomic(int index, int bits) {
+        CELL.setVolatile(cells, index, (byte) bits);
+    }
+
+    /**
+     * Atomically toggles the flag of a hidden cell.
+     * @return the new bits of the cell, or -1 if it is revealed
+     */
+    int toggleFlagAtomic(int index) {
+        while (true) {
+            byte bits = (byte) CELL.getVolatile(cells, index);
+            if ((bits & REVEALED) != 0) {
+                return -1;
+            }
+            byte flipped = (byte) (bits ^ FLAGGED);
+            if (CELL.compareAndSet(cells, index, bits, flipped)) {
+                return flipped;
+            }
+        }
+    }
+}
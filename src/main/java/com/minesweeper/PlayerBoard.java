@@ -0,0 +1,142 @@
+package com.minesweeper;
+
+/**
+ * One player's game on a shared {@link BoardLayout}: only the player's reveals are stored, one
+ * bit per cell, plus a flag bitset allocated on the first flag. Counts and openings are read from
+ * the layout, so a zero cell reveals its whole precomputed opening without a search.
+ * First-click-safe mode is not supported, since the layout is shared and its mines never move.
+ * Like {@link Board}, a player board is not thread safe.
+ */
+public class PlayerBoard implements GameStatus {
+    private final BoardLayout layout;
+    private final PackedGrid cells;
+    private final long[] revealed;
+    private long[] flagged;
+    private int revealedCount;
+    private int safeCellsRemaining;
+    private int flagCount;
+    private boolean mineHit;
+
+    PlayerBoard(BoardLayout layout) {
+        this.layout = layout;
+        this.cells = layout.cells();
+        this.revealed = new long[(cells.length() + 63) >>> 6];
+        this.safeCellsRemaining = cells.length() - layout.getTotalMines();
+    }
+
+    public BoardLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Reveals the cell at (row, col), recording the cells that changed into {@code into},
+     * which is cleared first and returned. Moves after the game is over change nothing.
+     */
+    public RevealResult reveal(int row, int col, RevealResult into) {
+        int index = layout.checkedIndex(row, col);
+        into.clear();
+        if (getState() == GameState.IN_PROGRESS && !isRevealed(index)) {
+            markRevealed(index);
+            into.add(index, cells.adjacentMines(index));
+            if (cells.isMine(index)) {
+                mineHit = true;
+                into.setMineHit(true);
+            } else if (cells.adjacentMines(index) == 0) {
+                revealOpening(index, into);
+            }
+        }
+        into.setState(getState());
+        return into;
+    }
+
+    private void revealOpening(int index, RevealResult into) {
+        OpeningIndex openings = layout.openings();
+        int[] members = openings.cells();
+        int opening = openings.openingOf(index);
+        for (int i = openings.start(opening), end = openings.end(opening); i < end; i++) {
+            int cell = members[i];
+            if (!isRevealed(cell)) {
+                markRevealed(cell);
+                into.add(cell, cells.adjacentMines(cell));
+            }
+        }
+    }
+
+    private void markRevealed(int index) {
+        revealed[index >>> 6] |= 1L << index;
+        if (flagged != null && (flagged[index >>> 6] & 1L << index) != 0) {
+            flagged[index >>> 6] &= ~(1L << index);
+            flagCount--;
+        }
+        revealedCount++;
+        if (!cells.isMine(index)) {
+            safeCellsRemaining--;
+        }
+    }
+
+    /**
+     * Toggles the flag of a hidden cell. Returns true if the cell is now flagged.
+     */
+    public boolean toggleFlag(int row, int col) {
+        int index = layout.checkedIndex(row, col);
+        if (isRevealed(index)) {
+            return false;
+        }
+        if (flagged == null) {
+            flagged = new long[revealed.length];
+        }
+        long word = flagged[index >>> 6] ^= 1L << index;
+        boolean nowFlagged = (word & 1L << index) != 0;
+        flagCount += nowFlagged ? 1 : -1;
+        return nowFlagged;
+    }
+
+    public int getSize() {
+        return layout.getSize();
+    }
+
+    public boolean isRevealed(int row, int col) {
+        return isRevealed(layout.checkedIndex(row, col));
+    }
+
+    public boolean isFlagged(int row, int col) {
+        int index = layout.checkedIndex(row, col);
+        return flagged != null && (flagged[index >>> 6] & 1L << index) != 0;
+    }
+
+    public int getAdjacentMines(int row, int col) {
+        return cells.adjacentMines(layout.checkedIndex(row, col));
+    }
+
+    private boolean isRevealed(int index) {
+        return (revealed[index >>> 6] & 1L << index) != 0;
+    }
+
+    @Override
+    public GameState getState() {
+        if (mineHit) {
+            return GameState.LOST;
+        }
+        return safeCellsRemaining == 0 ? GameState.WON : GameState.IN_PROGRESS;
+    }
+
+    @Override
+    public int getTotalMines() {
+        return layout.getTotalMines();
+    }
+
+    @Override
+    public int getRevealedCount() {
+        return revealedCount;
+    }
+
+    @Override
+    public int getSafeCellsRemaining() {
+        return safeCellsRemaining;
+    }
+
+    @Override
+    public int getMinesLeft() {
+        return layout.getTotalMines() - flagCount;
+    }
+}
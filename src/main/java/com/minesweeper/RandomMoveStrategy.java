@@ -0,0 +1,39 @@
+package com.minesweeper;
+
+import java.util.SplittableRandom;
+
+/**
+ * Reveals unrevealed cells in uniformly random order.
+ * Cells are drawn from an incrementally shuffled index pool, so each move costs O(1) amortised.
+ */
+public class RandomMoveStrategy implements MoveStrategy {
+    private final SplittableRandom random;
+    private int[] pool;
+    private int remaining;
+
+    public RandomMoveStrategy(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int nextMove(Board board) {
+        if (pool == null) {
+            remaining = board.getSize() * board.getSize();
+            pool = new int[remaining];
+            for (int i = 0; i < remaining; i++) {
+                pool[i] = i;
+            }
+        }
+        int size = board.getSize();
+        while (remaining > 0) {
+            int pick = random.nextInt(remaining);
+            int index = pool[pick];
+            pool[pick] = pool[--remaining];
+            pool[remaining] = index;
+            if (!board.isRevealed(index / size, index % size)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+}
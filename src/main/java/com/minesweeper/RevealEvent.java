@@ -0,0 +1,35 @@
+package com.minesweeper;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for one reveal, emitted by {@link BoardMetrics}.
+ */
+@Name("minesweeper.Reveal")
+@Label("Reveal")
+@Category("Minesweeper")
+@Description("A cell reveal, including any flood fill it started")
+final class RevealEvent extends jdk.jfr.Event {
+    @Label("Board Size")
+    int boardSize;
+
+    @Label("Row")
+    int row;
+
+    @Label("Column")
+    int column;
+
+    @Label("Cells Revealed")
+    int cellsRevealed;
+
+    @Label("Mine Hit")
+    boolean mineHit;
+
+    @Label("Reveal Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long revealNanos;
+}
@@ -0,0 +1,103 @@
+package com.minesweeper;
+
+import java.util.Arrays;
+
+/**
+ * Change set of one or more reveals: the cells that became revealed, in reveal order,
+ * their adjacent mine counts and the game state afterwards.
+ * Cells are identified by their row-major index ({@code row * size + col}).
+ * A result can be passed back to the board to be reused, so steady-state moves do not allocate.
+ */
+public final class RevealResult {
+    private final int boardSize;
+    private int[] indices = new int[16];
+    private byte[] counts = new byte[16];
+    private int changed;
+    private boolean mineHit;
+    private GameState state = GameState.IN_PROGRESS;
+
+    public RevealResult(int boardSize) {
+        this.boardSize = boardSize;
+    }
+
+    /**
+     * Returns the number of cells revealed.
+     */
+    public int getChangedCount() {
+        return changed;
+    }
+
+    public int getIndex(int i) {
+        checkPosition(i);
+        return indices[i];
+    }
+
+    public int getRow(int i) {
+        return getIndex(i) / boardSize;
+    }
+
+    public int getColumn(int i) {
+        return getIndex(i) % boardSize;
+    }
+
+    /**
+     * Returns the adjacent mine count of the i-th changed cell (0 for a mine).
+     */
+    public int getAdjacentMines(int i) {
+        checkPosition(i);
+        return counts[i];
+    }
+
+    /**
+     * Returns the backing index buffer. Only the first {@link #getChangedCount()} entries are valid,
+     * and the buffer is overwritten when the result is reused.
+     */
+    public int[] indices() {
+        return indices;
+    }
+
+    /**
+     * Returns true if one of the revealed cells was a mine.
+     */
+    public boolean isMineHit() {
+        return mineHit;
+    }
+
+    public GameState getState() {
+        return state;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    void clear() {
+        changed = 0;
+        mineHit = false;
+        state = GameState.IN_PROGRESS;
+    }
+
+    void add(int index, int adjacentMines) {
+        if (changed == indices.length) {
+            indices = Arrays.copyOf(indices, changed * 2);
+            counts = Arrays.copyOf(counts, changed * 2);
+        }
+        indices[changed] = index;
+        counts[changed] = (byte) adjacentMines;
+        changed++;
+    }
+
+    void setMineHit(boolean mineHit) {
+        this.mineHit = mineHit;
+    }
+
+    void setState(GameState state) {
+        this.state = state;
+    }
+
+    private void checkPosition(int i) {
+        if (i < 0 || i >= changed) {
+            throw new IndexOutOfBoundsException("Change " + i + " of " + changed);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.minesweeper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Non-interactive mode: plays a move script (see {@link MoveParser}) on a seeded board and prints
+ * the outcome, for replay and regression pipelines. Moves are parsed in batches and consecutive
+ * reveals are applied with one {@link Board#revealCells(int[], int, RevealResult)} call, so nothing
+ * is allocated per move. The script stops being read once the game is over.
+ * Usage: {@code ScriptRunner [--size N] [--mines N] [--seed N] [--first-click-safe] [--batch N] [FILE]};
+ * the script is read from standard input when no file is given.
+ */
+public class ScriptRunner {
+    static final int DEFAULT_BATCH = 4096;
+
+    private final Board board;
+    private final int[] moves;
+    private final int[] reveals;
+    private final RevealResult changes;
+    private long movesRead;
+
+    public ScriptRunner(Board board, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive.");
+        }
+        this.board = board;
+        this.moves = new int[batchSize];
+        this.reveals = new int[batchSize];
+        this.changes = new RevealResult(board.getSize());
+    }
+
+    /**
+     * Plays every move of {@code in} on the board until the script ends or the game is over,
+     * and returns the state of the game.
+     * @throws IllegalArgumentException if the script is malformed.
+     */
+    public GameState play(InputStream in) throws IOException {
+        MoveParser parser = new MoveParser(in, board.getSize());
+        int count;
+        while (board.getState() == GameState.IN_PROGRESS && (count = parser.read(moves)) > 0) {
+            movesRead += count;
+            apply(count);
+        }
+        return board.getState();
+    }
+
+    /**
+     * Applies the first {@code count} parsed moves in order, batching runs of reveals.
+     */
+    private void apply(int count) {
+        int pending = 0;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            if (!MoveParser.isFlag(move)) {
+                reveals[pending++] = move;
+                continue;
+            }
+            board.revealCells(reveals, pending, changes);
+            pending = 0;
+            if (board.getState() != GameState.IN_PROGRESS) {
+                return;
+            }
+            int index = MoveParser.cellIndex(move);
+            board.toggleFlag(index / board.getSize(), index % board.getSize());
+        }
+        board.revealCells(reveals, pending, changes);
+    }
+
+    /**
+     * Returns the number of moves parsed so far, including any after the move that ended the game
+     * in the same batch.
+     */
+    public long getMovesRead() {
+        return movesRead;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int size = 9;
+        int mines = 10;
+        long seed = 1;
+        boolean firstClickSafe = false;
+        int batch = DEFAULT_BATCH;
+        Path script = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--size":
+                        size = Integer.parseInt(args[++i]);
+                        break;
+                    case "--mines":
+                        mines = Integer.parseInt(args[++i]);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(args[++i]);
+                        break;
+                    case "--first-click-safe":
+                        firstClickSafe = true;
+                        break;
+                    case "--batch":
+                        batch = Integer.parseInt(args[++i]);
+                        break;
+                    default:
+                        if (args[i].startsWith("--") || script != null) {
+                            throw new IllegalArgumentException("Unknown option: " + args[i]);
+                        }
+                        script = Path.of(args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid arguments: " + e.getMessage(), e);
+        }
+
+        Board board = new Board(size, mines, seed);
+        board.setFirstClickSafe(firstClickSafe);
+        ScriptRunner runner = new ScriptRunner(board, batch);
+        long start = System.nanoTime();
+        GameState state;
+        try (InputStream in = script == null ? System.in : Files.newInputStream(script)) {
+            state = runner.play(in);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%s after %d moves: %d cells revealed, %d mines left, %.3f s (%.0f moves/s)%n",
+                state, runner.getMovesRead(), board.getRevealedCount(), board.getMinesLeft(),
+                seconds, runner.getMovesRead() / Math.max(seconds, 1e-9));
+    }
+}
@@ -0,0 +1,223 @@
+package com.minesweeper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Holds the open {@link GameSession}s of a server by id.
+ * Sessions not used for longer than the idle timeout are evicted by a background sweep,
+ * so abandoned games do not pin their boards in memory. Both the number of sessions and the
+ * size of their boards are capped, so clients cannot exhaust the heap.
+ */
+public class SessionManager implements AutoCloseable {
+    /**
+     * The default largest board side, a million cells.
+     */
+    public static final int DEFAULT_MAX_BOARD_SIZE = 1000;
+    /**
+     * The largest board side of a no-guess game, whose generation solves many candidate layouts.
+     */
+    public static final int MAX_NO_GUESS_BOARD_SIZE = 64;
+
+    private final ConcurrentHashMap<Long, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final int maxSessions;
+    private final long idleTimeoutNanos;
+    private final LongSupplier clock;
+    private final BoardPool pool;
+    private final LayoutCache layouts;
+    private volatile int maxBoardSize = DEFAULT_MAX_BOARD_SIZE;
+    private ScheduledExecutorService evictor;
+
+    /**
+     * @param maxSessions the most sessions open at once
+     * @param idleTimeoutMillis how long a session may go unused before it is evicted
+     */
+    public SessionManager(int maxSessions, long idleTimeoutMillis) {
+        this(maxSessions, idleTimeoutMillis, null);
+    }
+
+    /**
+     * @param pool supplies the boards of games without a seed, or null to build them on demand
+     */
+    public SessionManager(int maxSessions, long idleTimeoutMillis, BoardPool pool) {
+        this(maxSessions, idleTimeoutMillis, pool, (LayoutCache) null);
+    }
+
+    /**
+     * @param layouts shares the layouts of seeded games, or null to build every seeded board
+     */
+    public SessionManager(int maxSessions, long idleTimeoutMillis, BoardPool pool, LayoutCache layouts) {
+        this(maxSessions, idleTimeoutMillis, pool, layouts, System::nanoTime);
+    }
+
+    SessionManager(int maxSessions, long idleTimeoutMillis, BoardPool pool, LongSupplier clock) {
+        this(maxSessions, idleTimeoutMillis, pool, null, clock);
+    }
+
+    SessionManager(int maxSessions, long idleTimeoutMillis, BoardPool pool, LayoutCache layouts, LongSupplier clock) {
+        if (maxSessions <= 0 || idleTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Session limit and idle timeout must be positive.");
+        }
+        this.maxSessions = maxSessions;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.clock = clock;
+        this.pool = pool;
+        this.layouts = layouts;
+    }
+
+    /**
+     * Sets the largest board side a session may request.
+     */
+    public void setMaxBoardSize(int maxBoardSize) {
+        if (maxBoardSize <= 0) {
+            throw new IllegalArgumentException("Board size limit must be positive.");
+        }
+        this.maxBoardSize = maxBoardSize;
+    }
+
+    public int getMaxBoardSize() {
+        return maxBoardSize;
+    }
+
+    /**
+     * Starts evicting idle sessions in the background, checking every tenth of the idle timeout.
+     */
+    public synchronized void startEviction() {
+        if (evictor != null) {
+            return;
+        }
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "minesweeper-session-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, idleTimeoutNanos / 10);
+        evictor.scheduleAtFixedRate(this::evictIdle, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Creates a session with a new board. A null seed deals a random layout.
+     * @throws IllegalArgumentException if the board is larger than the board size limit.
+     * @throws IllegalStateException if the session limit is reached.
+     */
+    public GameSession create(int size, int mines, Long seed) {
+        return create(size, mines, seed, false);
+    }
+
+    /**
+     * Creates a session with a new board, which with {@code noGuess} comes from a
+     * {@link NoGuessGenerator} and is cleared without guessing from its centre cell.
+     * A null seed deals a random layout.
+     * @throws IllegalArgumentException if the board is larger than the board size limit, or than
+     *         {@link #MAX_NO_GUESS_BOARD_SIZE} for a no-guess board.
+     * @throws IllegalStateException if the session limit is reached, or no no-guess layout is found.
+     */
+    public GameSession create(int size, int mines, Long seed, boolean noGuess) {
+        int limit = noGuess ? Math.min(maxBoardSize, MAX_NO_GUESS_BOARD_SIZE) : maxBoardSize;
+        if (size > limit) {
+            throw new IllegalArgumentException("Board size must be at most " + limit + ".");
+        }
+        // Reserve the slot before building the board, so concurrent creates cannot exceed the limit.
+        if (reserved.incrementAndGet() > maxSessions) {
+            reserved.decrementAndGet();
+            throw new IllegalStateException("Too many sessions.");
+        }
+        boolean created = false;
+        try {
+            Board board = noGuess ? newNoGuessBoard(size, mines, seed) : newBoard(size, mines, seed);
+            board.setFirstClickSafe(true);
+            GameSession session = new GameSession(nextId.getAndIncrement(), board);
+            session.touch(clock.getAsLong());
+            sessions.put(session.getId(), session);
+            created = true;
+            return session;
+        } finally {
+            if (!created) {
+                reserved.decrementAndGet();
+            }
+        }
+    }
+
+    private Board newBoard(int size, int mines, Long seed) {
+        Board board;
+        if (seed != null && layouts != null) {
+            board = layouts.get(size, mines, seed).newBoard();
+        } else if (seed != null) {
+            board = new Board(size, mines, seed);
+        } else if (pool != null) {
+            board = pool.take(size, mines);
+        } else {
+            board = new Board(size, mines);
+        }
+        return board;
+    }
+
+    private static Board newNoGuessBoard(int size, int mines, Long seed) {
+        long layoutSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        return new NoGuessGenerator(size, mines).generate(layoutSeed);
+    }
+
+    /**
+     * Returns the session with the given id and marks it as used, or null if there is none.
+     */
+    public GameSession get(long id) {
+        GameSession session = sessions.get(id);
+        if (session != null) {
+            session.touch(clock.getAsLong());
+        }
+        return session;
+    }
+
+    /**
+     * Marks the session as used so it is not evicted.
+     */
+    public void touch(GameSession session) {
+        session.touch(clock.getAsLong());
+    }
+
+    public void remove(long id) {
+        if (sessions.remove(id) != null) {
+            reserved.decrementAndGet();
+        }
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Removes every session idle for longer than the timeout and returns how many were removed.
+     */
+    int evictIdle() {
+        long now = clock.getAsLong();
+        int evicted = 0;
+        for (Map.Entry<Long, GameSession> entry : sessions.entrySet()) {
+            if (now - entry.getValue().getLastActive() > idleTimeoutNanos
+                    && sessions.remove(entry.getKey(), entry.getValue())) {
+                reserved.decrementAndGet();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+            evictor = null;
+        }
+        for (Long id : sessions.keySet()) {
+            remove(id);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.minesweeper;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A board that many players reveal at the same time, for cooperative games.
+ * Every cell is claimed with a compare-and-set on its packed byte, so overlapping flood fills
+ * reveal and count each cell exactly once. The game state and the safe cells remaining share one
+ * atomic word: each claimed safe cell is counted down in it, and a detonation sets a lost bit in
+ * it, each only while the count is positive and the bit clear. So the cell that takes the count
+ * to zero wins unless a mine was hit first, a mine loses unless every safe cell was counted first,
+ * and a cell claimed after the game ended is hidden again. Moves arriving after that change
+ * nothing. First-click-safe mode is not supported, since moving a mine would change counts under
+ * other players.
+ */
+public class SharedBoard implements GameStatus {
+    /** Set in {@link #outcome} once a mine has been revealed. */
+    private static final int LOST = Integer.MIN_VALUE;
+
+    private final int size;
+    private final int totalMines;
+    private final PackedGrid cells;
+    private final ThreadLocal<FloodFill> floodFills;
+    private final AtomicInteger revealedCount = new AtomicInteger();
+    /** The safe cells remaining, with {@link #LOST} set after a detonation. */
+    private final AtomicInteger outcome;
+    private final AtomicInteger flagCount = new AtomicInteger();
+
+    /**
+     * Creates a shared board whose layout is determined by (size, totalMines, seed).
+     */
+    public SharedBoard(int size, int totalMines, long seed) {
+        this(new Board(size, totalMines, seed));
+    }
+
+    /**
+     * Creates a shared board with the mine layout of {@code layout}, which must not have been played.
+     */
+    public SharedBoard(Board layout) {
+        if (layout.getRevealedCount() > 0 || layout.getMinesLeft() != layout.getTotalMines()) {
+            throw new IllegalArgumentException("Board has already been played.");
+        }
+        this.size = layout.getSize();
+        this.totalMines = layout.getTotalMines();
+        this.cells = layout.packedGrid().copy();
+        NeighbourTable neighbours = layout.neighbourTable();
+        this.floodFills = ThreadLocal.withInitial(
+                () -> new FloodFill(cells, this::countSafeCell, neighbours));
+        this.outcome = new AtomicInteger(cells.length() - totalMines);
+    }
+
+    /**
+     * Reveals the cell at (row, col), recording the cells this call revealed into {@code into},
+     * which is cleared first and returned. Cells revealed concurrently by other players are
+     * reported to them, not here.
+     */
+    public RevealResult reveal(int row, int col, RevealResult into) {
+        if (row < 0 || row >= size || col < 0 || col >= size) {
+            throw new IllegalArgumentException("Invalid cell coordinates.");
+        }
+        into.clear();
+        if (getState() == GameState.IN_PROGRESS) {
+            reveal(cells.index(row, col), into);
+        }
+        into.setState(getState());
+        return into;
+    }
+
+    private void reveal(int index, RevealResult into) {
+        if (cells.isMine(index)) {
+            // Mines never move, so deciding the game first means a click that lost the race
+            // to a win (or to another mine) leaves the board untouched.
+            if (!lose()) {
+                return;
+            }
+            int bits = cells.revealAtomic(index);
+            into.add(index, 0);
+            into.setMineHit(true);
+            revealedCount.incrementAndGet();
+            if ((bits & PackedGrid.FLAGGED) != 0) {
+                flagCount.decrementAndGet();
+            }
+            return;
+        }
+        int bits = cells.revealAtomic(index);
+        if (bits < 0) {
+            return; // already revealed
+        }
+        if (!countSafeCell()) {
+            cells.unrevealAtomic(index, bits); // lost to another player's mine since the move began
+            return;
+        }
+        int flagsCleared = (bits & PackedGrid.FLAGGED) != 0 ? 1 : 0;
+        int count = bits & PackedGrid.COUNT_MASK;
+        into.add(index, count);
+        int revealed = 1;
+        if (count == 0) {
+            FloodFill floodFill = floodFills.get();
+            revealed += floodFill.fill(index, into);
+            flagsCleared += floodFill.flagsCleared();
+        }
+        revealedCount.addAndGet(revealed);
+        if (flagsCleared > 0) {
+            flagCount.addAndGet(-flagsCleared);
+        }
+    }
+
+    /**
+     * Counts down a safe cell this thread has just claimed. Returns false, counting nothing, if
+     * the game is already over; the caller then hides the cell again.
+     */
+    private boolean countSafeCell() {
+        while (true) {
+            int current = outcome.get();
+            if (current <= 0) {
+                return false;
+            }
+            if (outcome.compareAndSet(current, current - 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ends the game as lost. Returns false if it was already won or lost.
+     */
+    private boolean lose() {
+        while (true) {
+            int current = outcome.get();
+            if (current <= 0) {
+                return false;
+            }
+            if (outcome.compareAndSet(current, current | LOST)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Toggles the flag of a hidden cell. Returns true if the cell is now flagged.
+     */
+    public boolean toggleFlag(int row, int col) {
+        if (row < 0 || row >= size || col < 0 || col >= size) {
+            throw new IllegalArgumentException("Invalid cell coordinates.");
+        }
+        int bits = cells.toggleFlagAtomic(cells.index(row, col));
+        if (bits < 0) {
+            return false;
+        }
+        boolean flagged = (bits & PackedGrid.FLAGGED) != 0;
+        flagCount.addAndGet(flagged ? 1 : -1);
+        return flagged;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isRevealed(int row, int col) {
+        return cells.isRevealed(cells.index(row, col));
+    }
+
+    public boolean isFlagged(int row, int col) {
+        return cells.isFlagged(cells.index(row, col));
+    }
+
+    public int getAdjacentMines(int row, int col) {
+        return cells.adjacentMines(cells.index(row, col));
+    }
+
+    @Override
+    public GameState getState() {
+        int current = outcome.get();
+        return current < 0 ? GameState.LOST : current == 0 ? GameState.WON : GameState.IN_PROGRESS;
+    }
+
+    @Override
+    public int getTotalMines() {
+        return totalMines;
+    }
+
+    @Override
+    public int getRevealedCount() {
+        return revealedCount.get();
+    }
+
+    @Override
+    public int getSafeCellsRemaining() {
+        return outcome.get() & ~LOST;
+    }
+
+    @Override
+    public int getMinesLeft() {
+        return totalMines - flagCount.get();
+    }
+}
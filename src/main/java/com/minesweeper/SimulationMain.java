@@ -0,0 +1,74 @@
+package com.minesweeper;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongFunction;
+
+/**
+ * Command line entry point for headless simulations.
+ * Usage: {@code SimulationMain [--size N] [--mines N] [--games N] [--seed N] [--threads N]
+ * [--strategy random|solver] [--first-click-safe]}
+ */
+public class SimulationMain {
+
+    public static void main(String[] args) {
+        int size = 9;
+        int mines = 10;
+        long games = 100_000;
+        long seed = 1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String strategy = "random";
+        boolean firstClickSafe = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--size":
+                        size = Integer.parseInt(args[++i]);
+                        break;
+                    case "--mines":
+                        mines = Integer.parseInt(args[++i]);
+                        break;
+                    case "--games":
+                        games = Long.parseLong(args[++i]);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(args[++i]);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--strategy":
+                        strategy = args[++i];
+                        break;
+                    case "--first-click-safe":
+                        firstClickSafe = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid arguments: " + e.getMessage(), e);
+        }
+
+        Simulator simulator = new Simulator(size, mines, firstClickSafe, strategy(strategy));
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            System.out.println("Simulating " + games + " games of " + size + "x" + size + " with " + mines
+                    + " mines, strategy " + strategy + ", " + threads + " threads");
+            System.out.print(simulator.run(games, seed, pool).report());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    static LongFunction<MoveStrategy> strategy(String name) {
+        switch (name) {
+            case "random":
+                return RandomMoveStrategy::new;
+            case "solver":
+                return seed -> new SolverStrategy();
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+    }
+}
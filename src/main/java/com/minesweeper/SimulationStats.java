@@ -0,0 +1,169 @@
+package com.minesweeper;
+
+import java.util.Locale;
+
+/**
+ * Accumulated results of simulated games.
+ * Each simulation worker fills its own instance without synchronisation;
+ * instances are combined with {@link #merge(SimulationStats)} when workers finish.
+ */
+public final class SimulationStats {
+    /**
+     * Move counts at or above this value share the last histogram bucket.
+     */
+    public static final int MAX_TRACKED_MOVES = 1024;
+
+    private long games;
+    private long wins;
+    private long losses;
+    private long abandoned;
+    private long totalMoves;
+    private long elapsedNanos;
+    private final long[] winMoves = new long[MAX_TRACKED_MOVES + 1];
+    private final long[] lossMoves = new long[MAX_TRACKED_MOVES + 1];
+    private final long[] clearedAtLoss = new long[101];
+
+    /**
+     * Records one finished game.
+     * @param state final state; IN_PROGRESS means the strategy gave up
+     * @param moves number of reveals made
+     * @param clearedPercent share of safe cells revealed, 0-100
+     */
+    void record(GameState state, int moves, int clearedPercent) {
+        games++;
+        totalMoves += moves;
+        int bucket = Math.min(moves, MAX_TRACKED_MOVES);
+        switch (state) {
+            case WON:
+                wins++;
+                winMoves[bucket]++;
+                break;
+            case LOST:
+                losses++;
+                lossMoves[bucket]++;
+                clearedAtLoss[clearedPercent]++;
+                break;
+            default:
+                abandoned++;
+                break;
+        }
+    }
+
+    /**
+     * Adds the results of {@code other} to this instance and returns it.
+     */
+    SimulationStats merge(SimulationStats other) {
+        games += other.games;
+        wins += other.wins;
+        losses += other.losses;
+        abandoned += other.abandoned;
+        totalMoves += other.totalMoves;
+        for (int i = 0; i < winMoves.length; i++) {
+            winMoves[i] += other.winMoves[i];
+            lossMoves[i] += other.lossMoves[i];
+        }
+        for (int i = 0; i < clearedAtLoss.length; i++) {
+            clearedAtLoss[i] += other.clearedAtLoss[i];
+        }
+        return this;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public long getLosses() {
+        return losses;
+    }
+
+    /**
+     * Returns the number of games the strategy gave up on.
+     */
+    public long getAbandoned() {
+        return abandoned;
+    }
+
+    public long getTotalMoves() {
+        return totalMoves;
+    }
+
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Returns the number of won games that took {@code moves} moves.
+     */
+    public long getWinsWithMoves(int moves) {
+        return winMoves[Math.min(moves, MAX_TRACKED_MOVES)];
+    }
+
+    /**
+     * Returns the number of lost games that took {@code moves} moves.
+     */
+    public long getLossesWithMoves(int moves) {
+        return lossMoves[Math.min(moves, MAX_TRACKED_MOVES)];
+    }
+
+    /**
+     * Returns the smallest move count reached by at least {@code fraction} of the won games.
+     */
+    public int winMovesPercentile(double fraction) {
+        return percentile(winMoves, wins, fraction);
+    }
+
+    /**
+     * Returns the smallest share of safe cells (in percent) reached by at least
+     * {@code fraction} of the lost games.
+     */
+    public int clearedAtLossPercentile(double fraction) {
+        return percentile(clearedAtLoss, losses, fraction);
+    }
+
+    private static int percentile(long[] histogram, long total, double fraction) {
+        long target = (long) Math.ceil(total * fraction);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= target && seen > 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Formats a multi-line summary of the results.
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "Games:          %d (%.0f games/s)%n", games, getGamesPerSecond()));
+        sb.append(String.format(Locale.ROOT, "Won:            %d (%.2f%%)%n", wins, getWinRate() * 100));
+        sb.append(String.format(Locale.ROOT, "Lost:           %d%n", losses));
+        sb.append(String.format(Locale.ROOT, "Abandoned:      %d%n", abandoned));
+        sb.append(String.format(Locale.ROOT, "Moves per game: %.2f%n", games == 0 ? 0 : (double) totalMoves / games));
+        if (wins > 0) {
+            sb.append(String.format(Locale.ROOT, "Moves to win:   p10 %d, p50 %d, p90 %d, p99 %d%n",
+                    winMovesPercentile(0.10), winMovesPercentile(0.50),
+                    winMovesPercentile(0.90), winMovesPercentile(0.99)));
+        }
+        if (losses > 0) {
+            sb.append(String.format(Locale.ROOT, "Cleared at loss: p10 %d%%, p50 %d%%, p90 %d%%%n",
+                    clearedAtLossPercentile(0.10), clearedAtLossPercentile(0.50),
+                    clearedAtLossPercentile(0.90)));
+        }
+        return sb.toString();
+    }
+}
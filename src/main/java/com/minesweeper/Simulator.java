@@ -0,0 +1,116 @@
+package com.minesweeper;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+
+/**
+ * Plays large numbers of headless games against {@link Board} with a pluggable {@link MoveStrategy}.
+ * Game {@code n} of a run uses a board and strategy seeded from (run seed, n), so results do not
+ * depend on how games are spread over threads. Games are split into ranges that run as fork-join
+ * tasks; every task fills its own {@link SimulationStats} and the results are merged on join.
+ */
+public class Simulator {
+    private static final int GAMES_PER_TASK = 256;
+
+    private final int size;
+    private final int mines;
+    private final boolean firstClickSafe;
+    private final LongFunction<MoveStrategy> strategies;
+
+    /**
+     * @param strategies creates the strategy for one game from that game's seed
+     */
+    public Simulator(int size, int mines, boolean firstClickSafe, LongFunction<MoveStrategy> strategies) {
+        int maxMines = (int) (size * (long) size * 0.35);
+        if (size <= 0 || mines < 0 || mines > maxMines) {
+            throw new IllegalArgumentException("Invalid board configuration: size " + size + ", mines " + mines);
+        }
+        this.size = size;
+        this.mines = mines;
+        this.firstClickSafe = firstClickSafe;
+        this.strategies = strategies;
+    }
+
+    /**
+     * Plays {@code games} games on the common fork-join pool.
+     */
+    public SimulationStats run(long games, long seed) {
+        return run(games, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Plays {@code games} games on the given pool and returns the merged results.
+     */
+    public SimulationStats run(long games, long seed, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        SimulationStats stats = pool.invoke(new GameRange(seed, 0, games));
+        stats.setElapsedNanos(System.nanoTime() - start);
+        return stats;
+    }
+
+    /**
+     * Plays game number {@code game} of a run and records it.
+     */
+    void play(long seed, long game, SimulationStats stats) {
+        long gameSeed = gameSeed(seed, game);
+        Board board = new Board(size, mines, gameSeed);
+        board.setFirstClickSafe(firstClickSafe);
+        MoveStrategy strategy = strategies.apply(gameSeed);
+        RevealResult result = new RevealResult(size);
+        int moves = 0;
+        while (board.getState() == GameState.IN_PROGRESS) {
+            int move = strategy.nextMove(board);
+            if (move < 0) {
+                break;
+            }
+            board.revealIndex(move, result);
+            moves++;
+            strategy.onReveal(board, result);
+        }
+        int safeCells = size * size - board.getTotalMines();
+        int cleared = safeCells == 0 ? 100
+                : (int) (100L * (safeCells - board.getSafeCellsRemaining()) / safeCells);
+        stats.record(board.getState(), moves, cleared);
+    }
+
+    /**
+     * Derives the seed of one game from the run seed (SplitMix64 finaliser).
+     */
+    static long gameSeed(long seed, long game) {
+        long z = seed + (game + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private final class GameRange extends RecursiveTask<SimulationStats> {
+        private static final long serialVersionUID = 1L;
+
+        private final long seed;
+        private final long from;
+        private final long to;
+
+        GameRange(long seed, long from, long to) {
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                SimulationStats stats = new SimulationStats();
+                for (long game = from; game < to; game++) {
+                    play(seed, game, stats);
+                }
+                return stats;
+            }
+            long split = (from + to) >>> 1;
+            GameRange right = new GameRange(seed, split, to);
+            right.fork();
+            SimulationStats left = new GameRange(seed, from, split).compute();
+            return left.merge(right.join());
+        }
+    }
+}
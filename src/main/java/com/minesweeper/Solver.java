@@ -0,0 +1,760 @@
+package com.minesweeper;
+
+import java.util.Arrays;
+
+/**
+ * Deduces safe cells and mines from the revealed frontier of a {@link Board}, using only
+ * what a player can see: revealed counts and the total number of mines.
+ *
+ * <p>Every revealed number with hidden neighbours is a constraint. Constraints whose
+ * neighbourhood changed are queued and re-evaluated with the single-cell rule (all hidden
+ * neighbours are safe, or all are mines) and the subset rule against nearby constraints, so
+ * each move only costs work around the cells it revealed. When no certain move remains,
+ * {@link #hint()} enumerates each connected frontier component and combines them with the
+ * unconstrained interior to get exact mine probabilities.</p>
+ *
+ * <p>Enumeration is exponential in the size of a component, so a component with more than
+ * {@link #MAX_COMPONENT_CELLS} hidden cells, or one whose search exceeds a fixed budget of
+ * steps, is not enumerated: its cells get an estimate from the densities of the constraints
+ * around them, and its mine count is taken as the rounded sum of those estimates. Probabilities
+ * are exact only when every component was enumerated. Certain moves are unaffected, as they
+ * come from the propagation rules.</p>
+ */
+public class Solver {
+    private static final int KNOWN_MINE = 1;
+    private static final int KNOWN_SAFE = 2;
+    private static final int QUEUED = 4;
+    private static final int ACTIVE = 8;
+    private static final int FRONTIER = 16;
+
+    /**
+     * Components with more hidden cells than this are estimated instead of enumerated.
+     */
+    static final int MAX_COMPONENT_CELLS = 40;
+    private static final long ENUMERATION_BUDGET = 1L << 22;
+
+    private final Board board;
+    private final int size;
+    private final int length;
+    private final byte[] state;
+
+    private int[] dirty = new int[64];
+    private int dirtyCount;
+    private int[] safeCells = new int[64];
+    private int safeCount;
+    private int[] active = new int[64];
+    private int activeCount;
+    private int unknownCount;
+    private int knownMines;
+
+    private final int[] unknownA = new int[8];
+    private final int[] unknownB = new int[8];
+    private final int[] neighbourScratch = new int[8];
+    private final int[] markScratch = new int[8];
+    private final int[] revealScratch = new int[8];
+
+    private boolean probabilitiesValid;
+    private int[] frontierCells = new int[0];
+    private int[] frontierIds;
+    private double[] frontierProbabilities = new double[0];
+    private int frontierCount;
+    private double interiorProbability;
+    private int interiorCursor;
+
+    /**
+     * Attaches a solver to the board, reading the cells revealed so far.
+     * @throws IllegalArgumentException if the board is not square.
+     */
+    public Solver(Board board) {
+        if (board.getTopology() != Topology.SQUARE) {
+            throw new IllegalArgumentException("The solver only supports square boards.");
+        }
+        this.board = board;
+        this.size = board.getSize();
+        this.length = size * size;
+        this.state = new byte[length];
+        this.unknownCount = length;
+        for (int index = 0; index < length; index++) {
+            if (isRevealed(index)) {
+                onRevealed(index);
+            }
+        }
+        propagate();
+    }
+
+    /**
+     * Applies the change set of a move and propagates the new information.
+     */
+    public void update(RevealResult changes) {
+        for (int i = 0; i < changes.getChangedCount(); i++) {
+            onRevealed(changes.getIndex(i));
+        }
+        propagate();
+    }
+
+    /**
+     * Returns an unrevealed cell that is certainly safe, or -1 if none is known.
+     */
+    public int nextSafeCell() {
+        while (safeCount > 0) {
+            int index = safeCells[safeCount - 1];
+            if (!isRevealed(index)) {
+                return index;
+            }
+            safeCount--;
+        }
+        return -1;
+    }
+
+    public boolean isKnownMine(int index) {
+        return (state[index] & KNOWN_MINE) != 0;
+    }
+
+    public boolean isKnownSafe(int index) {
+        return (state[index] & KNOWN_SAFE) != 0 || isRevealed(index);
+    }
+
+    /**
+     * Returns the number of cells deduced to be mines.
+     */
+    public int getKnownMines() {
+        return knownMines;
+    }
+
+    /**
+     * Suggests the next move: a certainly safe cell if there is one, otherwise the hidden cell
+     * with the lowest mine probability. Returns null if no hidden cell is left.
+     */
+    public Hint hint() {
+        int safe = nextSafeCell();
+        if (safe >= 0) {
+            return new Hint(safe, size, true, 0);
+        }
+        if (unknownCount == 0) {
+            return null;
+        }
+        computeProbabilities();
+        int best = -1;
+        double bestProbability = 2;
+        for (int i = 0; i < frontierCount; i++) {
+            if (frontierProbabilities[i] < bestProbability) {
+                bestProbability = frontierProbabilities[i];
+                best = frontierCells[i];
+            }
+        }
+        if (interiorProbability < bestProbability) { // false when there is no interior (NaN)
+            int interior = findInteriorCell();
+            if (interior >= 0) {
+                best = interior;
+                bestProbability = interiorProbability;
+            }
+        }
+        return best < 0 ? null : new Hint(best, size, bestProbability == 0, bestProbability);
+    }
+
+    /**
+     * Returns the probability that a hidden cell is a mine, given everything revealed so far.
+     */
+    public double mineProbability(int index) {
+        if (isKnownMine(index)) {
+            return 1;
+        }
+        if (isKnownSafe(index)) {
+            return 0;
+        }
+        computeProbabilities();
+        if ((state[index] & FRONTIER) != 0) {
+            for (int i = 0; i < frontierCount; i++) {
+                if (frontierCells[i] == index) {
+                    return frontierProbabilities[i];
+                }
+            }
+        }
+        return interiorProbability;
+    }
+
+    // Incremental constraint propagation.
+
+    private void onRevealed(int index) {
+        if ((state[index] & (KNOWN_MINE | KNOWN_SAFE)) == 0) {
+            unknownCount--;
+            state[index] |= KNOWN_SAFE;
+        }
+        probabilitiesValid = false;
+        if (count(index) > 0) {
+            markDirty(index);
+            if ((state[index] & ACTIVE) == 0) {
+                state[index] |= ACTIVE;
+                active = push(active, activeCount++, index);
+            }
+        }
+        int n = neighbours(index, revealScratch);
+        for (int i = 0; i < n; i++) {
+            int neighbour = revealScratch[i];
+            if (isRevealed(neighbour) && count(neighbour) > 0) {
+                markDirty(neighbour);
+            }
+        }
+    }
+
+    private void propagate() {
+        while (dirtyCount > 0) {
+            int index = dirty[--dirtyCount];
+            state[index] &= ~QUEUED;
+            evaluate(index);
+        }
+    }
+
+    private void evaluate(int index) {
+        int remaining = count(index);
+        int hidden = 0;
+        int n = neighbours(index, neighbourScratch);
+        for (int i = 0; i < n; i++) {
+            int neighbour = neighbourScratch[i];
+            int st = state[neighbour];
+            if ((st & KNOWN_MINE) != 0) {
+                remaining--;
+            } else if ((st & KNOWN_SAFE) == 0) {
+                unknownA[hidden++] = neighbour;
+            }
+        }
+        if (hidden == 0) {
+            state[index] &= ~ACTIVE;
+            return;
+        }
+        if (remaining == 0) {
+            markAll(unknownA, hidden, false);
+            return;
+        }
+        if (remaining == hidden) {
+            markAll(unknownA, hidden, true);
+            return;
+        }
+        applySubsetRule(index, hidden, remaining);
+    }
+
+    /**
+     * Compares the constraint at {@code index} (hidden cells in {@link #unknownA}) with every
+     * constraint within two cells. If one hidden set contains the other, the difference holds
+     * exactly the difference of the mine counts.
+     */
+    private void applySubsetRule(int index, int hiddenA, int remainingA) {
+        int row = index / size;
+        int col = index - row * size;
+        for (int i = Math.max(row - 2, 0); i <= Math.min(row + 2, size - 1); i++) {
+            for (int j = Math.max(col - 2, 0); j <= Math.min(col + 2, size - 1); j++) {
+                int other = i * size + j;
+                // Only active constraints (revealed numbers with undecided neighbours) can help.
+                if (other == index || (state[other] & ACTIVE) == 0) {
+                    continue;
+                }
+                int remainingB = count(other);
+                int hiddenB = 0;
+                int n = neighbours(other, neighbourScratch);
+                for (int k = 0; k < n; k++) {
+                    int neighbour = neighbourScratch[k];
+                    int st = state[neighbour];
+                    if ((st & KNOWN_MINE) != 0) {
+                        remainingB--;
+                    } else if ((st & KNOWN_SAFE) == 0) {
+                        unknownB[hiddenB++] = neighbour;
+                    }
+                }
+                if (hiddenB == 0) {
+                    continue;
+                }
+                if (hiddenA < hiddenB && contains(unknownB, hiddenB, unknownA, hiddenA)
+                        && resolveDifference(unknownB, hiddenB, unknownA, hiddenA, remainingB - remainingA)) {
+                    return;
+                }
+                if (hiddenB < hiddenA && contains(unknownA, hiddenA, unknownB, hiddenB)
+                        && resolveDifference(unknownA, hiddenA, unknownB, hiddenB, remainingA - remainingB)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks {@code outer \ inner} if its mine count {@code mines} decides all of it.
+     * Returns true if anything was marked.
+     */
+    private boolean resolveDifference(int[] outer, int outerCount, int[] inner, int innerCount, int mines) {
+        int diff = outerCount - innerCount;
+        if (mines != 0 && mines != diff) {
+            return false;
+        }
+        int[] cells = new int[diff];
+        int n = 0;
+        for (int i = 0; i < outerCount; i++) {
+            if (!contains(inner, innerCount, outer[i])) {
+                cells[n++] = outer[i];
+            }
+        }
+        markAll(cells, n, mines != 0);
+        return true;
+    }
+
+    private void markAll(int[] cells, int count, boolean mine) {
+        int[] copy = Arrays.copyOf(cells, count);
+        for (int cell : copy) {
+            if ((state[cell] & (KNOWN_MINE | KNOWN_SAFE)) != 0) {
+                continue;
+            }
+            unknownCount--;
+            probabilitiesValid = false;
+            if (mine) {
+                state[cell] |= KNOWN_MINE;
+                knownMines++;
+            } else {
+                state[cell] |= KNOWN_SAFE;
+                safeCells = push(safeCells, safeCount++, cell);
+            }
+            int n = neighbours(cell, markScratch);
+            for (int i = 0; i < n; i++) {
+                int neighbour = markScratch[i];
+                if (isRevealed(neighbour) && count(neighbour) > 0) {
+                    markDirty(neighbour);
+                }
+            }
+        }
+    }
+
+    private void markDirty(int index) {
+        if ((state[index] & QUEUED) == 0) {
+            state[index] |= QUEUED;
+            dirty = push(dirty, dirtyCount++, index);
+        }
+    }
+
+    // Probabilities.
+
+    private void computeProbabilities() {
+        if (probabilitiesValid) {
+            return;
+        }
+        probabilitiesValid = true;
+        for (int i = 0; i < frontierCount; i++) {
+            state[frontierCells[i]] &= ~FRONTIER;
+        }
+
+        // Collect the live constraints and the hidden cells they touch. A cell's id is valid
+        // while it carries the FRONTIER bit.
+        if (frontierIds == null) {
+            frontierIds = new int[length];
+        }
+        int constraints = 0;
+        int cells = 0;
+        int[][] constraintCells = new int[activeCount][];
+        int[] constraintMines = new int[activeCount];
+        int[] cellIds = new int[16];
+        for (int a = 0; a < activeCount; a++) {
+            int index = active[a];
+            if ((state[index] & ACTIVE) == 0) {
+                continue;
+            }
+            active[constraints] = index;
+            int remaining = count(index);
+            int hidden = 0;
+            int n = neighbours(index, neighbourScratch);
+            int[] ids = new int[8];
+            for (int i = 0; i < n; i++) {
+                int neighbour = neighbourScratch[i];
+                int st = state[neighbour];
+                if ((st & KNOWN_MINE) != 0) {
+                    remaining--;
+                } else if ((st & KNOWN_SAFE) == 0) {
+                    if ((st & FRONTIER) == 0) {
+                        frontierIds[neighbour] = cells;
+                        cellIds = push(cellIds, cells++, neighbour);
+                        state[neighbour] |= FRONTIER;
+                    }
+                    ids[hidden++] = frontierIds[neighbour];
+                }
+            }
+            if (hidden == 0) {
+                state[index] &= ~ACTIVE;
+                continue;
+            }
+            constraintCells[constraints] = Arrays.copyOf(ids, hidden);
+            constraintMines[constraints] = remaining;
+            constraints++;
+        }
+        activeCount = constraints;
+
+        frontierCount = cells;
+        frontierCells = Arrays.copyOf(cellIds, cells);
+        frontierProbabilities = new double[cells];
+        int interior = unknownCount - cells;
+        int minesLeft = board.getTotalMines() - knownMines;
+
+        // Split the frontier into independent components.
+        int[] parent = new int[cells];
+        for (int i = 0; i < cells; i++) {
+            parent[i] = i;
+        }
+        for (int c = 0; c < constraints; c++) {
+            int[] ids = constraintCells[c];
+            for (int i = 1; i < ids.length; i++) {
+                union(parent, ids[0], ids[i]);
+            }
+        }
+        Component[] byRoot = new Component[cells];
+        int partCount = 0;
+        for (int i = 0; i < cells; i++) {
+            int root = find(parent, i);
+            if (byRoot[root] == null) {
+                byRoot[root] = new Component();
+                partCount++;
+            }
+            byRoot[root].addCell(i);
+        }
+        for (int c = 0; c < constraints; c++) {
+            byRoot[find(parent, constraintCells[c][0])].addConstraint(constraintCells[c], constraintMines[c]);
+        }
+        Component[] parts = new Component[partCount];
+        int[] position = new int[cells];
+        for (int i = 0, p = 0; i < cells; i++) {
+            if (byRoot[i] != null) {
+                parts[p++] = byRoot[i];
+                byRoot[i].solve(position);
+            }
+        }
+
+        // Weight every total of frontier mines by the ways to place the rest in the interior.
+        double[] total = {1};
+        for (Component part : parts) {
+            total = convolve(total, part.distribution);
+        }
+        double[] interiorWeight = interiorWeights(total.length, interior, minesLeft);
+        double norm = 0;
+        double interiorMines = 0;
+        for (int f = 0; f < total.length; f++) {
+            double w = total[f] * interiorWeight[f];
+            norm += w;
+            interiorMines += w * (minesLeft - f);
+        }
+        if (norm == 0 || Double.isNaN(norm)) {
+            // Inconsistent estimate; fall back to the average density.
+            double density = unknownCount == 0 ? 0 : (double) minesLeft / unknownCount;
+            Arrays.fill(frontierProbabilities, density);
+            interiorProbability = density;
+            return;
+        }
+        interiorProbability = interior == 0 ? Double.NaN : interiorMines / norm / interior;
+
+        for (int k = 0; k < parts.length; k++) {
+            double[] others = {1};
+            for (int j = 0; j < parts.length; j++) {
+                if (j != k) {
+                    others = convolve(others, parts[j].distribution);
+                }
+            }
+            Component part = parts[k];
+            // weightForMines[m]: relative weight of all layouts where this component holds m mines.
+            double[] weightForMines = new double[part.distribution.length];
+            for (int m = 0; m < weightForMines.length; m++) {
+                double w = 0;
+                for (int f = 0; f < others.length && m + f < interiorWeight.length; f++) {
+                    w += others[f] * interiorWeight[m + f];
+                }
+                weightForMines[m] = w;
+            }
+            for (int i = 0; i < part.cellCount; i++) {
+                double p = 0;
+                for (int m = 0; m < weightForMines.length; m++) {
+                    p += part.cellMines[i][m] * weightForMines[m];
+                }
+                frontierProbabilities[part.cells[i]] = Math.min(1, p / norm);
+            }
+        }
+    }
+
+    /**
+     * Returns the relative number of ways to place {@code minesLeft - f} mines among
+     * {@code interior} cells, for every frontier total f, scaled so the largest is 1.
+     */
+    private static double[] interiorWeights(int totals, int interior, int minesLeft) {
+        double[] logWeight = new double[totals];
+        double max = Double.NEGATIVE_INFINITY;
+        for (int f = 0; f < totals; f++) {
+            int k = minesLeft - f;
+            if (k < 0 || k > interior) {
+                logWeight[f] = Double.NEGATIVE_INFINITY;
+                continue;
+            }
+            logWeight[f] = logChoose(interior, k);
+            max = Math.max(max, logWeight[f]);
+        }
+        double[] weight = new double[totals];
+        for (int f = 0; f < totals; f++) {
+            weight[f] = logWeight[f] == Double.NEGATIVE_INFINITY ? 0 : Math.exp(logWeight[f] - max);
+        }
+        return weight;
+    }
+
+    private static double logChoose(int n, int k) {
+        k = Math.min(k, n - k);
+        double sum = 0;
+        for (int i = 1; i <= k; i++) {
+            sum += Math.log((double) (n - k + i) / i);
+        }
+        return sum;
+    }
+
+    private static double[] convolve(double[] a, double[] b) {
+        double[] result = new double[a.length + b.length - 1];
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == 0) continue;
+            for (int j = 0; j < b.length; j++) {
+                result[i + j] += a[i] * b[j];
+            }
+        }
+        return result;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        parent[find(parent, a)] = find(parent, b);
+    }
+
+    private int findInteriorCell() {
+        for (int step = 0; step < length; step++) {
+            int index = interiorCursor;
+            interiorCursor = interiorCursor + 1 == length ? 0 : interiorCursor + 1;
+            if ((state[index] & (KNOWN_MINE | KNOWN_SAFE | FRONTIER)) == 0) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    // Board access.
+
+    private boolean isRevealed(int index) {
+        return (board.cellBits(index) & PackedGrid.REVEALED) != 0;
+    }
+
+    private int count(int index) {
+        int bits = board.cellBits(index);
+        return (bits & PackedGrid.MINE) != 0 ? 0 : bits & PackedGrid.COUNT_MASK;
+    }
+
+    private int neighbours(int index, int[] out) {
+        int row = index / size;
+        int col = index - row * size;
+        if (row > 0 && row < size - 1 && col > 0 && col < size - 1) {
+            out[0] = index - size - 1;
+            out[1] = index - size;
+            out[2] = index - size + 1;
+            out[3] = index - 1;
+            out[4] = index + 1;
+            out[5] = index + size - 1;
+            out[6] = index + size;
+            out[7] = index + size + 1;
+            return 8;
+        }
+        int n = 0;
+        for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, size - 1); i++) {
+            for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, size - 1); j++) {
+                if (i != row || j != col) {
+                    out[n++] = i * size + j;
+                }
+            }
+        }
+        return n;
+    }
+
+    private static boolean contains(int[] cells, int count, int cell) {
+        for (int i = 0; i < count; i++) {
+            if (cells[i] == cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(int[] outer, int outerCount, int[] inner, int innerCount) {
+        for (int i = 0; i < innerCount; i++) {
+            if (!contains(outer, outerCount, inner[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] push(int[] array, int position, int value) {
+        if (position == array.length) {
+            array = Arrays.copyOf(array, array.length * 2);
+        }
+        array[position] = value;
+        return array;
+    }
+
+    /**
+     * Connected group of frontier cells and the constraints between them.
+     * After {@link #solve()}, {@code distribution[m]} is the relative number of layouts with
+     * m mines in the component and {@code cellMines[i][m]} the share of those with cell i mined.
+     */
+    private static final class Component {
+        int[] cells = new int[8];
+        int cellCount;
+        int[][] constraints = new int[8][];
+        int[] constraintMines = new int[8];
+        int constraintCount;
+        double[] distribution;
+        double[][] cellMines;
+
+        // Enumeration state, indexed by position within the component.
+        private int[][] cellConstraints;
+        private int[] assigned;
+        private int[] unassigned;
+        private boolean[] mine;
+        private long budget;
+
+        void addCell(int id) {
+            cells = push(cells, cellCount++, id);
+        }
+
+        void addConstraint(int[] ids, int mines) {
+            if (constraintCount == constraints.length) {
+                constraints = Arrays.copyOf(constraints, constraintCount * 2);
+                constraintMines = Arrays.copyOf(constraintMines, constraintCount * 2);
+            }
+            constraints[constraintCount] = ids;
+            constraintMines[constraintCount++] = mines;
+        }
+
+        /**
+         * @param position scratch space indexed by frontier id, at least as long as the frontier
+         */
+        void solve(int[] position) {
+            distribution = new double[cellCount + 1];
+            cellMines = new double[cellCount][cellCount + 1];
+            for (int i = 0; i < cellCount; i++) {
+                position[cells[i]] = i;
+            }
+            if (cellCount > MAX_COMPONENT_CELLS || !enumerate(position)) {
+                estimate(position);
+                return;
+            }
+            double sum = 0;
+            for (double d : distribution) {
+                sum += d;
+            }
+            if (sum == 0) {
+                estimate(position);
+                return;
+            }
+            for (int m = 0; m <= cellCount; m++) {
+                distribution[m] /= sum;
+                for (int i = 0; i < cellCount; i++) {
+                    cellMines[i][m] /= sum;
+                }
+            }
+        }
+
+        /**
+         * Counts every consistent layout by backtracking. Returns false if the budget ran out.
+         */
+        private boolean enumerate(int[] position) {
+            int[] perCell = new int[cellCount];
+            int[][] local = new int[constraintCount][];
+            for (int c = 0; c < constraintCount; c++) {
+                local[c] = new int[constraints[c].length];
+                for (int k = 0; k < local[c].length; k++) {
+                    local[c][k] = position[constraints[c][k]];
+                    perCell[local[c][k]]++;
+                }
+            }
+            cellConstraints = new int[cellCount][];
+            for (int i = 0; i < cellCount; i++) {
+                cellConstraints[i] = new int[perCell[i]];
+                perCell[i] = 0;
+            }
+            for (int c = 0; c < constraintCount; c++) {
+                for (int cell : local[c]) {
+                    cellConstraints[cell][perCell[cell]++] = c;
+                }
+            }
+            assigned = new int[constraintCount];
+            unassigned = new int[constraintCount];
+            for (int c = 0; c < constraintCount; c++) {
+                unassigned[c] = local[c].length;
+            }
+            mine = new boolean[cellCount];
+            budget = ENUMERATION_BUDGET;
+            return search(0, 0);
+        }
+
+        private boolean search(int cell, int mines) {
+            if (--budget < 0) {
+                return false;
+            }
+            if (cell == cellCount) {
+                distribution[mines]++;
+                for (int i = 0; i < cellCount; i++) {
+                    if (mine[i]) {
+                        cellMines[i][mines]++;
+                    }
+                }
+                return true;
+            }
+            for (int value = 0; value <= 1; value++) {
+                boolean feasible = true;
+                for (int c : cellConstraints[cell]) {
+                    assigned[c] += value;
+                    unassigned[c]--;
+                    int need = constraintMines[c] - assigned[c];
+                    if (need < 0 || need > unassigned[c]) {
+                        feasible = false;
+                    }
+                }
+                if (feasible) {
+                    mine[cell] = value == 1;
+                    if (!search(cell + 1, mines + value)) {
+                        return false;
+                    }
+                    mine[cell] = false;
+                }
+                for (int c : cellConstraints[cell]) {
+                    assigned[c] -= value;
+                    unassigned[c]++;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Approximates a component too large to enumerate from its local constraint densities.
+         */
+        private void estimate(int[] position) {
+            distribution = new double[cellCount + 1];
+            cellMines = new double[cellCount][cellCount + 1];
+            double[] p = new double[cellCount];
+            for (int c = 0; c < constraintCount; c++) {
+                double density = (double) constraintMines[c] / constraints[c].length;
+                for (int id : constraints[c]) {
+                    int i = position[id];
+                    p[i] = Math.max(p[i], density);
+                }
+            }
+            double expected = 0;
+            for (double v : p) {
+                expected += v;
+            }
+            int m = (int) Math.min(cellCount, Math.round(expected));
+            distribution[m] = 1;
+            for (int i = 0; i < cellCount; i++) {
+                cellMines[i][m] = p[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.minesweeper;
+
+/**
+ * Plays like a careful player: opens the centre, then follows the {@link Solver}'s hints,
+ * guessing the least likely mine only when no cell is certainly safe.
+ */
+public class SolverStrategy implements MoveStrategy {
+    private Solver solver;
+
+    public SolverStrategy() {
+    }
+
+    @Override
+    public int nextMove(Board board) {
+        if (solver == null) {
+            solver = new Solver(board);
+        }
+        if (board.getRevealedCount() == 0) {
+            return board.cellIndex(board.getSize() / 2, board.getSize() / 2);
+        }
+        Hint hint = solver.hint();
+        return hint == null ? -1 : hint.getIndex();
+    }
+
+    @Override
+    public void onReveal(Board board, RevealResult result) {
+        solver.update(result);
+    }
+}
@@ -0,0 +1,104 @@
+package com.minesweeper;
+
+/**
+ * Which cells count as neighbours of a cell, for adjacent mine counts and openings.
+ * Each topology is a list of (row, column) steps, which may depend on the parity of the row,
+ * and whether steps off one edge wrap around to the opposite edge.
+ * Boards precompute a {@link NeighbourTable} from these steps when they are created.
+ */
+public enum Topology {
+    /**
+     * The classic grid: the eight surrounding cells.
+     */
+    SQUARE(false,
+            new int[][] {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}},
+            new int[][] {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}}),
+    /**
+     * The eight surrounding cells, wrapping around every edge.
+     */
+    TORUS(true,
+            new int[][] {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}},
+            new int[][] {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}}),
+    /**
+     * Hexagonal cells in rows, odd rows shifted half a cell to the right: six neighbours.
+     */
+    HEX(false,
+            new int[][] {{-1, -1}, {-1, 0}, {0, -1}, {0, 1}, {1, -1}, {1, 0}},
+            new int[][] {{-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, 0}, {1, 1}}),
+    /**
+     * The eight cells a chess knight can move to.
+     */
+    KNIGHT(false,
+            new int[][] {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}},
+            new int[][] {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}});
+
+    private final boolean wraps;
+    private final int[][] evenRowSteps;
+    private final int[][] oddRowSteps;
+    private final int reach;
+
+    Topology(boolean wraps, int[][] evenRowSteps, int[][] oddRowSteps) {
+        this.wraps = wraps;
+        this.evenRowSteps = evenRowSteps;
+        this.oddRowSteps = oddRowSteps;
+        int reach = 0;
+        for (int[] step : evenRowSteps) {
+            reach = Math.max(reach, Math.max(Math.abs(step[0]), Math.abs(step[1])));
+        }
+        this.reach = reach;
+    }
+
+    /**
+     * Returns the most neighbours a cell can have.
+     */
+    public int degree() {
+        return evenRowSteps.length;
+    }
+
+    /**
+     * Returns how many rows or columns away a neighbour can be.
+     */
+    int reach() {
+        return reach;
+    }
+
+    /**
+     * Returns the (row, column) steps to the neighbours of a cell in {@code row}.
+     */
+    int[][] steps(int row) {
+        return (row & 1) == 0 ? evenRowSteps : oddRowSteps;
+    }
+
+    /**
+     * Writes the distinct neighbours of (row, col) on a board of the given size into {@code out},
+     * checking every step against the edges, and returns how many there are.
+     */
+    int neighbours(int size, int row, int col, int[] out) {
+        int count = 0;
+        int index = row * size + col;
+        for (int[] step : steps(row)) {
+            int i = row + step[0];
+            int j = col + step[1];
+            if (wraps) {
+                i = Math.floorMod(i, size);
+                j = Math.floorMod(j, size);
+            } else if (i < 0 || i >= size || j < 0 || j >= size) {
+                continue;
+            }
+            int neighbour = i * size + j;
+            if (neighbour != index && !contains(out, count, neighbour)) {
+                out[count++] = neighbour;
+            }
+        }
+        return count;
+    }
+
+    private static boolean contains(int[] cells, int count, int cell) {
+        for (int i = 0; i < count; i++) {
+            if (cells[i] == cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,83 @@
+package com.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the bit-parallel adjacency kernel.
+ */
+public class AdjacencyKernelTest {
+
+    @Test
+    public void testMatchesDirectCountAtWordBoundaries() {
+        int[] sizes = {1, 2, 63, 64, 65, 127, 128, 130};
+        for (int size : sizes) {
+            MineBits mines = randomMines(size, 0.3, size);
+            PackedGrid cells = new PackedGrid(size);
+            AdjacencyKernel.computeRows(mines, cells, 0, size);
+            assertMatchesDirectCount(mines, cells);
+        }
+    }
+
+    @Test
+    public void testParallelStripesMatchDirectCount() {
+        int size = 1100; // above PARALLEL_THRESHOLD
+        MineBits mines = randomMines(size, 0.2, 17L);
+        PackedGrid cells = new PackedGrid(size);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            AdjacencyKernel.compute(mines, cells, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertMatchesDirectCount(mines, cells);
+    }
+
+    @Test
+    public void testBoardCountsMatchCountAdjacentMines() {
+        Board board = new Board(200, 8000, 3L);
+        for (int i = 0; i < board.getSize(); i++) {
+            for (int j = 0; j < board.getSize(); j++) {
+                int expected = board.isMine(i, j) ? 0 : board.countAdjacentMines(i, j);
+                assertEquals(expected, board.getAdjacentMines(i, j));
+            }
+        }
+    }
+
+    private static MineBits randomMines(int size, double density, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        MineBits mines = new MineBits(size);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (random.nextDouble() < density) {
+                    mines.set(row, col);
+                }
+            }
+        }
+        return mines;
+    }
+
+    private static void assertMatchesDirectCount(MineBits mines, PackedGrid cells) {
+        int size = mines.size();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int count = 0;
+                for (int i = row - 1; i <= row + 1; i++) {
+                    for (int j = col - 1; j <= col + 1; j++) {
+                        if ((i != row || j != col) && i >= 0 && j >= 0 && i < size && j < size
+                                && mines.get(i, j)) {
+                            count++;
+                        }
+                    }
+                }
+                int index = cells.index(row, col);
+                assertEquals(mines.get(row, col), cells.isMine(index), "Mine at (" + row + "," + col + ")");
+                assertEquals(count, cells.neighbourMines(index), "Count at (" + row + "," + col + ")");
+            }
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for spectator streams: per-move events, coalescing for subscribers behind their demand
+ * or the ring, catching up late subscribers, completion and concurrent delivery.
+ */
+public class BoardEventPublisherTest {
+
+    @Test
+    public void testEachMoveIsOneEvent() {
+        Board board = new Board(9, 10, 4L);
+        BoardEventPublisher publisher = new BoardEventPublisher(board, Runnable::run, 16);
+        Recorder spectator = new Recorder(Long.MAX_VALUE);
+        publisher.subscribe(spectator);
+
+        List<RevealResult> moves = new ArrayList<>();
+        for (int index : safeCells(board)) {
+            if (!board.isRevealed(index / 9, index % 9)) {
+                moves.add(board.revealIndex(index, new RevealResult(9)));
+            }
+        }
+        assertEquals(GameState.WON, board.getState());
+        assertEquals(moves.size(), spectator.events.size());
+        for (int i = 0; i < moves.size(); i++) {
+            BoardEvent event = spectator.events.get(i);
+            RevealResult move = moves.get(i);
+            assertEquals(i + 1, event.getFirstMove());
+            assertFalse(event.isCoalesced());
+            assertEquals(move.getChangedCount(), event.getChangedCount());
+            for (int c = 0; c < move.getChangedCount(); c++) {
+                assertEquals(move.getIndex(c), event.getIndex(c));
+                assertEquals(move.getAdjacentMines(c), event.getAdjacentMines(c));
+            }
+            BoardEvent.Type expected = i == moves.size() - 1 ? BoardEvent.Type.WON
+                    : move.getChangedCount() > 1 ? BoardEvent.Type.FLOOD_FILL : BoardEvent.Type.REVEAL;
+            assertEquals(expected, event.getType());
+        }
+        assertTrue(spectator.completed);
+        assertEquals(0, publisher.getSubscriberCount());
+    }
+
+    @Test
+    public void testLossCompletesTheStream() {
+        Board board = new Board(9, 10, 4L);
+        BoardEventPublisher publisher = new BoardEventPublisher(board, Runnable::run, 16);
+        Recorder spectator = new Recorder(Long.MAX_VALUE);
+        publisher.subscribe(spectator);
+        int mine = mineCell(board);
+        assertTrue(board.revealCell(mine / 9, mine % 9));
+        assertEquals(1, spectator.events.size());
+        assertEquals(BoardEvent.Type.LOST, spectator.events.get(0).getType());
+        assertTrue(spectator.completed);
+    }
+
+    @Test
+    public void testSlowSubscriberReceivesCoalescedMoves() {
+        Board board = new Board(16, 40, 8L);
+        BoardEventPublisher publisher = new BoardEventPublisher(board, Runnable::run, 64);
+        Recorder slow = new Recorder(1);
+        Recorder fast = new Recorder(Long.MAX_VALUE);
+        publisher.subscribe(slow);
+        publisher.subscribe(fast);
+        int played = 0;
+        for (int index : safeCells(board)) {
+            if (played == 6) {
+                break;
+            }
+            if (!board.isRevealed(index / 16, index % 16)) {
+                board.revealIndex(index, new RevealResult(16));
+                played++;
+            }
+        }
+        assertEquals(6, fast.events.size());
+        assertEquals(1, slow.events.size());
+
+        slow.subscription.request(1);
+        assertEquals(2, slow.events.size());
+        BoardEvent coalesced = slow.events.get(1);
+        assertTrue(coalesced.isCoalesced());
+        assertEquals(2, coalesced.getFirstMove());
+        assertEquals(6, coalesced.getLastMove());
+        assertEquals(cells(fast.events.subList(1, 6)), cells(List.of(coalesced)));
+    }
+
+    @Test
+    public void testLaggingSubscriberNeverBlocksTheGame() {
+        Board board = new Board(30, 150, 2L);
+        Queue<Runnable> pending = new ArrayDeque<>();
+        BoardEventPublisher publisher = new BoardEventPublisher(board, pending::add, 4);
+        Recorder spectator = new Recorder(Long.MAX_VALUE);
+        publisher.subscribe(spectator);
+        int moves = 0;
+        for (int index : safeCells(board)) {
+            if (moves < 50 && !board.isRevealed(index / 30, index % 30)) {
+                board.revealIndex(index, new RevealResult(30));
+                moves++;
+            }
+        }
+        assertEquals(1, pending.size());
+        assertEquals(moves, publisher.getPublishedMoves());
+
+        pending.remove().run();
+        assertEquals(1, spectator.events.size());
+        BoardEvent event = spectator.events.get(0);
+        assertEquals(1, event.getFirstMove());
+        assertEquals(moves, event.getLastMove());
+        assertEquals(board.getRevealedCount(), event.getChangedCount());
+        assertEquals(revealedCells(board), cells(spectator.events));
+    }
+
+    @Test
+    public void testLateSubscriberCatchesUp() {
+        Board board = new Board(9, 10, 4L);
+        BoardEventPublisher publisher = new BoardEventPublisher(board, Runnable::run, 16);
+        for (int index : safeCells(board)) {
+            if (board.getRevealedCount() > 20) {
+                break;
+            }
+            board.revealCell(index / 9, index % 9);
+        }
+        Recorder late = new Recorder(1);
+        publisher.subscribe(late);
+        assertEquals(1, late.events.size());
+        assertEquals(revealedCells(board), cells(late.events));
+
+        publisher.close();
+        assertTrue(late.completed);
+        int mine = mineCell(board);
+        board.revealCell(mine / 9, mine % 9);
+        assertEquals(1, late.events.size());
+    }
+
+    @Test
+    public void testInvalidRequestAndUndo() {
+        Board board = new Board(9, 10, 4L);
+        BoardEventPublisher publisher = new BoardEventPublisher(board, Runnable::run, 16);
+        Recorder spectator = new Recorder(0);
+        publisher.subscribe(spectator);
+        spectator.subscription.request(0);
+        assertTrue(spectator.error instanceof IllegalArgumentException);
+        assertEquals(0, publisher.getSubscriberCount());
+        assertThrows(IllegalStateException.class, () -> new BoardEventPublisher(board));
+
+        GameHistory history = new GameHistory(board, null, 8);
+        int safe = safeCells(board)[0];
+        history.reveal(safe / 9, safe % 9);
+        assertThrows(IllegalStateException.class, history::undo);
+        assertEquals(1, history.getMoveCount());
+    }
+
+    @Test
+    public void testManyConcurrentSpectators() throws InterruptedException {
+        Board board = new Board(40, 200, 9L);
+        BoardEventPublisher publisher = new BoardEventPublisher(board);
+        List<Recorder> spectators = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(200);
+        for (int i = 0; i < 200; i++) {
+            Recorder spectator = new Recorder(i % 2 == 0 ? Long.MAX_VALUE : 1, done);
+            spectator.requestEach = i % 2 == 1;
+            spectators.add(spectator);
+            publisher.subscribe(spectator);
+        }
+        for (int index : safeCells(board)) {
+            board.revealCell(index / 40, index % 40);
+        }
+        assertEquals(GameState.WON, board.getState());
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        Set<Integer> revealed = revealedCells(board);
+        for (Recorder spectator : spectators) {
+            assertNull(spectator.error);
+            assertEquals(revealed, cells(spectator.events));
+            assertEquals(GameState.WON, spectator.events.get(spectator.events.size() - 1).getState());
+        }
+    }
+
+    private static int[] safeCells(Board board) {
+        int size = board.getSize();
+        return IntStream.range(0, size * size)
+                .filter(index -> !board.isMine(index / size, index % size))
+                .toArray();
+    }
+
+    private static int mineCell(Board board) {
+        int size = board.getSize();
+        for (int index = 0; ; index++) {
+            if (board.isMine(index / size, index % size)) {
+                return index;
+            }
+        }
+    }
+
+    private static Set<Integer> revealedCells(Board board) {
+        int size = board.getSize();
+        Set<Integer> cells = new HashSet<>();
+        for (int index = 0; index < size * size; index++) {
+            if (board.isRevealed(index / size, index % size)) {
+                cells.add(index);
+            }
+        }
+        return cells;
+    }
+
+    private static Set<Integer> cells(List<BoardEvent> events) {
+        Set<Integer> cells = new HashSet<>();
+        for (BoardEvent event : events) {
+            for (int i = 0; i < event.getChangedCount(); i++) {
+                assertTrue(cells.add(event.getIndex(i)), "cell delivered twice");
+            }
+        }
+        return cells;
+    }
+
+    private static final class Recorder implements Flow.Subscriber<BoardEvent> {
+        final List<BoardEvent> events = new ArrayList<>();
+        private final long initialDemand;
+        private final CountDownLatch done;
+        boolean requestEach;
+        Flow.Subscription subscription;
+        volatile boolean completed;
+        volatile Throwable error;
+
+        Recorder(long initialDemand) {
+            this(initialDemand, new CountDownLatch(1));
+        }
+
+        Recorder(long initialDemand, CountDownLatch done) {
+            this.initialDemand = initialDemand;
+            this.done = done;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialDemand > 0) {
+                subscription.request(initialDemand);
+            }
+        }
+
+        @Override
+        public void onNext(BoardEvent event) {
+            events.add(event);
+            if (requestEach) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Tests for the striped metrics recorders and their merged snapshots.
+ */
+public class BoardMetricsTest {
+
+    @Test
+    public void testSnapshotMergesEveryThread() throws Exception {
+        long revealsBefore = BoardMetrics.snapshot().getRevealNanos().getCount();
+        long boardsBefore = BoardMetrics.snapshot().getConstructionNanos().getCount();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    BoardMetrics.recordReveal(10, 23, 5, false, System.nanoTime());
+                }
+                BoardMetrics.recordConstruction(10, 10, System.nanoTime());
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        BoardMetrics.Snapshot snapshot = BoardMetrics.snapshot();
+        assertEquals(revealsBefore + 400, snapshot.getRevealNanos().getCount());
+        assertEquals(boardsBefore + 4, snapshot.getConstructionNanos().getCount());
+        assertEquals(5, snapshot.getRevealedCells().getMax());
+    }
+
+    @Test
+    public void testSnapshotsWhileThreadsComeAndGo() throws Exception {
+        long before = BoardMetrics.snapshot().getRevealNanos().getCount();
+        Thread[] threads = new Thread[200];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    BoardMetrics.recordReveal(10, 23, 2, false, System.nanoTime());
+                }
+            });
+            threads[t].start();
+            BoardMetrics.Snapshot snapshot = BoardMetrics.snapshot();
+            // A reveal records both histograms under one lock, so a snapshot never sees half of one.
+            assertEquals(snapshot.getRevealNanos().getCount(), snapshot.getRevealedCells().getCount());
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(before + 100_000, BoardMetrics.snapshot().getRevealNanos().getCount());
+    }
+
+    @Test
+    public void testSnapshotFormats() {
+        BoardMetrics.recordDisplay(1234);
+        BoardMetrics.Snapshot snapshot = BoardMetrics.snapshot();
+
+        String json = snapshot.toJson();
+        assertTrue(json.startsWith("{\"revealNanos\":{\"count\":"), json);
+        assertTrue(json.contains("\"displayChars\":{\"count\":"), json);
+        assertTrue(json.endsWith("}}"), json);
+        String text = snapshot.toText();
+        assertTrue(text.contains("displays: " + snapshot.getDisplayChars().getCount()), text);
+        assertTrue(text.contains("chars"), text);
+    }
+
+    @Test
+    public void testBoardDoesNotRecordWhenDisabled() {
+        assumeFalse(BoardMetrics.ENABLED);
+        long before = BoardMetrics.snapshot().getRevealNanos().getCount();
+        Board board = new Board(5, 0, 1L);
+        board.reveal(0, 0);
+        board.displayBoard(false);
+
+        assertEquals(before, BoardMetrics.snapshot().getRevealNanos().getCount());
+    }
+
+    @Test
+    public void testHistogramReportScalesValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(2_000_000);
+
+        assertTrue(histogram.report(1e6, "ms").endsWith("max 2.0 ms"), histogram.report(1e6, "ms"));
+        assertTrue(histogram.report().endsWith("max 2000.0 us"), histogram.report());
+    }
+}
@@ -0,0 +1,133 @@
+package com.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the background board pool: hit and miss accounting, its memory bounds and idle eviction.
+ */
+public class BoardPoolTest {
+
+    @Test
+    public void testTakeIsServedFromThePoolOnceRefilled() throws Exception {
+        try (BoardPool pool = new BoardPool(3, 1_000_000, 1)) {
+            Board first = pool.take(9, 10);
+            assertEquals(9, first.getSize());
+            assertEquals(10, first.getTotalMines());
+            assertEquals(1, pool.getMisses());
+
+            awaitPooled(pool, 9, 10, 3);
+            assertEquals(3 * 81, pool.getPooledCells());
+            Board second = pool.take(9, 10);
+            assertNotSame(first, second);
+            assertEquals(0, second.getRevealedCount());
+            assertEquals(1, pool.getHits());
+            assertEquals(0.5, pool.getHitRate());
+        }
+    }
+
+    @Test
+    public void testEachKeyIsPooledSeparately() throws Exception {
+        try (BoardPool pool = new BoardPool(2, 1_000_000, 2)) {
+            pool.prewarm(9, 10);
+            pool.prewarm(16, 40);
+            awaitPooled(pool, 9, 10, 2);
+            awaitPooled(pool, 16, 40, 2);
+            assertEquals(16, pool.take(16, 40).getSize());
+            assertEquals(9, pool.take(9, 10).getSize());
+            assertEquals(2, pool.getHits());
+            assertEquals(0, pool.getMisses());
+        }
+    }
+
+    @Test
+    public void testRefillStopsAtTheCellBudget() throws Exception {
+        AtomicInteger built = new AtomicInteger();
+        BoardPool.Factory factory = (size, mines) -> {
+            built.incrementAndGet();
+            return new Board(size, mines);
+        };
+        try (BoardPool pool = new BoardPool(factory, 10, 250, 1)) {
+            pool.take(10, 5);
+            awaitPooled(pool, 10, 5, 2);
+            Thread.sleep(100);
+            assertEquals(2, pool.getPooledCount(10, 5), "A third board of 100 cells would exceed 250 cells.");
+            assertEquals(200, pool.getPooledCells());
+            assertEquals(3, built.get());
+
+            pool.take(10, 5);
+            awaitPooled(pool, 10, 5, 2);
+            assertEquals(1, pool.getHits());
+            assertEquals(4, built.get());
+        }
+    }
+
+    @Test
+    public void testFailedBuildReleasesItsCells() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        BoardPool.Factory factory = (size, mines) -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("no boards today");
+        };
+        try (BoardPool pool = new BoardPool(factory, 2, 1_000, 1)) {
+            pool.prewarm(10, 5);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (attempts.get() < 1) {
+                assertTrue(System.nanoTime() < deadline, "The refill did not run.");
+                Thread.sleep(5);
+            }
+            Thread.sleep(50);
+            assertEquals(0, pool.getPooledCells());
+            assertEquals(0, pool.getPooledCount(10, 5));
+            assertThrows(IllegalStateException.class, () -> pool.take(10, 5));
+        }
+    }
+
+    @Test
+    public void testIdleKeysAreEvicted() throws Exception {
+        AtomicLong now = new AtomicLong();
+        try (BoardPool pool = new BoardPool(Board::new, 2, 1_000_000, 1, 1000, now::get)) {
+            pool.prewarm(9, 10);
+            pool.prewarm(16, 40);
+            awaitPooled(pool, 9, 10, 2);
+            awaitPooled(pool, 16, 40, 2);
+            assertEquals(2, pool.getKeyCount());
+
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+            pool.take(16, 40);
+            awaitPooled(pool, 16, 40, 2);
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+            pool.take(16, 40);
+            assertEquals(1, pool.getKeyCount());
+            assertEquals(0, pool.getPooledCount(9, 10));
+            awaitPooled(pool, 16, 40, 2);
+            assertEquals(2 * 256, pool.getPooledCells());
+
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1100));
+            assertEquals(1, pool.evictIdle());
+            assertEquals(0, pool.getKeyCount());
+            assertEquals(0, pool.getPooledCells());
+        }
+    }
+
+    @Test
+    public void testInvalidConfigurationIsRejected() {
+        try (BoardPool pool = new BoardPool(1, 100, 1)) {
+            assertThrows(IllegalArgumentException.class, () -> pool.take(0, 0));
+            assertThrows(IllegalArgumentException.class, () -> pool.take(3, 9));
+        }
+    }
+
+    private static void awaitPooled(BoardPool pool, int size, int mines, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pool.getPooledCount(size, mines) < count) {
+            assertTrue(System.nanoTime() < deadline, "Pool was not refilled in time.");
+            Thread.sleep(5);
+        }
+    }
+}
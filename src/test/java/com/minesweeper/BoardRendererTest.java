@@ -0,0 +1,71 @@
+package com.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BoardRenderer and AnsiBoardRenderer.
+ */
+public class BoardRendererTest {
+
+    @Test
+    public void testSmallBoardLayout() {
+        Board board = new Board(3, 0);
+        board.setMineAt(0, 0, true);
+        board.revealCell(0, 1);
+        assertEquals("   1 2 3\n"
+                + "A  _ 1 _\n"
+                + "B  _ _ _\n"
+                + "C  _ _ _\n", board.displayBoard(false));
+        assertEquals("   1 2 3\n"
+                + "A  * 1 _\n"
+                + "B  _ _ _\n"
+                + "C  _ _ _\n", board.displayBoard(true));
+    }
+
+    @Test
+    public void testLargeBoardLabels() {
+        Board board = new Board(28, 0);
+        String[] lines = board.displayBoard(false).split("\n");
+        assertEquals(29, lines.length);
+        assertTrue(lines[0].startsWith("     1  2"), lines[0]);
+        assertTrue(lines[0].endsWith(" 27 28"), lines[0]);
+        assertTrue(lines[1].startsWith("A    _  _"), lines[1]);
+        assertTrue(lines[28].startsWith("AB   _"), lines[28]);
+        assertEquals(lines[0].length(), lines[28].length());
+    }
+
+    @Test
+    public void testOnlyDirtyRowsAreReencoded() throws IOException {
+        Board board = new Board(3, 0);
+        board.setMineAt(2, 2, true);
+        BoardRenderer renderer = new BoardRenderer(board);
+        renderer.render(new ByteArrayOutputStream(), false);
+
+        RevealResult result = board.reveal(0, 0);
+        renderer.render(new ByteArrayOutputStream(), false);
+        assertTrue(renderer.renderToString(false).contains("A  _ _ _"), "Rows are cached until marked dirty.");
+
+        renderer.markDirty(result);
+        assertEquals(board.displayBoard(false), renderer.renderToString(false));
+    }
+
+    @Test
+    public void testAnsiUpdateRedrawsChangedCellsOnly() throws IOException {
+        Board board = new Board(3, 0);
+        board.setMineAt(0, 0, true);
+        AnsiBoardRenderer renderer = new AnsiBoardRenderer(board);
+        renderer.drawFull(new ByteArrayOutputStream(), false);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.update(out, board.reveal(0, 1));
+        String update = out.toString(StandardCharsets.US_ASCII);
+        // A2 is drawn on screen line 2, column 6; the cursor then parks below the board.
+        assertEquals("\u001b[2;6H1\u001b[5;1H\u001b[J", update);
+    }
+}
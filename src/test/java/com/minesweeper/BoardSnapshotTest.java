@@ -0,0 +1,156 @@
+package com.minesweeper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for saving and loading board snapshots.
+ */
+public class BoardSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testRoundTripKeepsStateAndPlay() throws IOException {
+        for (int size : new int[]{1, 9, 64, 130}) {
+            Board board = new Board(size, size * size / 6, 11L + size);
+            board.setFirstClickSafe(true);
+            playSomeMoves(board);
+            Path file = dir.resolve("board-" + size + ".snap");
+
+            BoardSnapshot.save(board, file);
+            assertEquals(BoardSnapshot.snapshotBytes(size), Files.size(file));
+            Board loaded = BoardSnapshot.load(file);
+
+            assertSameBoard(board, loaded);
+            assertEquals(board.getSeed(), loaded.getSeed());
+            assertTrue(loaded.isFirstClickSafe());
+            // Both boards continue identically.
+            for (int index = 0; index < size * size; index += 3) {
+                if (board.getState() != GameState.IN_PROGRESS) {
+                    break;
+                }
+                RevealResult expected = board.revealIndex(index, new RevealResult(size));
+                RevealResult actual = loaded.revealIndex(index, new RevealResult(size));
+                assertEquals(expected.getChangedCount(), actual.getChangedCount());
+                assertEquals(expected.getState(), actual.getState());
+            }
+            assertSameBoard(board, loaded);
+        }
+    }
+
+    @Test
+    public void testLostBoardRoundTrip() throws IOException {
+        Board board = new Board(5, 0, new SplittableRandom(1));
+        board.setMineAt(2, 2, true);
+        board.toggleFlag(4, 4);
+        board.revealCell(2, 2);
+        Path file = dir.resolve("lost.snap");
+        BoardSnapshot.save(board, file);
+
+        Board loaded = BoardSnapshot.load(file);
+        assertEquals(GameState.LOST, loaded.getState());
+        assertTrue(loaded.isFlagged(4, 4));
+        assertEquals(0, loaded.getMinesLeft());
+        assertFalse(loaded.getSeed().isPresent());
+    }
+
+    @Test
+    public void testSaveReplacesExistingSnapshot() throws IOException {
+        Path file = dir.resolve("replace.snap");
+        BoardSnapshot.save(new Board(20, 40, 1L), file);
+        Board second = new Board(8, 10, 2L);
+        BoardSnapshot.save(second, file);
+        assertSameBoard(second, BoardSnapshot.load(file));
+        assertFalse(Files.exists(dir.resolve("replace.snap.tmp")));
+    }
+
+    @Test
+    public void testCorruptedSnapshotIsRejected() throws IOException {
+        Path file = dir.resolve("corrupt.snap");
+        BoardSnapshot.save(new Board(30, 100, 5L), file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        byte[] flipped = bytes.clone();
+        flipped[BoardSnapshot.HEADER_BYTES + 17] ^= 0x04;
+        Files.write(file, flipped);
+        IOException checksum = assertThrows(IOException.class, () -> BoardSnapshot.load(file));
+        assertTrue(checksum.getMessage().contains("checksum"));
+
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 8);
+        Files.write(file, truncated);
+        assertThrows(IOException.class, () -> BoardSnapshot.load(file));
+
+        byte[] wrongMagic = bytes.clone();
+        wrongMagic[0] = 'X';
+        Files.write(file, wrongMagic);
+        assertThrows(IOException.class, () -> BoardSnapshot.load(file));
+
+        byte[] newerVersion = bytes.clone();
+        newerVersion[4] = 2;
+        Files.write(file, newerVersion);
+        IOException version = assertThrows(IOException.class, () -> BoardSnapshot.load(file));
+        assertTrue(version.getMessage().contains("version"));
+    }
+
+    @Test
+    public void testPaddingBitsAreRejected() throws IOException {
+        Path file = dir.resolve("padded.snap");
+        int size = 30;
+        BoardSnapshot.save(new Board(size, 100, 5L), file);
+        byte[] bytes = Files.readAllBytes(file);
+        int layerBytes = size * Long.BYTES;
+        for (int layer = 0; layer < 3; layer++) {
+            byte[] padded = bytes.clone();
+            // Column 40 of the last row, past the 30 columns of the board.
+            padded[BoardSnapshot.HEADER_BYTES + layer * layerBytes + (size - 1) * Long.BYTES + 5] |= 1;
+            CRC32 crc = new CRC32();
+            crc.update(padded, 0, padded.length - Integer.BYTES);
+            ByteBuffer.wrap(padded).order(ByteOrder.LITTLE_ENDIAN).putInt(padded.length - Integer.BYTES,
+                    (int) crc.getValue());
+            Files.write(file, padded);
+            IOException e = assertThrows(IOException.class, () -> BoardSnapshot.load(file));
+            assertTrue(e.getMessage().contains("truncated or corrupted"), "layer " + layer);
+        }
+    }
+
+    private static void playSomeMoves(Board board) {
+        int size = board.getSize();
+        board.revealCell(size / 2, size / 2);
+        for (int i = 0; i < size; i += 4) {
+            if (!board.isRevealed(i, size - 1 - i)) {
+                board.toggleFlag(i, size - 1 - i);
+            }
+        }
+        for (int i = 1; i < size && board.getState() == GameState.IN_PROGRESS; i += 5) {
+            if (!board.isMine(i, i / 2) && !board.isFlagged(i, i / 2)) {
+                board.revealCell(i, i / 2);
+            }
+        }
+    }
+
+    private static void assertSameBoard(Board expected, Board actual) {
+        int size = expected.getSize();
+        assertEquals(size, actual.getSize());
+        assertEquals(expected.getTotalMines(), actual.getTotalMines());
+        assertEquals(expected.getRevealedCount(), actual.getRevealedCount());
+        assertEquals(expected.getSafeCellsRemaining(), actual.getSafeCellsRemaining());
+        assertEquals(expected.getMinesLeft(), actual.getMinesLeft());
+        assertEquals(expected.getState(), actual.getState());
+        for (int index = 0; index < size * size; index++) {
+            assertEquals(expected.cellBits(index), actual.cellBits(index), "cell " + index);
+        }
+    }
+}
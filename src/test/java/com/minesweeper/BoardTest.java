@@ -1,6 +1,9 @@
 package com.minesweeper;
 
 import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -25,6 +28,13 @@ public class BoardTest {
         assertEquals(3, mineCount);
     }
 
+    @Test
+    public void testOversizeBoardIsRejectedBeforeAllocating() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> new Board(46341, 10, 1L));
+        assertTrue(e.getMessage().contains("too large"));
+        assertThrows(IllegalArgumentException.class, () -> new Board(Integer.MAX_VALUE, 0, 1L));
+    }
+
     @Test
     public void testAdjacentMinesCalculation() {
         Board board = new Board(3, 0); // Start with no mines.
@@ -68,4 +78,320 @@ public class BoardTest {
         }
         assertTrue(board.isGameWon(), "Game should be won when all non-mine cells are revealed.");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGridViewReflectsPackedState() {
+        Board board = new Board(3, 0);
+        Cell[][] grid = board.getGrid();
+        board.setMineAt(0, 0, true);
+        board.recalculateAdjacentMines();
+        assertTrue(grid[0][0].isMine());
+        assertEquals(1, grid[1][1].getAdjacentMines());
+        assertEquals(0, grid[0][0].getAdjacentMines(), "Mine cells report no adjacent mines.");
+        grid[2][2].reveal();
+        assertTrue(board.isRevealed(2, 2));
+        assertSame(grid, board.getGrid());
+    }
+
+    @Test
+    public void testToggleFlag() {
+        Board board = new Board(3, 0);
+        assertTrue(board.toggleFlag(0, 0));
+        assertTrue(board.isFlagged(0, 0));
+        assertFalse(board.toggleFlag(0, 0));
+        board.toggleFlag(0, 0);
+        board.revealCell(2, 2);
+        assertFalse(board.isFlagged(0, 0), "Revealing a cell clears its flag.");
+        assertFalse(board.toggleFlag(0, 0), "Revealed cells cannot be flagged.");
+    }
+
+    @Test
+    public void testStatusCounters() {
+        Board board = new Board(3, 0);
+        board.setMineAt(0, 0, true);
+        board.recalculateAdjacentMines();
+        assertEquals(1, board.getTotalMines());
+        assertEquals(8, board.getSafeCellsRemaining());
+        assertEquals(GameState.IN_PROGRESS, board.getState());
+
+        board.toggleFlag(0, 0);
+        assertEquals(0, board.getMinesLeft());
+
+        board.revealCell(0, 1);
+        assertEquals(1, board.getRevealedCount());
+        assertEquals(7, board.getSafeCellsRemaining());
+        board.revealCell(2, 2);
+        assertEquals(8, board.getRevealedCount(), "Flood fill counts every cell it reveals.");
+        assertTrue(board.isGameWon());
+        assertEquals(GameState.WON, board.getState());
+    }
+
+    @Test
+    public void testStatusAfterMineHit() {
+        Board board = new Board(3, 0);
+        board.setMineAt(1, 1, true);
+        board.recalculateAdjacentMines();
+        assertTrue(board.revealCell(1, 1));
+        assertEquals(GameState.LOST, board.getState());
+        assertEquals(1, board.getRevealedCount());
+        assertEquals(8, board.getSafeCellsRemaining());
+    }
+
+    @Test
+    public void testSeededLayoutIsReproducible() {
+        Board first = new Board(40, 400, 1234L);
+        Board second = new Board(40, 400, 1234L);
+        Board other = new Board(40, 400, 4321L);
+        boolean differs = false;
+        for (int i = 0; i < 40; i++) {
+            for (int j = 0; j < 40; j++) {
+                assertEquals(first.isMine(i, j), second.isMine(i, j));
+                differs |= first.isMine(i, j) != other.isMine(i, j);
+            }
+        }
+        assertTrue(differs, "Different seeds should give different layouts.");
+        assertEquals(1234L, first.getSeed().getAsLong());
+    }
+
+    @Test
+    public void testSeededLayoutIsStableAcrossReleases() {
+        // Replays depend on this exact layout; change it only together with the placement format.
+        Board board = new Board(5, 5, 42L);
+        int[][] mines = {{0, 2}, {0, 4}, {1, 1}, {2, 2}, {3, 1}};
+        for (int[] mine : mines) {
+            assertTrue(board.isMine(mine[0], mine[1]), "Expected mine at (" + mine[0] + "," + mine[1] + ")");
+        }
+        assertEquals(5, board.getTotalMines());
+    }
+
+    @Test
+    public void testMaximumDensityPlacement() {
+        Board board = new Board(100, 3500, 7L);
+        int mineCount = 0;
+        for (int i = 0; i < 100; i++) {
+            for (int j = 0; j < 100; j++) {
+                if (board.isMine(i, j)) mineCount++;
+            }
+        }
+        assertEquals(3500, mineCount);
+    }
+
+    @Test
+    public void testSetMineAtUpdatesCountsIncrementally() {
+        Board board = new Board(12, 30, 99L);
+        SplittableRandom random = new SplittableRandom(5L);
+        for (int move = 0; move < 200; move++) {
+            board.setMineAt(random.nextInt(12), random.nextInt(12), random.nextBoolean());
+        }
+        assertCountsConsistent(board);
+    }
+
+    @Test
+    public void testFirstClickSafeRelocatesMine() {
+        Board board = new Board(10, 30, 11L);
+        board.setFirstClickSafe(true);
+        int row = -1;
+        int col = -1;
+        for (int i = 0; i < 10 && row < 0; i++) {
+            for (int j = 0; j < 10; j++) {
+                if (board.isMine(i, j)) {
+                    row = i;
+                    col = j;
+                    break;
+                }
+            }
+        }
+        assertFalse(board.revealCell(row, col), "The first click must never hit a mine.");
+        assertFalse(board.isMine(row, col));
+        assertEquals(30, board.getTotalMines());
+        assertEquals(GameState.IN_PROGRESS, board.getState());
+        assertCountsConsistent(board);
+    }
+
+    @Test
+    public void testFirstClickSafeOnlyAppliesToFirstReveal() {
+        Board board = new Board(3, 0);
+        board.setFirstClickSafe(true);
+        board.setMineAt(0, 0, true);
+        board.setMineAt(2, 2, true);
+        board.revealCell(0, 2);
+        assertTrue(board.revealCell(0, 0));
+    }
+
+    @Test
+    public void testFirstClickSafeOnFullBoard() {
+        Board board = new Board(3, 0, 1L);
+        board.setFirstClickSafe(true);
+        for (int index = 0; index < 9; index++) {
+            if (index != 7) {
+                board.setMineAt(index / 3, index % 3, true);
+            }
+        }
+        // Only one free cell: the scan finds it.
+        assertFalse(board.revealCell(0, 0));
+        assertTrue(board.isMine(2, 1));
+        assertCountsConsistent(board);
+
+        Board full = new Board(2, 0, 1L);
+        full.setFirstClickSafe(true);
+        for (int index = 0; index < 4; index++) {
+            full.setMineAt(index / 2, index % 2, true);
+        }
+        // No free cell: the mine stays and the click detonates it instead of looping forever.
+        assertTrue(full.revealCell(0, 0));
+        assertEquals(GameState.LOST, full.getState());
+    }
+
+    private static void assertCountsConsistent(Board board) {
+        for (int i = 0; i < board.getSize(); i++) {
+            for (int j = 0; j < board.getSize(); j++) {
+                int expected = board.isMine(i, j) ? 0 : board.countAdjacentMines(i, j);
+                assertEquals(expected, board.getAdjacentMines(i, j), "Cell (" + i + "," + j + ")");
+            }
+        }
+    }
+
+    @Test
+    public void testRevealReturnsChangeSet() {
+        Board board = new Board(3, 0);
+        board.setMineAt(0, 0, true);
+        RevealResult single = board.reveal(0, 1);
+        assertEquals(1, single.getChangedCount());
+        assertEquals(board.cellIndex(0, 1), single.getIndex(0));
+        assertEquals(1, single.getAdjacentMines(0));
+        assertEquals(GameState.IN_PROGRESS, single.getState());
+
+        RevealResult opening = board.reveal(2, 2, single);
+        assertSame(single, opening);
+        assertEquals(7, opening.getChangedCount(), "Every remaining safe cell is opened.");
+        for (int i = 0; i < opening.getChangedCount(); i++) {
+            int row = opening.getRow(i);
+            int col = opening.getColumn(i);
+            assertTrue(board.isRevealed(row, col));
+            assertEquals(board.getAdjacentMines(row, col), opening.getAdjacentMines(i));
+        }
+        assertEquals(GameState.WON, opening.getState());
+        assertEquals(0, board.reveal(2, 2).getChangedCount(), "Revealed cells do not change again.");
+    }
+
+    @Test
+    public void testRevealCellsMergesChangeSetsAndStopsOnMine() {
+        Board board = new Board(4, 0);
+        board.setMineAt(0, 0, true);
+        board.setMineAt(3, 3, true);
+        int[] moves = {board.cellIndex(0, 1), board.cellIndex(1, 0), board.cellIndex(3, 3), board.cellIndex(2, 0)};
+        RevealResult result = board.revealCells(moves);
+        assertEquals(3, result.getChangedCount());
+        assertTrue(result.isMineHit());
+        assertEquals(GameState.LOST, result.getState());
+        assertFalse(board.isRevealed(2, 0), "Moves after the game ends are ignored.");
+    }
+
+    @Test
+    public void testFloodFillMatchesReferenceBreadthFirstSearch() {
+        for (int round = 0; round < 50; round++) {
+            int size = 5 + round % 20;
+            Board board = new Board(size, size * size / 8);
+            int row = round % size;
+            int col = (round * 7) % size;
+            boolean[][] expected = referenceReveal(board, row, col);
+            if (round % 2 == 0) {
+                board.get3BV(); // reveal through the opening index
+            }
+            board.revealCell(row, col);
+            int revealed = 0;
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    assertEquals(expected[i][j], board.isRevealed(i, j), "Cell (" + i + "," + j + ")");
+                    if (expected[i][j]) revealed++;
+                }
+            }
+            assertEquals(revealed, board.getRevealedCount());
+        }
+    }
+
+    @Test
+    public void testOpeningCountAnd3BV() {
+        Board board = new Board(5, 0);
+        for (int row = 0; row < 5; row++) {
+            board.setMineAt(row, 2, true);
+        }
+        assertEquals(2, board.getOpeningCount());
+        assertEquals(2, board.get3BV());
+
+
+        Board corners = new Board(3, 0);
+        corners.setMineAt(0, 0, true);
+        corners.setMineAt(0, 2, true);
+        corners.setMineAt(2, 0, true);
+        corners.setMineAt(2, 2, true);
+        assertEquals(0, corners.getOpeningCount());
+        assertEquals(5, corners.get3BV(), "Every safe cell needs its own click.");
+
+        corners.setMineAt(2, 2, false);
+        assertEquals(1, corners.getOpeningCount(), "Moving a mine relabels the openings.");
+        assertEquals(3, corners.get3BV());
+    }
+
+    @Test
+    public void test3BVMatchesReferenceCount() {
+        for (int round = 0; round < 50; round++) {
+            int size = 5 + round % 20;
+            Board board = new Board(size, size * size * (round % 3 + 1) / 10, round);
+            int openings = 0;
+            int isolated = 0;
+            boolean[][] covered = new boolean[size][size];
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    if (!covered[i][j] && !board.isMine(i, j) && board.getAdjacentMines(i, j) == 0) {
+                        openings++;
+                        boolean[][] opening = referenceReveal(board, i, j);
+                        for (int r = 0; r < size; r++) {
+                            for (int c = 0; c < size; c++) {
+                                covered[r][c] |= opening[r][c];
+                            }
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    if (!covered[i][j] && !board.isMine(i, j)) {
+                        isolated++;
+                    }
+                }
+            }
+            assertEquals(openings, board.getOpeningCount(), "round " + round);
+            assertEquals(openings + isolated, board.get3BV(), "round " + round);
+        }
+    }
+
+    /**
+     * The original queue-based reveal, computed from the public accessors.
+     */
+    private static boolean[][] referenceReveal(Board board, int row, int col) {
+        int size = board.getSize();
+        boolean[][] revealed = new boolean[size][size];
+        revealed[row][col] = true;
+        if (board.isMine(row, col) || board.getAdjacentMines(row, col) != 0) {
+            return revealed;
+        }
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        queue.add(new int[]{row, col});
+        while (!queue.isEmpty()) {
+            int[] cell = queue.poll();
+            for (int i = cell[0] - 1; i <= cell[0] + 1; i++) {
+                for (int j = cell[1] - 1; j <= cell[1] + 1; j++) {
+                    if (i < 0 || j < 0 || i >= size || j >= size) continue;
+                    if (!revealed[i][j] && !board.isMine(i, j)) {
+                        revealed[i][j] = true;
+                        if (board.getAdjacentMines(i, j) == 0) {
+                            queue.add(new int[]{i, j});
+                        }
+                    }
+                }
+            }
+        }
+        return revealed;
+    }
+}
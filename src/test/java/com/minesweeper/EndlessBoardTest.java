@@ -0,0 +1,209 @@
+package com.minesweeper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the endless board: deterministic chunks, counts and openings across chunk
+ * boundaries, and eviction of played chunks to the store.
+ */
+public class EndlessBoardTest {
+    private static final int CHUNK = EndlessBoard.CHUNK;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testChunksAreDeterministicPerSeed() throws IOException {
+        try (EndlessBoard first = new EndlessBoard(5L, 0.2, 100, dir.resolve("a"));
+             EndlessBoard second = new EndlessBoard(5L, 0.2, 3, dir.resolve("b"));
+             EndlessBoard other = new EndlessBoard(6L, 0.2, 100, dir.resolve("c"))) {
+            int differences = 0;
+            for (long row = -100; row < 100; row += 7) {
+                for (long col = -100; col < 100; col += 3) {
+                    assertEquals(first.isMine(row, col), second.isMine(row, col));
+                    if (first.isMine(row, col) != other.isMine(row, col)) {
+                        differences++;
+                    }
+                }
+            }
+            assertTrue(differences > 0);
+        }
+    }
+
+    @Test
+    public void testCountsReadAcrossChunkBoundaries() throws IOException {
+        try (EndlessBoard board = new EndlessBoard(11L, 0.25, 100, dir.resolve("store"))) {
+            for (long row = -CHUNK - 2; row <= CHUNK + 2; row++) {
+                for (long col = -CHUNK - 2; col <= CHUNK + 2; col++) {
+                    if (board.isMine(row, col)) {
+                        continue;
+                    }
+                    int count = 0;
+                    for (long i = row - 1; i <= row + 1; i++) {
+                        for (long j = col - 1; j <= col + 1; j++) {
+                            count += board.isMine(i, j) ? 1 : 0;
+                        }
+                    }
+                    assertEquals(count, board.getAdjacentMines(row, col), "count at " + row + "," + col);
+                }
+            }
+            assertEquals(CHUNK * CHUNK * 0.25, mineCount(board, 0, 0), 0.5);
+        }
+    }
+
+    @Test
+    public void testUntouchedChunksAreNotGenerated() throws IOException {
+        try (EndlessBoard board = new EndlessBoard(3L, 0.3, 100, dir.resolve("store"))) {
+            assertEquals(0, board.getLoadedChunkCount());
+            long[] cell = findCell(board, false, 0);
+            assertEquals(1, board.reveal(cell[0], cell[1]));
+            assertEquals(1, board.getLoadedChunkCount());
+            assertEquals(0, board.getStoredChunkCount());
+        }
+    }
+
+    @Test
+    public void testFloodFillCrossesIntoUngeneratedChunks() throws IOException {
+        try (EndlessBoard board = new EndlessBoard(1L, 0.15, 1000, dir.resolve("store"))) {
+            // A zero cell on the right edge of chunk (0, 0) whose neighbour across the edge is also zero.
+            long row = -1;
+            for (long r = 1; r < CHUNK - 1 && row < 0; r++) {
+                if (isZero(board, r, CHUNK - 1) && isZero(board, r, CHUNK)) {
+                    row = r;
+                }
+            }
+            assertTrue(row >= 0, "no opening crosses the chunk edge");
+            try (EndlessBoard fresh = new EndlessBoard(1L, 0.15, 1000, dir.resolve("fresh"))) {
+                long revealed = fresh.reveal(row, CHUNK - 1);
+                assertTrue(fresh.isRevealed(row, CHUNK));
+                assertTrue(fresh.getLoadedChunkCount() > 1);
+                assertEquals(revealed, fresh.getRevealedCount());
+                assertOpeningsComplete(fresh, -CHUNK, 3 * CHUNK);
+            }
+        }
+    }
+
+    @Test
+    public void testEvictedChunksKeepTheirProgress() throws IOException {
+        try (EndlessBoard board = new EndlessBoard(9L, 0.3, 4, dir.resolve("store"))) {
+            long[][] played = new long[12][];
+            for (int i = 0; i < played.length; i++) {
+                played[i] = findCell(board, false, i * 3L * CHUNK);
+                board.reveal(played[i][0], played[i][1]);
+                assertTrue(board.getLoadedChunkCount() <= 4);
+            }
+            long[] flag = findCell(board, true, 0);
+            assertTrue(board.toggleFlag(flag[0], flag[1]));
+            long revealed = board.getRevealedCount();
+            assertTrue(board.getStoredChunkCount() >= 8);
+
+            for (long[] cell : played) {
+                assertTrue(board.isRevealed(cell[0], cell[1]));
+            }
+            assertTrue(board.isFlagged(flag[0], flag[1]));
+            assertEquals(revealed, board.getRevealedCount());
+            assertEquals(1, board.getFlagCount());
+        }
+    }
+
+    @Test
+    public void testStoreIndexGrowsWithPlayedChunks() throws IOException {
+        try (EndlessBoard board = new EndlessBoard(4L, 0.3, 2, dir.resolve("store"))) {
+            long[][] played = new long[150][];
+            for (int i = 0; i < played.length; i++) {
+                played[i] = findCell(board, false, (i - 75) * 2L * CHUNK);
+                board.reveal(played[i][0], played[i][1]);
+            }
+            assertTrue(board.getStoredChunkCount() >= 140);
+            for (long[] cell : played) {
+                assertTrue(board.isRevealed(cell[0], cell[1]));
+            }
+        }
+    }
+
+    @Test
+    public void testCoordinatesBeyondTheLimitAreRejected() throws IOException {
+        long limit = EndlessBoard.MAX_COORDINATE;
+        try (EndlessBoard board = new EndlessBoard(3L, 0.2, 10, dir.resolve("store"))) {
+            // Chunk rows 2^32 apart used to share a key.
+            assertThrows(IllegalArgumentException.class, () -> board.isMine(1L << 38, 0));
+            assertThrows(IllegalArgumentException.class, () -> board.reveal(0, limit + 1));
+            assertThrows(IllegalArgumentException.class, () -> board.toggleFlag(-limit - 1, 0));
+            assertThrows(IllegalArgumentException.class, () -> board.isRevealed(Long.MIN_VALUE, 0));
+
+            for (long row : new long[] {limit, -limit}) {
+                long col = 0;
+                while (!isZero(board, row, col)) {
+                    col++;
+                }
+                assertTrue(board.reveal(row, col) > 1);
+                assertTrue(board.isRevealed(row, col + 1));
+            }
+            assertEquals(GameState.IN_PROGRESS, board.getState());
+        }
+    }
+
+    @Test
+    public void testMineEndsTheGame() throws IOException {
+        try (EndlessBoard board = new EndlessBoard(2L, 0.2, 10, dir.resolve("store"))) {
+            long[] mine = findCell(board, true, 0);
+            assertEquals(1, board.reveal(mine[0], mine[1]));
+            assertEquals(GameState.LOST, board.getState());
+            long[] safe = findCell(board, false, 0);
+            assertEquals(0, board.reveal(safe[0], safe[1]));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new EndlessBoard(1L, 0.05, 10, dir.resolve("x")));
+        assertThrows(IllegalArgumentException.class, () -> new EndlessBoard(1L, 0.2, 0, dir.resolve("y")));
+    }
+
+    private static boolean isZero(EndlessBoard board, long row, long col) {
+        return !board.isMine(row, col) && board.getAdjacentMines(row, col) == 0;
+    }
+
+    private static int mineCount(EndlessBoard board, long chunkRow, long chunkCol) {
+        int mines = 0;
+        for (int r = 0; r < CHUNK; r++) {
+            for (int c = 0; c < CHUNK; c++) {
+                mines += board.isMine(chunkRow * CHUNK + r, chunkCol * CHUNK + c) ? 1 : 0;
+            }
+        }
+        return mines;
+    }
+
+    /**
+     * Returns the first numbered safe cell, or mine, in the chunk row starting at {@code col}.
+     */
+    private static long[] findCell(EndlessBoard board, boolean mine, long col) {
+        for (long r = 0; ; r++) {
+            for (long c = col; c < col + CHUNK; c++) {
+                boolean isMine = board.isMine(r, c);
+                if (mine ? isMine : !isMine && board.getAdjacentMines(r, c) > 0 && !board.isRevealed(r, c)) {
+                    return new long[] {r, c};
+                }
+            }
+        }
+    }
+
+    /**
+     * Asserts that every revealed zero cell in the square has all its neighbours revealed.
+     */
+    private static void assertOpeningsComplete(EndlessBoard board, long from, long to) {
+        for (long row = from; row < to; row++) {
+            for (long col = from; col < to; col++) {
+                if (board.isRevealed(row, col) && board.getAdjacentMines(row, col) == 0) {
+                    for (long i = row - 1; i <= row + 1; i++) {
+                        for (long j = col - 1; j <= col + 1; j++) {
+                            assertTrue(board.isRevealed(i, j), "hidden neighbour of " + row + "," + col);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
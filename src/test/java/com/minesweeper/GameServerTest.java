@@ -0,0 +1,164 @@
+package com.minesweeper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the game server and its line protocol over real connections.
+ */
+public class GameServerTest {
+    private GameServer server;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = new GameServer(new SessionManager(1000, 60_000), 60_000);
+        server.start(0);
+    }
+
+    @AfterEach
+    public void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testPlayOverProtocol() throws IOException {
+        try (Socket socket = new Socket("localhost", server.getPort());
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true)) {
+            out.println("NEW 4 0");
+            String created = in.readLine();
+            assertTrue(created.matches("OK \\d+ 4 0"), created);
+
+            out.println("F 0 0");
+            assertEquals("F 1", in.readLine());
+            out.println("F 0 0");
+            assertEquals("F 0", in.readLine());
+
+            out.println("R 1 1");
+            String reveal = in.readLine();
+            assertTrue(reveal.startsWith("C WON 16 "), reveal);
+            assertTrue(reveal.contains(" 3,3,0"), reveal);
+
+            out.println("S");
+            assertEquals("S WON 16 0", in.readLine());
+            out.println("R 0 0");
+            assertEquals("ERR Game is over.", in.readLine());
+            out.println("R x 0");
+            assertEquals("ERR Invalid number.", in.readLine());
+            out.println("JUMP");
+            assertEquals("ERR Unknown command.", in.readLine());
+            out.println("QUIT");
+            assertEquals("BYE", in.readLine());
+            assertNull(in.readLine());
+        }
+    }
+
+    @Test
+    public void testAttachFromAnotherConnection() throws IOException {
+        String id;
+        try (Socket socket = new Socket("localhost", server.getPort());
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true)) {
+            out.println("R 0 0");
+            assertEquals("ERR No game; send NEW first.", in.readLine());
+            out.println("NEW 9 10 5");
+            id = in.readLine().split(" ")[1];
+        }
+        try (Socket socket = new Socket("localhost", server.getPort());
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true)) {
+            out.println("ATTACH " + id);
+            assertEquals("OK " + id + " 9 10", in.readLine());
+            out.println("H");
+            assertTrue(in.readLine().startsWith("H "));
+            out.println("ATTACH 999999");
+            assertEquals("ERR No such game.", in.readLine());
+        }
+    }
+
+    @Test
+    public void testOversizedRequestsAreRejected() throws IOException {
+        try (Socket socket = new Socket("localhost", server.getPort());
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true)) {
+            out.println("NEW " + (SessionManager.DEFAULT_MAX_BOARD_SIZE + 1) + " 10");
+            assertEquals("ERR Board size must be at most " + SessionManager.DEFAULT_MAX_BOARD_SIZE + ".", in.readLine());
+            out.println("S" + " ".repeat(100_000));
+            assertEquals("ERR Line too long.", in.readLine());
+            out.println("NEW 4 0\r");
+            assertTrue(in.readLine().matches("OK \\d+ 4 0"));
+        }
+    }
+
+    @Test
+    public void testLongIdleTimeoutsDoNotOverflow() throws IOException {
+        try (GameServer patient = new GameServer(new SessionManager(10, 60_000), Integer.MAX_VALUE * 1000L)) {
+            patient.start(0);
+            try (Socket socket = new Socket("localhost", patient.getPort());
+                 BufferedReader in = new BufferedReader(
+                         new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                 PrintWriter out = new PrintWriter(socket.getOutputStream(), true)) {
+                out.println("NEW 4 0");
+                assertTrue(in.readLine().matches("OK \\d+ 4 0"));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> new GameServer(new SessionManager(10, 60_000), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> GameServer.main(new String[] {"--idle-seconds", "0", "--port", "0"}));
+    }
+
+    @Test
+    public void testReadLineKeepsAtMostTheLimit() throws IOException {
+        StringReader in = new StringReader("R 1 2\r\n" + "x".repeat(1000) + "\n\nlast");
+        StringBuilder line = new StringBuilder();
+        assertTrue(GameServer.readLine(in, line));
+        assertEquals("R 1 2", line.toString());
+        assertTrue(GameServer.readLine(in, line));
+        assertEquals(GameServer.MAX_LINE_LENGTH + 1, line.length());
+        assertTrue(GameServer.readLine(in, line));
+        assertEquals("", line.toString());
+        assertTrue(GameServer.readLine(in, line));
+        assertEquals("last", line.toString());
+        assertFalse(GameServer.readLine(in, line));
+    }
+
+    @Test
+    public void testLoadClientPlaysEveryGame() throws InterruptedException {
+        LatencyHistogram latencies = LoadTestClient.run("localhost", server.getPort(), 8, 5, 9, 10);
+        assertTrue(latencies.getCount() >= 40);
+        assertTrue(latencies.percentile(0.5) <= latencies.percentile(0.99));
+        assertTrue(latencies.percentile(0.99) <= latencies.getMax());
+    }
+
+    @Test
+    public void testHistogramBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500_000, histogram.percentile(0.5), 500_000 * 0.07);
+        assertEquals(990_000, histogram.percentile(0.99), 990_000 * 0.07);
+        assertEquals(1_000_000, histogram.percentile(1.0));
+        for (long value : new long[]{0, 15, 16, 31, 32, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucket(value);
+            assertTrue(value <= LatencyHistogram.upperBound(bucket));
+            assertTrue(bucket == 0 || value > LatencyHistogram.upperBound(bucket - 1));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for game sessions and their idle eviction.
+ */
+public class GameSessionTest {
+
+    @Test
+    public void testSessionTracksStateAndRejectsMovesAfterGameOver() {
+        Board board = new Board(3, 0);
+        board.setMineAt(0, 0, true);
+        GameSession session = new GameSession(7, board);
+
+        RevealResult result = session.reveal(0, 0);
+        assertTrue(result.isMineHit());
+        assertEquals(GameState.LOST, session.getState());
+        assertTrue(session.isOver());
+        assertThrows(IllegalStateException.class, () -> session.reveal(1, 1));
+        assertThrows(IllegalStateException.class, () -> session.toggleFlag(1, 1));
+    }
+
+    @Test
+    public void testHintFollowsReveals() {
+        Board board = new Board(3, 0);
+        board.setMineAt(0, 0, true);
+        board.setMineAt(0, 2, true);
+        GameSession session = new GameSession(1, board);
+        assertFalse(session.hint().isCertain());
+
+        session.reveal(2, 1);
+        Hint hint = session.hint();
+        assertTrue(hint.isCertain());
+        assertEquals(0, hint.getRow());
+        assertEquals(1, hint.getColumn());
+    }
+
+    @Test
+    public void testIdleSessionsAreEvicted() {
+        AtomicLong now = new AtomicLong();
+        SessionManager sessions = new SessionManager(10, 1000, null, now::get);
+        GameSession idle = sessions.create(5, 3, 1L);
+        GameSession active = sessions.create(5, 3, 2L);
+        assertNotEquals(idle.getId(), active.getId());
+
+        now.addAndGet(800_000_000L);
+        assertSame(active, sessions.get(active.getId()));
+        now.addAndGet(800_000_000L);
+
+        assertEquals(1, sessions.evictIdle());
+        assertNull(sessions.get(idle.getId()));
+        assertSame(active, sessions.get(active.getId()));
+        assertEquals(1, sessions.getSessionCount());
+    }
+
+    @Test
+    public void testSessionLimit() {
+        SessionManager sessions = new SessionManager(2, 1000);
+        sessions.create(5, 3, null);
+        sessions.create(5, 3, null);
+        assertThrows(IllegalStateException.class, () -> sessions.create(5, 3, null));
+    }
+
+    @Test
+    public void testRemovedAndFailedSessionsFreeTheirSlots() {
+        SessionManager sessions = new SessionManager(1, 1000);
+        sessions.remove(sessions.create(5, 3, null).getId());
+        assertThrows(IllegalArgumentException.class, () -> sessions.create(5, 25, null));
+        GameSession session = sessions.create(5, 3, null);
+        sessions.remove(session.getId());
+        sessions.remove(session.getId());
+        sessions.create(5, 3, null);
+        assertThrows(IllegalStateException.class, () -> sessions.create(5, 3, null));
+    }
+
+    @Test
+    public void testBoardSizeLimit() {
+        SessionManager sessions = new SessionManager(10, 1000);
+        assertEquals(SessionManager.DEFAULT_MAX_BOARD_SIZE, sessions.getMaxBoardSize());
+        sessions.setMaxBoardSize(16);
+        sessions.create(16, 40, 1L);
+        assertThrows(IllegalArgumentException.class, () -> sessions.create(17, 40, 1L));
+        assertThrows(IllegalArgumentException.class, () -> sessions.create(Integer.MAX_VALUE, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> sessions.setMaxBoardSize(0));
+        assertEquals(1, sessions.getSessionCount());
+    }
+
+    @Test
+    public void testConcurrentCreatesRespectTheLimit() throws InterruptedException {
+        SessionManager sessions = new SessionManager(50, 60_000);
+        AtomicInteger created = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < 20; i++) {
+                        try {
+                            sessions.create(30, 100, null);
+                            created.incrementAndGet();
+                        } catch (IllegalStateException e) {
+                            // limit reached
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(50, created.get());
+        assertEquals(50, sessions.getSessionCount());
+    }
+}
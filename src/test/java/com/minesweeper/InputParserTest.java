@@ -42,4 +42,53 @@ public class InputParserTest {
                 InputParser.parseCoordinate("A10", 5));
         assertTrue(exception.getMessage().contains("Column out of bounds"));
     }
+
+    @Test
+    public void testMultiLetterRow() {
+        int[] coords = InputParser.parseCoordinate("ab12", 30);
+        assertEquals(27, coords[0]); // 'AB' -> index 27
+        assertEquals(11, coords[1]);
+    }
+
+    @Test
+    public void testRowLabels() {
+        assertEquals("A", InputParser.rowLabel(0));
+        assertEquals("Z", InputParser.rowLabel(25));
+        assertEquals("AA", InputParser.rowLabel(26));
+        assertEquals("ZZ", InputParser.rowLabel(701));
+        assertEquals("AAA", InputParser.rowLabel(702));
+        for (int row = 0; row < 1000; row++) {
+            assertEquals(row, InputParser.parseCoordinate(InputParser.rowLabel(row) + "1", 1000)[0]);
+        }
+    }
+
+    @Test
+    public void testParseIndex() {
+        assertEquals(27 * 30 + 11, InputParser.parseIndex("  ab12\t", 30));
+        assertEquals(0, InputParser.parseIndex(new StringBuilder("A1"), 5));
+        assertTrue(assertThrows(IllegalArgumentException.class, () -> InputParser.parseIndex("B", 5))
+                .getMessage().contains("Invalid input format"));
+        assertTrue(assertThrows(IllegalArgumentException.class, () -> InputParser.parseIndex("B2x", 5))
+                .getMessage().contains("Column must be a number"));
+        assertTrue(assertThrows(IllegalArgumentException.class, () -> InputParser.parseIndex("12", 5))
+                .getMessage().contains("Row out of bounds"));
+        assertTrue(assertThrows(IllegalArgumentException.class, () -> InputParser.parseIndex("A99999999999", 5))
+                .getMessage().contains("Column must be a number"));
+    }
+
+    @Test
+    public void testColumnsReadLikeParseInt() {
+        assertEquals(0, InputParser.parseIndex("A+1", 5));
+        assertEquals(5 + 2, InputParser.parseIndex("B\u0663", 5));
+        assertEquals(5 + 2, InputParser.parseIndex("B003", 5));
+        assertArrayEquals(new int[] {0, 0}, InputParser.parseCoordinate("a+1", 5));
+        for (String input : new String[] {"A-1", "A-0", "A0", "A2147483647", "A-2147483648"}) {
+            assertTrue(assertThrows(IllegalArgumentException.class, () -> InputParser.parseIndex(input, 5))
+                    .getMessage().contains("Column out of bounds"), input);
+        }
+        for (String input : new String[] {"A+", "A-", "A+-1", "A2147483648", "A-2147483649", "A 1"}) {
+            assertTrue(assertThrows(IllegalArgumentException.class, () -> InputParser.parseIndex(input, 5))
+                    .getMessage().contains("Column must be a number"), input);
+        }
+    }
 }
@@ -0,0 +1,194 @@
+package com.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for shared seeded layouts: the LRU cache, player boards on a shared layout and full
+ * boards built from one.
+ */
+public class LayoutCacheTest {
+
+    @Test
+    public void testSameKeyReturnsTheSameLayout() {
+        LayoutCache cache = new LayoutCache(1_000_000);
+        BoardLayout first = cache.get(16, 40, 7L);
+        assertSame(first, cache.get(16, 40, 7L));
+        assertNotSame(first, cache.get(16, 40, 8L));
+        assertNotSame(first, cache.get(16, 41, 7L));
+        assertEquals(3, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getCachedCount());
+        assertEquals(3 * 256, cache.getCachedCells());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedLayoutIsEvicted() {
+        LayoutCache cache = new LayoutCache(3 * 100);
+        cache.get(10, 10, 1L);
+        cache.get(10, 10, 2L);
+        cache.get(10, 10, 3L);
+        cache.get(10, 10, 1L); // 2 is now the least recently used
+        cache.get(10, 10, 4L);
+
+        assertTrue(cache.contains(10, 10, 1L));
+        assertFalse(cache.contains(10, 10, 2L));
+        assertTrue(cache.contains(10, 10, 3L));
+        assertTrue(cache.contains(10, 10, 4L));
+        assertEquals(300, cache.getCachedCells());
+
+        // A layout over the whole budget is built but evicts nothing.
+        assertEquals(20, cache.get(20, 40, 5L).getSize());
+        assertFalse(cache.contains(20, 40, 5L));
+        assertEquals(3, cache.getCachedCount());
+    }
+
+    @Test
+    public void testInvalidConfigurationIsRejected() {
+        LayoutCache cache = new LayoutCache(1_000);
+        assertThrows(IllegalArgumentException.class, () -> cache.get(0, 0, 1L));
+        assertThrows(IllegalArgumentException.class, () -> cache.get(10, 36, 1L));
+        assertEquals(0, cache.getCachedCount());
+    }
+
+    @Test
+    public void testConcurrentRequestsShareOneBuild() throws Exception {
+        LayoutCache cache = new LayoutCache(10_000_000);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<BoardLayout>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(1000, 150_000, 42L);
+                }));
+            }
+            start.countDown();
+            BoardLayout layout = futures.get(0).get();
+            for (Future<BoardLayout> future : futures) {
+                assertSame(layout, future.get());
+            }
+            assertEquals(1, cache.getMisses());
+            assertEquals(threads - 1, cache.getHits());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLayoutMatchesSeededBoard() {
+        int size = 40;
+        BoardLayout layout = BoardLayout.of(size, 300, 11L);
+        Board board = new Board(size, 300, 11L);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                assertEquals(board.isMine(row, col), layout.isMine(row, col));
+                assertEquals(board.getAdjacentMines(row, col), layout.getAdjacentMines(row, col));
+            }
+        }
+        assertEquals(board.get3BV(), layout.get3BV());
+        assertEquals(board.getOpeningCount(), layout.getOpeningCount());
+    }
+
+    @Test
+    public void testPlayerRevealsMatchSeededBoard() {
+        int size = 60;
+        int mines = 500;
+        BoardLayout layout = BoardLayout.of(size, mines, 5L);
+        for (int round = 0; round < 20; round++) {
+            Board reference = new Board(size, mines, 5L);
+            PlayerBoard player = layout.newPlayer();
+            RevealResult expected = new RevealResult(size);
+            RevealResult actual = new RevealResult(size);
+            int index = round * 7919 % (size * size);
+            while (reference.getState() == GameState.IN_PROGRESS) {
+                int row = index / size;
+                int col = index % size;
+                if (index % 5 == 0) {
+                    assertEquals(reference.toggleFlag(row, col), player.toggleFlag(row, col));
+                }
+                reference.reveal(row, col, expected);
+                player.reveal(row, col, actual);
+                assertEquals(sorted(expected), sorted(actual));
+                assertEquals(expected.isMineHit(), actual.isMineHit());
+                assertEquals(expected.getState(), actual.getState());
+                assertEquals(reference.getRevealedCount(), player.getRevealedCount());
+                assertEquals(reference.getSafeCellsRemaining(), player.getSafeCellsRemaining());
+                assertEquals(reference.getMinesLeft(), player.getMinesLeft());
+                index = (index + 37) % (size * size);
+            }
+            assertEquals(reference.getState(), player.getState());
+        }
+    }
+
+    @Test
+    public void testPlayersDoNotShareProgress() {
+        BoardLayout layout = BoardLayout.of(9, 0, 3L);
+        PlayerBoard first = layout.newPlayer();
+        PlayerBoard second = layout.newPlayer();
+        assertEquals(GameState.WON, first.reveal(4, 4, new RevealResult(9)).getState());
+        assertEquals(81, first.getRevealedCount());
+        assertEquals(0, second.getRevealedCount());
+        assertFalse(second.isRevealed(4, 4));
+        assertTrue(second.toggleFlag(4, 4));
+        assertFalse(first.isFlagged(4, 4));
+        // Moves after the game is over change nothing.
+        assertEquals(0, first.reveal(0, 0, new RevealResult(9)).getChangedCount());
+    }
+
+    @Test
+    public void testBoardFromLayoutPlaysLikeSeededBoard() {
+        int size = 30;
+        int mines = 200;
+        BoardLayout layout = BoardLayout.of(size, mines, 21L);
+        for (int first = 0; first < size * size; first += 13) {
+            Board reference = new Board(size, mines, 21L);
+            Board board = layout.newBoard();
+            reference.setFirstClickSafe(true);
+            board.setFirstClickSafe(true);
+            assertEquals(sorted(reference.reveal(first / size, first % size)),
+                    sorted(board.reveal(first / size, first % size)));
+            // The first-click-safe move, if any, lands on the same cell.
+            for (int index = 0; index < size * size; index++) {
+                assertEquals(reference.isMine(index / size, index % size), board.isMine(index / size, index % size));
+            }
+            assertEquals(reference.get3BV(), board.get3BV());
+        }
+        assertEquals(0, layout.newBoard().getRevealedCount());
+        assertEquals(21L, layout.newBoard().getSeed().getAsLong());
+    }
+
+    @Test
+    public void testSeededSessionsUseTheCache() {
+        LayoutCache cache = new LayoutCache(1_000_000);
+        SessionManager sessions = new SessionManager(10, 60_000, null, cache);
+        GameSession first = sessions.create(16, 40, 9L);
+        GameSession second = sessions.create(16, 40, 9L);
+        assertNotSame(first.getBoard(), second.getBoard());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        first.reveal(0, 0);
+        assertEquals(0, second.getBoard().getRevealedCount());
+        sessions.create(16, 40, null);
+        assertEquals(1, cache.getCachedCount());
+    }
+
+    private static List<Integer> sorted(RevealResult result) {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < result.getChangedCount(); i++) {
+            indices.add(result.getIndex(i));
+        }
+        indices.sort(null);
+        return indices;
+    }
+}
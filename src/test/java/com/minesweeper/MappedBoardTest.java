@@ -0,0 +1,276 @@
+package com.minesweeper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for file-backed rectangular boards, using small segments so that rows and openings
+ * cross segment boundaries.
+ */
+public class MappedBoardTest {
+    private static final int SMALL_SEGMENTS = 10;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testLayoutHasRequestedMinesAndCorrectCounts() throws IOException {
+        try (MappedBoard board = MappedBoard.create(dir.resolve("board.msm"), 97, 31, 500, 3L, SMALL_SEGMENTS)) {
+            assertEquals(97, board.getWidth());
+            assertEquals(31, board.getHeight());
+            long mines = 0;
+            for (int row = 0; row < 31; row++) {
+                for (int col = 0; col < 97; col++) {
+                    if (board.isMine(row, col)) {
+                        mines++;
+                    } else {
+                        assertEquals(countMines(board, row, col), board.getAdjacentMines(row, col),
+                                "count at " + row + "," + col);
+                    }
+                }
+            }
+            assertEquals(500, mines);
+            assertEquals(97 * 31 - 500, board.getSafeCellsRemaining());
+        }
+    }
+
+    @Test
+    public void testSameSeedGivesSameLayout() throws IOException {
+        try (MappedBoard first = MappedBoard.create(dir.resolve("a.msm"), 40, 70, 300, 9L);
+             MappedBoard second = MappedBoard.create(dir.resolve("b.msm"), 40, 70, 300, 9L, SMALL_SEGMENTS)) {
+            for (int row = 0; row < 70; row++) {
+                for (int col = 0; col < 40; col++) {
+                    assertEquals(first.isMine(row, col), second.isMine(row, col));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFloodFillOpensWholeRegionAndWins() throws IOException {
+        try (MappedBoard board = MappedBoard.create(dir.resolve("empty.msm"), 300, 7, 0, 1L, SMALL_SEGMENTS)) {
+            assertEquals(2100, board.reveal(3, 150));
+            assertEquals(GameState.WON, board.getState());
+            assertEquals(0, board.getSafeCellsRemaining());
+            assertEquals(0, board.reveal(0, 0));
+        }
+    }
+
+    @Test
+    public void testOpeningsLargerThanTheWorkStack() throws IOException {
+        try (MappedBoard board = MappedBoard.create(dir.resolve("empty.msm"), 2500, 1600, 0, 1L, SMALL_SEGMENTS)) {
+            assertEquals(2500L * 1600, board.reveal(800, 1250));
+            assertEquals(GameState.WON, board.getState());
+        }
+        int width = 1200;
+        int height = 900;
+        try (MappedBoard board = MappedBoard.create(dir.resolve("board.msm"), width, height, 5000, 4L, SMALL_SEGMENTS)) {
+            int start = firstZero(board);
+            long revealed = board.reveal(start / width, start % width);
+            assertTrue(revealed > 100L * MappedBoard.STACK_CELLS, "opening of " + revealed);
+            assertEquals(revealed, board.getRevealedCount());
+            long counted = 0;
+            for (int row = 0; row < height; row++) {
+                for (int col = 0; col < width; col++) {
+                    if (!board.isRevealed(row, col)) {
+                        continue;
+                    }
+                    counted++;
+                    if (board.getAdjacentMines(row, col) == 0) {
+                        for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, height - 1); i++) {
+                            for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, width - 1); j++) {
+                                assertTrue(board.isRevealed(i, j));
+                            }
+                        }
+                    }
+                }
+            }
+            assertEquals(revealed, counted);
+        }
+    }
+
+    @Test
+    public void testRevealsLeaveNoHiddenCellNextToARevealedZero() throws IOException {
+        int width = 120;
+        int height = 45;
+        try (MappedBoard board = MappedBoard.create(dir.resolve("board.msm"), width, height, 600, 5L, SMALL_SEGMENTS)) {
+            long revealed = 0;
+            for (int index = 0; board.getState() == GameState.IN_PROGRESS; index = (index + 53) % (width * height)) {
+                int row = index / width;
+                int col = index % width;
+                if (!board.isMine(row, col)) {
+                    revealed += board.reveal(row, col);
+                }
+            }
+            assertEquals(GameState.WON, board.getState());
+            assertEquals(revealed, board.getRevealedCount());
+            for (int row = 0; row < height; row++) {
+                for (int col = 0; col < width; col++) {
+                    assertEquals(!board.isMine(row, col), board.isRevealed(row, col));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPlaysLikeBoard() throws IOException {
+        int size = 40;
+        for (long seed = 1; seed <= 6; seed++) {
+            Path file = dir.resolve("parity" + seed + ".msm");
+            try (MappedBoard mapped = MappedBoard.create(file, size, size, 160, seed, SMALL_SEGMENTS)) {
+                Board board = new Board(size, 0, seed);
+                for (int row = 0; row < size; row++) {
+                    for (int col = 0; col < size; col++) {
+                        if (mapped.isMine(row, col)) {
+                            board.setMineAt(row, col, true);
+                        }
+                    }
+                }
+                assertSameCells(board, mapped);
+                // Board leaves stopping at the end of the game to its callers, so play until then.
+                // Odd seeds only flag mines and play to a win; even ones step on a mine now and then.
+                // Every pass over the shuffled cells tries each hidden cell once.
+                SplittableRandom random = new SplittableRandom(seed);
+                int[] order = random.ints(0, size * size).distinct().limit(size * size).toArray();
+                int next = 0;
+                for (int move = 0; board.getState() == GameState.IN_PROGRESS; move++) {
+                    int index;
+                    do {
+                        index = order[next];
+                        next = (next + 1) % order.length;
+                    } while (mapped.isRevealed(index / size, index % size));
+                    int row = index / size;
+                    int col = index % size;
+                    String what = "seed " + seed + " move " + move;
+                    if (mapped.isMine(row, col) && (seed % 2 == 1 || random.nextInt(100) != 0)) {
+                        assertEquals(board.toggleFlag(row, col), mapped.toggleFlag(row, col), what);
+                    } else if (random.nextInt(4) == 0) {
+                        assertEquals(board.toggleFlag(row, col), mapped.toggleFlag(row, col), what);
+                    } else {
+                        assertEquals(board.reveal(row, col).getChangedCount(), mapped.reveal(row, col), what);
+                    }
+                    assertEquals(board.getState(), mapped.getState(), what);
+                    assertEquals(board.getRevealedCount(), mapped.getRevealedCount(), what);
+                    assertEquals(board.getSafeCellsRemaining(), mapped.getSafeCellsRemaining(), what);
+                    assertEquals(board.getMinesLeft(), mapped.getMinesLeft(), what);
+                    assertSameCells(board, mapped);
+                }
+                if (seed % 2 == 1) {
+                    assertEquals(GameState.WON, mapped.getState());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMineHitLosesAndFlagsAreCleared() throws IOException {
+        try (MappedBoard board = MappedBoard.create(dir.resolve("board.msm"), 20, 10, 60, 2L)) {
+            int mine = firstCell(board, true);
+            int safe = firstCell(board, false);
+            assertTrue(board.toggleFlag(safe / 20, safe % 20));
+            assertEquals(59, board.getMinesLeft());
+            board.reveal(safe / 20, safe % 20);
+            assertFalse(board.isFlagged(safe / 20, safe % 20));
+            assertEquals(60, board.getMinesLeft());
+            assertFalse(board.toggleFlag(safe / 20, safe % 20));
+
+            assertEquals(1, board.reveal(mine / 20, mine % 20));
+            assertEquals(GameState.LOST, board.getState());
+            assertThrows(IllegalArgumentException.class, () -> board.reveal(10, 0));
+        }
+    }
+
+    @Test
+    public void testReopenedBoardContinuesTheGame() throws IOException {
+        Path file = dir.resolve("board.msm");
+        long revealed;
+        try (MappedBoard board = MappedBoard.create(file, 64, 48, 200, 7L, SMALL_SEGMENTS)) {
+            int safe = firstCell(board, false);
+            revealed = board.reveal(safe / 64, safe % 64);
+            board.toggleFlag(firstCell(board, true) / 64, firstCell(board, true) % 64);
+        }
+        assertEquals(MappedBoard.HEADER_BYTES + 64 * 48, Files.size(file));
+        try (MappedBoard board = MappedBoard.open(file)) {
+            assertEquals(64, board.getWidth());
+            assertEquals(48, board.getHeight());
+            assertEquals(7L, board.getSeed());
+            assertEquals(revealed, board.getRevealedCount());
+            assertEquals(64 * 48 - 200 - revealed, board.getSafeCellsRemaining());
+            assertEquals(199, board.getMinesLeft());
+            assertEquals(GameState.IN_PROGRESS, board.getState());
+        }
+    }
+
+    @Test
+    public void testOpenRejectsOtherFiles() throws IOException {
+        Path file = dir.resolve("junk.msm");
+        Files.write(file, new byte[64]);
+        assertThrows(IOException.class, () -> MappedBoard.open(file));
+        assertThrows(IllegalArgumentException.class,
+                () -> MappedBoard.create(dir.resolve("bad.msm"), 10, 10, 36, 1L));
+
+        Path corrupted = dir.resolve("corrupted.msm");
+        MappedBoard.create(corrupted, 10, 10, 20, 1L).close();
+        for (long mines : new long[] {101, -1}) {
+            try (FileChannel channel = FileChannel.open(corrupted, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(0, mines), 16);
+            }
+            IOException e = assertThrows(IOException.class, () -> MappedBoard.open(corrupted));
+            assertTrue(e.getMessage().contains("truncated or corrupted"));
+        }
+    }
+
+    private static int countMines(MappedBoard board, int row, int col) {
+        int count = 0;
+        for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, board.getHeight() - 1); i++) {
+            for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, board.getWidth() - 1); j++) {
+                if (board.isMine(i, j)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static void assertSameCells(Board board, MappedBoard mapped) {
+        for (int row = 0; row < board.getSize(); row++) {
+            for (int col = 0; col < board.getSize(); col++) {
+                assertEquals(board.isMine(row, col), mapped.isMine(row, col));
+                assertEquals(board.isRevealed(row, col), mapped.isRevealed(row, col));
+                assertEquals(board.isFlagged(row, col), mapped.isFlagged(row, col));
+                if (!board.isMine(row, col)) {
+                    assertEquals(board.getAdjacentMines(row, col), mapped.getAdjacentMines(row, col));
+                }
+            }
+        }
+    }
+
+    private static int firstZero(MappedBoard board) {
+        for (int index = 0; ; index++) {
+            int row = index / board.getWidth();
+            int col = index % board.getWidth();
+            if (!board.isMine(row, col) && board.getAdjacentMines(row, col) == 0) {
+                return index;
+            }
+        }
+    }
+
+    private static int firstCell(MappedBoard board, boolean mine) {
+        for (int index = 0; ; index++) {
+            if (board.isMine(index / board.getWidth(), index % board.getWidth()) == mine) {
+                return index;
+            }
+        }
+    }
+}
@@ -45,10 +45,12 @@ public class MinesweeperGameTest {
 
         // Stub board behavior.
         when(board.getSize()).thenReturn(3);
-        when(board.displayBoard(false)).thenReturn("Fake Board Display");
         // For coordinate "A1" ([0,0]), simulate hitting a mine.
-        when(board.revealCell(0, 0)).thenReturn(true);
-        // isGameWon is not needed in this test, as a mine hit ends the game.
+        RevealResult result = new RevealResult(3);
+        result.add(0, 0);
+        result.setMineHit(true);
+        result.setState(GameState.LOST);
+        when(board.reveal(0, 0)).thenReturn(result);
 
         MinesweeperGame game = new MinesweeperGame(board);
         game.start(scanner);
@@ -60,9 +62,8 @@ public class MinesweeperGameTest {
 
     /**
      * Test scenario where the player makes a safe move that results in a win.
-     * The Board is mocked so that for input "B2" ([1,1]), the cell is safe.
-     * A dummy grid is provided so that getAdjacentMines() returns a count (here, 2).
-     * The board is also stubbed to report a win after the move.
+     * The Board is mocked so that for input "B2" ([1,1]), the cell is safe,
+     * has 2 adjacent mines, and the reveal result reports a win.
      */
     @Test
     public void testGameWinWhenNoMineHit() {
@@ -75,27 +76,12 @@ public class MinesweeperGameTest {
 
         // Stub board behavior.
         when(board.getSize()).thenReturn(3);
-        // Simulate initial and updated board displays.
-        when(board.displayBoard(false))
-                .thenReturn("Initial Board Display")
-                .thenReturn("Updated Board Display");
-        // For coordinate "B2" ([1,1]), simulate a safe move.
-        when(board.revealCell(1, 1)).thenReturn(false);
-        // Create a dummy grid of Cell objects.
-        // Assume Cell is defined elsewhere and has a method getAdjacentMines().
-        Cell[][] grid = new Cell[3][3];
-        // Create a mock cell that returns 2 adjacent mines.
-        Cell safeCell = mock(Cell.class);
-        when(safeCell.getAdjacentMines()).thenReturn(2);
-        // Populate the grid.
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                grid[i][j] = safeCell;
-            }
-        }
-        when(board.getGrid()).thenReturn(grid);
-        // Simulate that the game is won after the safe move.
-        when(board.isGameWon()).thenReturn(true);
+        // For coordinate "B2" ([1,1]), simulate a safe move that wins the game.
+        RevealResult result = new RevealResult(3);
+        result.add(4, 2);
+        result.setState(GameState.WON);
+        when(board.reveal(1, 1)).thenReturn(result);
+        when(board.getAdjacentMines(1, 1)).thenReturn(2);
 
         MinesweeperGame game = new MinesweeperGame(board);
         game.start(scanner);
@@ -103,5 +89,28 @@ public class MinesweeperGameTest {
         String output = outContent.toString();
         assertTrue(output.contains("Congratulations, you have won the game!"),
                 "Winning message not found in output.");
+        assertTrue(output.contains("This square contains 2 adjacent mines."),
+                "Adjacent mine count not found in output.");
+        assertTrue(output.contains("   1 2 3\nA  _ _ _\n"), "Board not rendered to the output.");
+    }
+
+    /**
+     * Test scenario where the player asks for a hint before revealing the suggested square.
+     * A real board is used so the solver can deduce the safe square.
+     */
+    @Test
+    public void testHintSuggestsSafeSquare() {
+        Board board = new Board(3, 0);
+        board.setMineAt(0, 0, true);
+        board.setMineAt(0, 2, true);
+        board.revealCell(2, 1);
+        // Rows B and C are open; the counts 1-2-1 leave A2 as the only safe square.
+        Scanner scanner = new Scanner(new ByteArrayInputStream("hint\nA2\n".getBytes()));
+
+        MinesweeperGame game = new MinesweeperGame(board);
+        game.start(scanner);
+
+        String output = outContent.toString();
+        assertTrue(output.contains("Hint: A2 is safe."), "Hint not found in output.");
     }
 }
@@ -0,0 +1,233 @@
+package com.minesweeper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the move journal and undo.
+ */
+public class MoveJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testReplayReproducesGame() throws IOException {
+        Path file = dir.resolve("game.journal");
+        Board board = new Board(40, 200, 17L);
+        board.setFirstClickSafe(true);
+        GameHistory history;
+        try (MoveJournal journal = MoveJournal.create(file, board)) {
+            history = new GameHistory(board, journal, 8);
+            playRandomly(history, new SplittableRandom(3), 300);
+            assertTrue(journal.getEntryCount() > 0);
+        }
+
+        Board replayed = MoveJournal.replay(file);
+        assertSameBoard(board, replayed);
+
+        List<long[]> moves = new ArrayList<>();
+        MoveJournal.Header header = MoveJournal.read(file, (action, index, micros) ->
+                moves.add(new long[]{action, index, micros}));
+        assertEquals(40, header.getSize());
+        assertEquals(200, header.getMines());
+        assertEquals(17L, header.getSeed());
+        assertTrue(header.isFirstClickSafe());
+        for (int i = 1; i < moves.size(); i++) {
+            assertTrue(moves.get(i)[2] >= moves.get(i - 1)[2]);
+        }
+    }
+
+    @Test
+    public void testTruncatedJournalReplaysCompleteMoves() throws IOException {
+        Path file = dir.resolve("cut.journal");
+        Board board = new Board(30, 0, 1L);
+        try (MoveJournal journal = MoveJournal.create(file, board)) {
+            GameHistory history = new GameHistory(board, journal, 8);
+            history.toggleFlag(0, 0);
+            history.toggleFlag(29, 29);
+            journal.append(MoveJournal.FLAG, 200, System.nanoTime() + 5_000_000_000L);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        // The last entry is a two-byte index and a multi-byte delta; cut into the delta.
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+
+        int[] count = new int[1];
+        MoveJournal.read(file, (action, index, micros) -> count[0]++);
+        assertEquals(2, count[0]);
+        Board replayed = MoveJournal.replay(file);
+        assertTrue(replayed.isFlagged(0, 0));
+        assertTrue(replayed.isFlagged(29, 29));
+        assertFalse(replayed.isFlagged(6, 20));
+    }
+
+    @Test
+    public void testUndoMatchesReplayingRemainingMoves() {
+        SplittableRandom random = new SplittableRandom(8);
+        Board board = new Board(16, 40, 5L);
+        board.setFirstClickSafe(true);
+        GameHistory history = new GameHistory(board, null, 4);
+        List<int[]> made = new ArrayList<>();
+        for (int step = 0; step < 400; step++) {
+            if (!made.isEmpty() && (random.nextInt(3) == 0 || board.getState() != GameState.IN_PROGRESS)) {
+                assertTrue(history.undo());
+                made.remove(made.size() - 1);
+            } else {
+                int row = random.nextInt(16);
+                int col = random.nextInt(16);
+                boolean flag = random.nextInt(4) == 0;
+                if (flag) {
+                    history.toggleFlag(row, col);
+                } else {
+                    history.reveal(row, col);
+                }
+                made.add(new int[]{flag ? 1 : 0, row, col});
+            }
+            assertEquals(made.size(), history.getMoveCount());
+
+            Board reference = new Board(16, 40, 5L);
+            reference.setFirstClickSafe(true);
+            for (int[] move : made) {
+                if (move[0] == 1) {
+                    reference.toggleFlag(move[1], move[2]);
+                } else {
+                    reference.revealCell(move[1], move[2]);
+                }
+            }
+            if (!made.isEmpty() && made.stream().anyMatch(m -> m[0] == 0)) {
+                // A first click replayed on a fresh board may move its mine elsewhere;
+                // compare only once the histories agree on the mine layout.
+                boolean sameMines = true;
+                for (int index = 0; index < 256 && sameMines; index++) {
+                    sameMines = reference.isMine(index / 16, index % 16) == board.isMine(index / 16, index % 16);
+                }
+                if (!sameMines) {
+                    continue;
+                }
+            }
+            assertSameBoard(reference, board);
+        }
+        while (history.undo()) {
+            // back to the start
+        }
+        assertSameBoard(new Board(16, 40, 5L), board);
+    }
+
+    @Test
+    public void testCheckpointsAreThinnedOut() {
+        Board board = new Board(20, 0, 1L);
+        GameHistory history = new GameHistory(board, null, 4);
+        SplittableRandom random = new SplittableRandom(6);
+        int[] made = new int[20_000];
+        for (int i = 0; i < made.length; i++) {
+            made[i] = random.nextInt(400);
+            history.toggleFlag(made[i] / 20, made[i] % 20);
+            assertTrue(history.getCheckpointCount() <= 40, "checkpoints after " + (i + 1) + " moves");
+        }
+        for (int undone = 0; undone < made.length; undone += 997) {
+            for (int i = 0; i < 997 && history.getMoveCount() > 0; i++) {
+                assertTrue(history.undo());
+            }
+            Board reference = new Board(20, 0, 1L);
+            for (int i = 0; i < history.getMoveCount(); i++) {
+                reference.toggleFlag(made[i] / 20, made[i] % 20);
+            }
+            assertSameBoard(reference, board);
+            assertTrue(history.getCheckpointCount() <= 40);
+        }
+    }
+
+    @Test
+    public void testJournalIsFlushedAtCheckpointsAndGameEnd() throws IOException {
+        Path file = dir.resolve("flushed.journal");
+        Board board = new Board(10, 0, 1L);
+        board.setMineAt(9, 9, true);
+        try (MoveJournal journal = MoveJournal.create(file, board)) {
+            GameHistory history = new GameHistory(board, journal, 8);
+            for (int i = 0; i < 7; i++) {
+                history.toggleFlag(0, 0);
+            }
+            assertEquals(0, countMoves(file));
+            history.toggleFlag(0, 0);
+            assertEquals(8, countMoves(file));
+            history.toggleFlag(0, 1);
+            assertEquals(8, countMoves(file));
+            history.reveal(9, 9);
+            assertEquals(GameState.LOST, board.getState());
+            assertEquals(10, countMoves(file));
+        }
+    }
+
+    @Test
+    public void testUndoFirstClickRestoresMovedMine() {
+        Board board = new Board(10, 30, 9L);
+        board.setFirstClickSafe(true);
+        int mine = -1;
+        for (int index = 0; index < 100 && mine < 0; index++) {
+            if (board.isMine(index / 10, index % 10)) {
+                mine = index;
+            }
+        }
+        GameHistory history = new GameHistory(board, null, GameHistory.DEFAULT_CHECKPOINT_INTERVAL);
+        history.reveal(mine / 10, mine % 10);
+        assertFalse(board.isMine(mine / 10, mine % 10));
+        assertTrue(history.undo());
+        assertTrue(board.isMine(mine / 10, mine % 10));
+        assertEquals(0, board.getRevealedCount());
+        assertFalse(history.undo());
+    }
+
+    @Test
+    public void testUnseededBoardCannotBeJournaled() {
+        Board board = new Board(5, 3, new SplittableRandom(1));
+        assertThrows(IllegalArgumentException.class, () -> MoveJournal.create(dir.resolve("x"), board));
+    }
+
+    private static int countMoves(Path file) throws IOException {
+        if (Files.size(file) < MoveJournal.HEADER_BYTES) {
+            return 0;
+        }
+        int[] count = new int[1];
+        MoveJournal.read(file, (action, index, micros) -> count[0]++);
+        return count[0];
+    }
+
+    private static void playRandomly(GameHistory history, SplittableRandom random, int moves) {
+        Board board = history.getBoard();
+        int size = board.getSize();
+        for (int i = 0; i < moves; i++) {
+            if (board.getState() != GameState.IN_PROGRESS || random.nextInt(5) == 0) {
+                history.undo();
+                continue;
+            }
+            int row = random.nextInt(size);
+            int col = random.nextInt(size);
+            if (random.nextInt(4) == 0) {
+                history.toggleFlag(row, col);
+            } else {
+                history.reveal(row, col);
+            }
+        }
+    }
+
+    private static void assertSameBoard(Board expected, Board actual) {
+        int size = expected.getSize();
+        assertEquals(expected.getRevealedCount(), actual.getRevealedCount());
+        assertEquals(expected.getSafeCellsRemaining(), actual.getSafeCellsRemaining());
+        assertEquals(expected.getMinesLeft(), actual.getMinesLeft());
+        assertEquals(expected.getState(), actual.getState());
+        for (int index = 0; index < size * size; index++) {
+            assertEquals(expected.cellBits(index), actual.cellBits(index), "cell " + index);
+        }
+    }
+}
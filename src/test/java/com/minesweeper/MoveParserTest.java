@@ -0,0 +1,118 @@
+package com.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for move scripts: the streaming parser and applying scripts to a board in batches.
+ */
+public class MoveParserTest {
+
+    @Test
+    public void testParsesManyMovesPerLine() throws IOException {
+        MoveParser parser = parser("A1 b2,C3;\tAA10\r\n!d4  # flag\n\n# comment only\nZ26", 30);
+        int[] moves = new int[10];
+        assertEquals(6, parser.read(moves));
+        assertEquals(0, moves[0]);
+        assertEquals(31, moves[1]);
+        assertEquals(62, moves[2]);
+        assertEquals(26 * 30 + 9, moves[3]);
+        assertTrue(MoveParser.isFlag(moves[4]));
+        assertEquals(3 * 30 + 3, MoveParser.cellIndex(moves[4]));
+        assertFalse(MoveParser.isFlag(moves[5]));
+        assertEquals(25 * 30 + 25, moves[5]);
+        assertEquals(-1, parser.read(moves));
+    }
+
+    @Test
+    public void testBatchesAndBufferBoundaries() throws IOException {
+        StringBuilder script = new StringBuilder();
+        int size = 1000;
+        for (int index = 0; index < 5000; index++) {
+            int cell = index * 7919 % (size * size);
+            script.append(InputParser.rowLabel(cell / size)).append(cell % size + 1)
+                    .append(index % 3 == 0 ? "\n" : " ");
+        }
+        // A buffer of 7 bytes splits most coordinates across refills.
+        MoveParser parser = new MoveParser(stream(script.toString()), size, 7);
+        int[] moves = new int[64];
+        int parsed = 0;
+        int count;
+        while ((count = parser.read(moves)) > 0) {
+            for (int i = 0; i < count; i++, parsed++) {
+                assertEquals(parsed * 7919 % (size * size), moves[i]);
+            }
+        }
+        assertEquals(5000, parsed);
+        assertEquals(1668, parser.getLine());
+    }
+
+    @Test
+    public void testMalformedScriptsReportTheLine() {
+        assertMessage("A1\nB2 C\n", 9, "Invalid coordinate on line 2.");
+        assertMessage("A1 1A", 9, "Invalid coordinate on line 1.");
+        assertMessage("A1B2", 9, "Invalid coordinate on line 1.");
+        assertMessage("\n\nJ1", 9, "Coordinate out of bounds on line 3.");
+        assertMessage("A0", 9, "Coordinate out of bounds on line 1.");
+        assertMessage("A99999999999", 9, "Coordinate out of bounds on line 1.");
+    }
+
+    @Test
+    public void testScriptPlaysLikeSingleMoves() throws IOException {
+        int size = 40;
+        Board reference = new Board(size, 200, 3L);
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 400 && reference.getState() == GameState.IN_PROGRESS; i++) {
+            int cell = i * 37 % (size * size);
+            boolean flag = i % 11 == 0;
+            script.append(flag ? "!" : "").append(InputParser.rowLabel(cell / size)).append(cell % size + 1).append(' ');
+            if (flag) {
+                reference.toggleFlag(cell / size, cell % size);
+            } else {
+                reference.reveal(cell / size, cell % size);
+            }
+        }
+        script.append("A1 A2 A3");
+
+        Board board = new Board(size, 200, 3L);
+        ScriptRunner runner = new ScriptRunner(board, 16);
+        assertEquals(reference.getState(), runner.play(stream(script.toString())));
+        assertEquals(reference.getRevealedCount(), board.getRevealedCount());
+        assertEquals(reference.getMinesLeft(), board.getMinesLeft());
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                assertEquals(reference.isRevealed(row, col), board.isRevealed(row, col));
+                assertEquals(reference.isFlagged(row, col), board.isFlagged(row, col));
+            }
+        }
+    }
+
+    @Test
+    public void testScriptStopsWhenTheGameIsOver() throws IOException {
+        Board board = new Board(9, 0, 1L);
+        ScriptRunner runner = new ScriptRunner(board, 2);
+        // The first reveal wins; the malformed tail is never read.
+        assertEquals(GameState.WON, runner.play(stream("E5 A1 B2 C3 D4 ???")));
+        assertEquals(2, runner.getMovesRead());
+    }
+
+    private static void assertMessage(String script, int size, String message) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> parser(script, size).read(new int[16]));
+        assertEquals(message, e.getMessage());
+    }
+
+    private static MoveParser parser(String script, int size) {
+        return new MoveParser(stream(script), size);
+    }
+
+    private static InputStream stream(String script) {
+        return new ByteArrayInputStream(script.getBytes(StandardCharsets.US_ASCII));
+    }
+}
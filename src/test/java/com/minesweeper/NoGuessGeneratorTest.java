@@ -0,0 +1,119 @@
+package com.minesweeper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.OptionalLong;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for no-guess generation: every board must be cleared from the start cell by certain moves.
+ */
+public class NoGuessGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testBoardsAreClearedWithoutGuessing() {
+        int[][] configs = {{9, 10}, {16, 40}, {30, 130}, {24, 150}};
+        for (int[] config : configs) {
+            NoGuessGenerator generator = new NoGuessGenerator(config[0], config[1]);
+            for (long seed = 0; seed < 10; seed++) {
+                Board board = generator.generate(seed);
+                assertEquals(config[1], board.getTotalMines());
+                assertEquals(0, board.getRevealedCount(), "Boards are handed out unplayed.");
+                assertEquals(GameState.WON, playCertainMoves(board, generator.getStartIndex()),
+                        "size " + config[0] + ", mines " + config[1] + ", seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    public void testStartCellIsAnOpening() {
+        NoGuessGenerator generator = new NoGuessGenerator(16, 80);
+        int start = generator.getStartIndex();
+        Board board = generator.generate(3);
+        assertEquals(16 * 8 + 8, start);
+        assertFalse(board.isMine(8, 8));
+        assertEquals(0, board.getAdjacentMines(8, 8));
+    }
+
+    @Test
+    public void testGenerationIsDeterministicPerSeed() {
+        NoGuessGenerator generator = new NoGuessGenerator(16, 40);
+        Board[] parallel = generator.generate(8, 5L, new ForkJoinPool(4));
+        for (int i = 0; i < parallel.length; i++) {
+            Board sequential = generator.generate(Simulator.gameSeed(5L, i));
+            for (int row = 0; row < 16; row++) {
+                for (int col = 0; col < 16; col++) {
+                    assertEquals(sequential.isMine(row, col), parallel[i].isMine(row, col));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testImpossibleDensityFailsAfterTheLayoutLimit() {
+        NoGuessGenerator generator = new NoGuessGenerator(30, 300, 5);
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> generator.generate(1));
+        assertTrue(e.getMessage().contains("5 layouts"), e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> new NoGuessGenerator(9, 10, 0));
+    }
+
+    @Test
+    public void testBoardsCarryTheirSeedAndReplay() throws IOException {
+        Board board = new NoGuessGenerator(16, 40).generate(12L);
+        assertEquals(OptionalLong.of(12L), board.getSeed());
+        assertTrue(board.isNoGuess());
+        assertFalse(new Board(16, 40, 12L).isNoGuess());
+
+        Path file = dir.resolve("noguess.journal");
+        try (MoveJournal journal = MoveJournal.create(file, board)) {
+            GameHistory history = new GameHistory(board, journal, 8);
+            history.reveal(8, 8);
+        }
+        Board replayed = MoveJournal.replay(file);
+        assertTrue(replayed.isNoGuess());
+        for (int index = 0; index < 256; index++) {
+            assertEquals(board.cellBits(index), replayed.cellBits(index), "cell " + index);
+        }
+    }
+
+    @Test
+    public void testServerSessionsCanBeNoGuess() {
+        SessionManager sessions = new SessionManager(10, 60_000);
+        Board board = sessions.create(16, 40, 5L, true).getBoard();
+        assertTrue(board.isNoGuess());
+        assertEquals(GameState.WON, playCertainMoves(board, new NoGuessGenerator(16, 40).getStartIndex()));
+        assertThrows(IllegalArgumentException.class,
+                () -> sessions.create(SessionManager.MAX_NO_GUESS_BOARD_SIZE + 1, 10, null, true));
+        assertFalse(sessions.create(16, 40, 5L).getBoard().isNoGuess());
+    }
+
+    @Test
+    public void testConfigurationWithoutRoomForAnOpeningIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new NoGuessGenerator(3, 1));
+        assertThrows(IllegalArgumentException.class, () -> new NoGuessGenerator(10, 36));
+    }
+
+    private static GameState playCertainMoves(Board board, int start) {
+        Solver solver = new Solver(board);
+        RevealResult changes = new RevealResult(board.getSize());
+        int next = start;
+        while (board.getState() == GameState.IN_PROGRESS) {
+            solver.update(board.revealIndex(next, changes));
+            if (board.getState() != GameState.IN_PROGRESS) {
+                break;
+            }
+            Hint hint = solver.hint();
+            assertTrue(hint.isCertain(), "A guess was needed at " + hint.getRow() + "," + hint.getColumn());
+            next = hint.getIndex();
+        }
+        return board.getState();
+    }
+}
@@ -0,0 +1,215 @@
+package com.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress tests for the shared board: many threads revealing one board at once.
+ */
+public class SharedBoardTest {
+    private static final int THREADS = 8;
+
+    @Test
+    public void testOverlappingFloodFillsRevealEveryCellOnce() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            int size = 200;
+            SharedBoard board = new SharedBoard(size, 0, round);
+            AtomicIntegerArray reported = new AtomicIntegerArray(size * size);
+            int[] starts = new int[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                starts[t] = (t * 7919 + round) % (size * size);
+            }
+            List<RevealResult> results = race(THREADS, t -> {
+                RevealResult result = new RevealResult(size);
+                board.reveal(starts[t] / size, starts[t] % size, result);
+                for (int i = 0; i < result.getChangedCount(); i++) {
+                    reported.incrementAndGet(result.getIndex(i));
+                }
+                return result;
+            });
+
+            for (int i = 0; i < size * size; i++) {
+                assertEquals(1, reported.get(i), "cell " + i + " reported once");
+            }
+            assertEquals(size * size, board.getRevealedCount());
+            assertEquals(0, board.getSafeCellsRemaining());
+            assertEquals(GameState.WON, board.getState());
+            // The player whose reveal finished the board sees the win.
+            assertTrue(results.stream().anyMatch(r -> r.getState() == GameState.WON));
+        }
+    }
+
+    @Test
+    public void testConcurrentRevealsMatchSequentialBoard() throws Exception {
+        int size = 120;
+        int mines = size * size / 6;
+        Board reference = new Board(size, mines, 99L);
+        int[] safe = new int[size * size - mines];
+        int count = 0;
+        for (int index = 0; index < size * size; index++) {
+            if (!reference.isMine(index / size, index % size)) {
+                safe[count++] = index;
+            }
+        }
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = safe.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = safe[i];
+            safe[i] = safe[j];
+            safe[j] = swap;
+        }
+
+        SharedBoard board = new SharedBoard(size, mines, 99L);
+        int[] revealed = new int[THREADS];
+        race(THREADS, t -> {
+            RevealResult result = new RevealResult(size);
+            for (int i = t; i < safe.length; i += THREADS) {
+                board.reveal(safe[i] / size, safe[i] % size, result);
+                revealed[t] += result.getChangedCount();
+                assertFalse(result.isMineHit());
+            }
+            return result;
+        });
+
+        int reported = 0;
+        for (int t = 0; t < THREADS; t++) {
+            reported += revealed[t];
+        }
+        assertEquals(safe.length, reported);
+        assertEquals(safe.length, board.getRevealedCount());
+        assertEquals(GameState.WON, board.getState());
+        for (int index = 0; index < size * size; index++) {
+            int row = index / size;
+            int col = index % size;
+            assertEquals(!reference.isMine(row, col), board.isRevealed(row, col));
+            assertEquals(reference.getAdjacentMines(row, col), board.getAdjacentMines(row, col));
+        }
+    }
+
+    @Test
+    public void testWinAndLossAreDecidedOnce() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            int size = 16;
+            Board layout = new Board(size, 0);
+            layout.setMineAt(15, 15, true);
+            SharedBoard board = new SharedBoard(layout);
+            List<RevealResult> results = race(THREADS, t -> {
+                RevealResult result = new RevealResult(size);
+                if (t == 0) {
+                    board.reveal(15, 15, result);
+                } else {
+                    board.reveal(t, (t * 3) % size, result);
+                }
+                return result;
+            });
+
+            boolean mineHit = results.stream().anyMatch(RevealResult::isMineHit);
+            GameState state = board.getState();
+            assertNotEquals(GameState.IN_PROGRESS, state);
+            assertEquals(mineHit, state == GameState.LOST, "round " + round);
+            assertEquals(mineHit ? 1 : 0, board.getRevealedCount() - (size * size - 1 - board.getSafeCellsRemaining()));
+            assertEquals(state == GameState.WON, board.getSafeCellsRemaining() == 0, "round " + round);
+            // Every safe cell still revealed was counted before the game ended.
+            int revealedSafe = 0;
+            for (int index = 0; index < size * size - 1; index++) {
+                revealedSafe += board.isRevealed(index / size, index % size) ? 1 : 0;
+            }
+            assertEquals(size * size - 1 - board.getSafeCellsRemaining(), revealedSafe, "round " + round);
+            assertEquals(mineHit, board.isRevealed(15, 15));
+        }
+    }
+
+    @Test
+    public void testFloodFillStopsWhenTheGameEnds() {
+        int size = 50;
+        PackedGrid cells = new Board(size, 0, 1L).packedGrid().copy();
+        int[] checks = {0};
+        // The game is lost by another player after this fill has claimed 100 cells.
+        FloodFill floodFill = new FloodFill(cells, () -> ++checks[0] <= 100);
+        int start = cells.index(25, 25);
+        cells.revealAtomic(start);
+        RevealResult changes = new RevealResult(size);
+
+        assertEquals(100, floodFill.fill(start, changes));
+        assertEquals(100, changes.getChangedCount());
+        assertEquals(101, checks[0]);
+        int revealed = 0;
+        for (int index = 0; index < size * size; index++) {
+            revealed += cells.isRevealed(index) ? 1 : 0;
+        }
+        assertEquals(101, revealed);
+    }
+
+    @Test
+    public void testRevealAfterLossChangesNothing() {
+        Board layout = new Board(16, 0, 1L);
+        layout.setMineAt(0, 0, true);
+        SharedBoard board = new SharedBoard(layout);
+        assertTrue(board.reveal(0, 0, new RevealResult(16)).isMineHit());
+        RevealResult late = board.reveal(8, 8, new RevealResult(16));
+        assertEquals(0, late.getChangedCount());
+        assertEquals(GameState.LOST, late.getState());
+        assertEquals(1, board.getRevealedCount());
+        assertFalse(board.isRevealed(8, 8));
+    }
+
+    @Test
+    public void testFlagsAreClearedByConcurrentReveals() throws Exception {
+        int size = 64;
+        SharedBoard board = new SharedBoard(size, 0, 3L);
+        for (int col = 0; col < size; col++) {
+            assertTrue(board.toggleFlag(10, col));
+        }
+        assertEquals(-size, board.getMinesLeft());
+        race(THREADS, t -> board.reveal(t * 8, t * 8, new RevealResult(size)));
+        assertEquals(0, board.getMinesLeft());
+        assertFalse(board.toggleFlag(10, 0));
+    }
+
+    @Test
+    public void testPlayedBoardIsRejected() {
+        Board layout = new Board(5, 3, 1L);
+        layout.toggleFlag(0, 0);
+        assertThrows(IllegalArgumentException.class, () -> new SharedBoard(layout));
+    }
+
+    private interface Player {
+        RevealResult play(int thread) throws Exception;
+    }
+
+    /**
+     * Runs one player per thread, releasing them all at once, and returns their results.
+     */
+    private static List<RevealResult> race(int threads, Player player) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<RevealResult>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return player.play(thread);
+                }));
+            }
+            start.countDown();
+            List<RevealResult> results = new ArrayList<>();
+            for (Future<RevealResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
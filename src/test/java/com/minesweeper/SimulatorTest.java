@@ -0,0 +1,54 @@
+package com.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the headless simulation harness.
+ */
+public class SimulatorTest {
+
+    @Test
+    public void testResultsDoNotDependOnThreadCount() {
+        Simulator simulator = new Simulator(9, 10, true, RandomMoveStrategy::new);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool quad = new ForkJoinPool(4);
+        try {
+            SimulationStats first = simulator.run(2000, 42L, single);
+            SimulationStats second = simulator.run(2000, 42L, quad);
+            assertEquals(2000, first.getGames());
+            assertEquals(first.getWins(), second.getWins());
+            assertEquals(first.getLosses(), second.getLosses());
+            assertEquals(first.getTotalMoves(), second.getTotalMoves());
+            assertEquals(first.getGames(), first.getWins() + first.getLosses() + first.getAbandoned());
+        } finally {
+            single.shutdown();
+            quad.shutdown();
+        }
+    }
+
+    @Test
+    public void testMineFreeBoardIsWonInOneMove() {
+        Simulator simulator = new Simulator(5, 0, false, RandomMoveStrategy::new);
+        SimulationStats stats = simulator.run(100, 1L);
+        assertEquals(100, stats.getWins());
+        assertEquals(100, stats.getWinsWithMoves(1));
+        assertEquals(1, stats.winMovesPercentile(0.5));
+    }
+
+    @Test
+    public void testStrategyGivingUpIsRecordedAsAbandoned() {
+        Simulator simulator = new Simulator(4, 2, false, seed -> board -> -1);
+        SimulationStats stats = simulator.run(10, 1L);
+        assertEquals(10, stats.getAbandoned());
+        assertEquals(0, stats.getTotalMoves());
+    }
+
+    @Test
+    public void testInvalidConfigurationIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Simulator(3, 9, false, RandomMoveStrategy::new));
+    }
+}
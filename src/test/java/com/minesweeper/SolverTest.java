@@ -0,0 +1,90 @@
+package com.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the frontier solver.
+ */
+public class SolverTest {
+
+    @Test
+    public void testSingleCellRuleFindsLastMine() {
+        Board board = new Board(3, 0);
+        board.setMineAt(0, 0, true);
+        Solver solver = new Solver(board);
+        solver.update(board.reveal(2, 2));
+        assertTrue(solver.isKnownMine(board.cellIndex(0, 0)));
+        assertEquals(1, solver.getKnownMines());
+        assertNull(solver.hint(), "Nothing is left to reveal.");
+    }
+
+    @Test
+    public void testSubsetRuleSolvesOneTwoOnePattern() {
+        Board board = new Board(4, 0);
+        board.setMineAt(0, 0, true);
+        board.setMineAt(0, 2, true);
+        Solver solver = new Solver(board);
+        solver.update(board.reveal(3, 3));
+        assertTrue(solver.isKnownMine(board.cellIndex(0, 0)));
+        assertTrue(solver.isKnownMine(board.cellIndex(0, 2)));
+        assertTrue(solver.isKnownSafe(board.cellIndex(0, 1)));
+        assertTrue(solver.isKnownSafe(board.cellIndex(0, 3)));
+        Hint hint = solver.hint();
+        assertTrue(hint.isCertain());
+        assertEquals(0, hint.getRow());
+    }
+
+    @Test
+    public void testProbabilitiesAddUpToRemainingMines() {
+        Board board = new Board(16, 40, 8L);
+        board.setFirstClickSafe(true);
+        Solver solver = new Solver(board);
+        solver.update(board.reveal(8, 8));
+        double expectedMines = 0;
+        for (int index = 0; index < 16 * 16; index++) {
+            if (!solver.isKnownSafe(index) && !solver.isKnownMine(index)) {
+                double p = solver.mineProbability(index);
+                assertTrue(p >= 0 && p <= 1, "Probability out of range: " + p);
+                expectedMines += p;
+            }
+        }
+        assertEquals(40 - solver.getKnownMines(), expectedMines, 1e-6);
+    }
+
+    @Test
+    public void testUntouchedBoardUsesAverageDensity() {
+        Board board = new Board(10, 20, 1L);
+        Solver solver = new Solver(board);
+        assertEquals(0.2, solver.mineProbability(0), 1e-9);
+    }
+
+    @Test
+    public void testIncrementalUpdatesMatchFreshSolver() {
+        Board board = new Board(30, 99, 21L);
+        board.setFirstClickSafe(true);
+        Solver incremental = new Solver(board);
+        incremental.update(board.reveal(15, 15));
+        for (int move = 0; move < 20 && board.getState() == GameState.IN_PROGRESS; move++) {
+            int safe = incremental.nextSafeCell();
+            if (safe < 0) {
+                break;
+            }
+            incremental.update(board.revealIndex(safe, new RevealResult(30)));
+        }
+        Solver fresh = new Solver(board);
+        for (int index = 0; index < 30 * 30; index++) {
+            assertEquals(fresh.isKnownMine(index), incremental.isKnownMine(index), "Cell " + index);
+        }
+        assertNotEquals(GameState.LOST, board.getState(), "Certain moves never hit a mine.");
+    }
+
+    @Test
+    public void testSolverStrategyBeatsRandomPlay() {
+        SimulationStats solver = new Simulator(9, 10, true, seed -> new SolverStrategy()).run(500, 3L);
+        SimulationStats random = new Simulator(9, 10, true, RandomMoveStrategy::new).run(500, 3L);
+        assertTrue(solver.getWinRate() > 0.7, "Win rate " + solver.getWinRate());
+        assertTrue(solver.getWinRate() > random.getWinRate());
+    }
+}
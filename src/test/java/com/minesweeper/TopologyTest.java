@@ -0,0 +1,164 @@
+package com.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for boards in other topologies: neighbour tables, counts, openings and flood fills
+ * checked against the neighbours computed directly from {@link Topology}.
+ */
+public class TopologyTest {
+
+    @Test
+    public void testTableMatchesTopology() {
+        for (Topology topology : Topology.values()) {
+            checkTableMatchesTopology(topology);
+        }
+    }
+
+    private static void checkTableMatchesTopology(Topology topology) {
+        for (int size : new int[] {1, 2, 3, 4, 5, 9, 17}) {
+            NeighbourTable table = new NeighbourTable(topology, size);
+            int[] expected = new int[topology.degree()];
+            int[] actual = new int[topology.degree()];
+            for (int index = 0; index < size * size; index++) {
+                int n = topology.neighbours(size, index / size, index % size, expected);
+                assertEquals(n, table.neighbours(index, actual), topology + " " + size + " at " + index);
+                assertArrayEquals(sorted(expected, n), sorted(actual, n), topology + " " + size + " at " + index);
+            }
+        }
+    }
+
+    @Test
+    public void testCountsMatchNeighbours() {
+        for (Topology topology : Topology.values()) {
+            checkCountsMatchNeighbours(topology);
+        }
+    }
+
+    private static void checkCountsMatchNeighbours(Topology topology) {
+        for (int size : new int[] {3, 16, 70}) {
+            Board board = new Board(size, size * size / 5, 42L, topology);
+            assertEquals(topology, board.getTopology());
+            int[] out = new int[topology.degree()];
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    int expected = 0;
+                    for (int i = 0, n = topology.neighbours(size, row, col, out); i < n; i++) {
+                        expected += board.isMine(out[i] / size, out[i] % size) ? 1 : 0;
+                    }
+                    assertEquals(expected, board.countAdjacentMines(row, col));
+                    if (!board.isMine(row, col)) {
+                        assertEquals(expected, board.getAdjacentMines(row, col));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFloodFillAndOpeningIndexAgree() {
+        for (Topology topology : Topology.values()) {
+            checkFloodFillAndOpeningIndexAgree(topology);
+        }
+    }
+
+    private static void checkFloodFillAndOpeningIndexAgree(Topology topology) {
+        int size = 40;
+        Board searched = new Board(size, 120, 7L, topology);
+        Board indexed = new Board(size, 120, 7L, topology);
+        indexed.getOpeningCount();
+        int zero = findZero(searched);
+        assertTrue(zero >= 0);
+        RevealResult bySearch = searched.reveal(zero / size, zero % size);
+        RevealResult byIndex = indexed.reveal(zero / size, zero % size);
+        assertEquals(bySearch.getChangedCount(), byIndex.getChangedCount());
+        assertEquals(searched.getRevealedCount(), indexed.getRevealedCount());
+        assertOpeningComplete(searched);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                assertEquals(searched.isRevealed(row, col), indexed.isRevealed(row, col));
+            }
+        }
+    }
+
+    @Test
+    public void testTorusOpeningWrapsAround() {
+        Board board = new Board(10, 0, 1L, Topology.TORUS);
+        board.setMineAt(5, 5, true);
+        assertEquals(1, board.getAdjacentMines(4, 4));
+        assertEquals(0, board.getAdjacentMines(0, 0));
+        board.setMineAt(9, 9, true);
+        assertEquals(1, board.getAdjacentMines(0, 0));
+        assertEquals(1, board.getAdjacentMines(9, 0));
+
+        board.revealCell(2, 2);
+        assertEquals(98, board.getRevealedCount());
+        assertEquals(GameState.WON, board.getState());
+    }
+
+    @Test
+    public void testMovedMineUpdatesCounts() {
+        Board board = new Board(12, 0, 1L, Topology.KNIGHT);
+        board.setMineAt(0, 0, true);
+        assertEquals(1, board.getAdjacentMines(1, 2));
+        assertEquals(1, board.getAdjacentMines(2, 1));
+        assertEquals(0, board.getAdjacentMines(1, 1));
+        board.setMineAt(0, 0, false);
+        assertEquals(0, board.getAdjacentMines(1, 2));
+    }
+
+    @Test
+    public void testSharedBoardUsesTheTopology() {
+        Board layout = new Board(30, 90, 3L, Topology.HEX);
+        SharedBoard shared = new SharedBoard(layout);
+        int zero = findZero(layout);
+        RevealResult changes = shared.reveal(zero / 30, zero % 30, new RevealResult(30));
+        assertEquals(layout.reveal(zero / 30, zero % 30).getChangedCount(), changes.getChangedCount());
+    }
+
+    @Test
+    public void testSquareOnlyFeaturesRejectOtherTopologies() {
+        Board board = new Board(9, 10, 1L, Topology.HEX);
+        assertThrows(IllegalArgumentException.class, () -> new Solver(board));
+        assertThrows(IllegalArgumentException.class, () -> BoardSnapshot.save(board, Path.of("unused")));
+        assertEquals(Topology.SQUARE, new Board(9, 10, 1L).getTopology());
+    }
+
+    private static int findZero(Board board) {
+        int size = board.getSize();
+        for (int index = 0; index < size * size; index++) {
+            if (!board.isMine(index / size, index % size) && board.getAdjacentMines(index / size, index % size) == 0) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Asserts that every revealed zero cell has all its neighbours revealed.
+     */
+    private static void assertOpeningComplete(Board board) {
+        int size = board.getSize();
+        int[] out = new int[board.getTopology().degree()];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (board.isRevealed(row, col) && board.getAdjacentMines(row, col) == 0) {
+                    for (int i = 0, n = board.getTopology().neighbours(size, row, col, out); i < n; i++) {
+                        assertTrue(board.isRevealed(out[i] / size, out[i] % size));
+                    }
+                }
+            }
+        }
+    }
+
+    private static int[] sorted(int[] cells, int count) {
+        int[] copy = Arrays.copyOf(cells, count);
+        Arrays.sort(copy);
+        return copy;
+    }
+}